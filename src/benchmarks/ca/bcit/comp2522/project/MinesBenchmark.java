@@ -0,0 +1,448 @@
+package ca.bcit.comp2522.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MinesBenchmark measures the Mines engine with JMH, at the
+ * three MinesUI difficulties and a large custom board.
+ *
+ * Covered are building a board, which places the mines with
+ * generateField and counts neighbors, regenerating a board in
+ * place with reset, recounting neighbors alone through
+ * loadField, the worst case flood of reveal on a board with
+ * no mines, hasWon, and randomizeRemaining after an opening
+ * move in random mode.
+ *
+ * Run main, or org.openjdk.jmh.Main with -prof gc, with the
+ * JMH annotation processor on the compile path. The GC
+ * profiler is always added, so every result comes with its
+ * allocation rate and bytes allocated per operation.
+ *
+ * Reveal floods and randomizeRemaining change the board, so
+ * each needs a fresh board set up before it. On the preset
+ * sizes they take microseconds, too short to time alone
+ * around a setup, so they are timed over a batch of boards
+ * set up together and reported per board. The large board
+ * takes well over a millisecond a call and is timed alone.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinesBenchmark
+{
+    private static final long SEED      = 2522L;
+    private static final int  BATCH     = 1024;
+    private static final int  NO_MINES  = 0;
+    private static final int  MINE      = -1;
+    private static final int  NOT_FOUND = -1;
+
+    /**
+     * Size of the boards benchmarked, the MinesUI
+     * difficulties and a large custom board at
+     * about the density of hard
+     */
+    public enum Size
+    {
+        /** 8 x 8 with 10 mines */
+        EASY(8, 8, 10),
+
+        /** 16 x 16 with 40 mines */
+        MEDIUM(16, 16, 40),
+
+        /** 36 x 16 with 99 mines */
+        HARD(36, 16, 99),
+
+        /** 1000 x 1000 with 170000 mines */
+        LARGE(1000, 1000, 170_000);
+
+        private final int width;
+        private final int height;
+        private final int mines;
+
+        /*
+         * Size constructor
+         * @param width of minefield
+         * @param height of minefield
+         * @param mines to place in minefield
+         */
+        Size(
+            final int width,
+            final int height,
+            final int mines
+        ) {
+            this.width  = width;
+            this.height = height;
+            this.mines  = mines;
+        }
+    }
+
+    /**
+     * BoardState holds a classic board of each size
+     */
+    @State(Scope.Thread)
+    public static class BoardState
+    {
+        @Param({"EASY", "MEDIUM", "HARD", "LARGE"})
+        public Size size;
+
+        private Mines board;
+        private int[] field;
+        private long  seed;
+
+        /**
+         * setUp builds the board and keeps its field for loadField
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            this.board = new Mines(this.size.width, this.size.height, this.size.mines, false, SEED);
+            this.field = this.board.toFieldArray();
+            this.seed  = SEED;
+        }
+    }
+
+    /**
+     * FloodState holds a batch of boards with no mines, the
+     * first reveal of each floods every cell. The batch is
+     * hidden again before each call, so the setup is timed
+     * apart from a call long enough to measure reliably.
+     */
+    @State(Scope.Thread)
+    public static class FloodState
+    {
+        @Param({"EASY", "MEDIUM", "HARD"})
+        public Size size;
+
+        private Mines[] boards;
+
+        /**
+         * setUp builds the empty boards once
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            this.boards = new Mines[BATCH];
+
+            for (int i = 0; i < BATCH; i++)
+            {
+                this.boards[i] = new Mines(this.size.width, this.size.height, NO_MINES, false, SEED);
+            }
+        }
+
+        /**
+         * hide every cell of the batch again before the next reveals
+         */
+        @Setup(Level.Invocation)
+        public void hide()
+        {
+            for (final Mines board : this.boards)
+            {
+                board.reset();
+            }
+        }
+    }
+
+    /**
+     * LargeFloodState holds one large board with no mines,
+     * a single flood takes well over a millisecond so it is
+     * hidden again before each reveal
+     */
+    @State(Scope.Thread)
+    public static class LargeFloodState
+    {
+        @Param({"LARGE"})
+        public Size size;
+
+        private Mines board;
+
+        /**
+         * setUp builds the empty board once
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            this.board = new Mines(this.size.width, this.size.height, NO_MINES, false, SEED);
+        }
+
+        /**
+         * hide every cell again before the next reveal
+         */
+        @Setup(Level.Invocation)
+        public void hide()
+        {
+            this.board.reset();
+        }
+    }
+
+    /**
+     * RandomState holds a batch of random mode boards, each
+     * with an opening move made, set up again before each call
+     */
+    @State(Scope.Thread)
+    public static class RandomState
+    {
+        @Param({"EASY", "MEDIUM", "HARD"})
+        public Size size;
+
+        private Mines[] boards;
+
+        /**
+         * setUp builds the random mode boards once
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            this.boards = new Mines[BATCH];
+
+            for (int i = 0; i < BATCH; i++)
+            {
+                this.boards[i] = new Mines(this.size.width, this.size.height, this.size.mines, true, SEED + i);
+            }
+        }
+
+        /**
+         * open a new field on every board of the batch
+         * @throws InvalidMoveException never, no cell is flagged
+         */
+        @Setup(Level.Invocation)
+        public void open()
+            throws InvalidMoveException
+        {
+            for (final Mines board : this.boards)
+            {
+                openField(board);
+            }
+        }
+    }
+
+    /**
+     * LargeRandomState holds one large random mode board,
+     * randomizing it takes well over a millisecond so it
+     * is opened again before each call
+     */
+    @State(Scope.Thread)
+    public static class LargeRandomState
+    {
+        @Param({"LARGE"})
+        public Size size;
+
+        private Mines board;
+
+        /**
+         * setUp builds the random mode board once
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            this.board = new Mines(this.size.width, this.size.height, this.size.mines, true, SEED);
+        }
+
+        /**
+         * open a new field before the next call
+         * @throws InvalidMoveException never, no cell is flagged
+         */
+        @Setup(Level.Invocation)
+        public void open()
+            throws InvalidMoveException
+        {
+            openField(this.board);
+        }
+    }
+
+    /*
+     * openField resets a board and reveals its first empty
+     * cell, or its first safe cell if it has no empty cells
+     * @param board to open
+     * @throws InvalidMoveException never, no cell is flagged
+     */
+    private static void openField(final Mines board)
+        throws InvalidMoveException
+    {
+        board.reset();
+
+        final int[] field;
+        int         opening;
+
+        field   = board.toFieldArray();
+        opening = NOT_FOUND;
+
+        for (int i = 0; i < field.length && (opening == NOT_FOUND || field[opening] != NO_MINES); i++)
+        {
+            if (field[i] != MINE && (opening == NOT_FOUND || field[i] == NO_MINES))
+            {
+                opening = i;
+            }
+        }
+
+        if (opening != NOT_FOUND)
+        {
+            board.reveal(opening);
+        }
+    }
+
+    /**
+     * construct a new board, generating its field and counts
+     * @param state holding the board size
+     * @return new board
+     */
+    @Benchmark
+    public Mines construct(final BoardState state)
+    {
+        return new Mines(state.size.width, state.size.height, state.size.mines, false, state.seed++);
+    }
+
+    /**
+     * reset a board in place, generating a new field and counts
+     * @param state holding the board
+     * @return reset board
+     */
+    @Benchmark
+    public Mines reset(final BoardState state)
+    {
+        state.board.reset();
+
+        return state.board;
+    }
+
+    /**
+     * countNeighboringMines of a known field, through loadField
+     * @param state holding the board and its field
+     * @return board with recounted neighbors
+     */
+    @Benchmark
+    public Mines countNeighboringMines(final BoardState state)
+    {
+        state.board.loadField(state.field);
+
+        return state.board;
+    }
+
+    /**
+     * hasWon check of a board
+     * @param state holding the board
+     * @return if the board is won
+     */
+    @Benchmark
+    public boolean hasWon(final BoardState state)
+    {
+        return state.board.hasWon();
+    }
+
+    /**
+     * reveal the first cell of each empty board of a batch,
+     * flooding every cell, timed per board
+     * @param state holding the hidden empty boards
+     * @return number of cells revealed
+     * @throws InvalidMoveException never, no cell is flagged
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int revealFlood(final FloodState state)
+        throws InvalidMoveException
+    {
+        int revealed;
+
+        revealed = 0;
+
+        for (final Mines board : state.boards)
+        {
+            board.reveal(0);
+            revealed += board.getLastRevealedCount();
+        }
+
+        return revealed;
+    }
+
+    /**
+     * reveal the first cell of a large empty board, flooding every cell
+     * @param state holding the hidden empty board
+     * @return number of cells revealed
+     * @throws InvalidMoveException never, no cell is flagged
+     */
+    @Benchmark
+    public int revealFloodLarge(final LargeFloodState state)
+        throws InvalidMoveException
+    {
+        state.board.reveal(0);
+
+        return state.board.getLastRevealedCount();
+    }
+
+    /**
+     * randomizeRemaining mines of each board of a batch after
+     * an opening move, timed per board
+     * @param state holding the opened random mode boards
+     * @return number of cells revealed by the moves
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int randomizeRemaining(final RandomState state)
+    {
+        int revealed;
+
+        revealed = 0;
+
+        for (final Mines board : state.boards)
+        {
+            board.randomizeRemaining();
+            revealed += board.getLastRevealedCount();
+        }
+
+        return revealed;
+    }
+
+    /**
+     * randomizeRemaining mines of a large board after an opening move
+     * @param state holding the opened random mode board
+     * @return number of cells revealed by the move
+     */
+    @Benchmark
+    public int randomizeRemainingLarge(final LargeRandomState state)
+    {
+        state.board.randomizeRemaining();
+
+        return state.board.getLastRevealedCount();
+    }
+
+    /**
+     * main runs every Mines benchmark with the GC profiler
+     * @param args not used
+     * @throws RunnerException if JMH fails to run
+     */
+    public static void main(final String[] args)
+        throws RunnerException
+    {
+        final Options options;
+
+        options = new OptionsBuilder()
+                  .include(MinesBenchmark.class.getSimpleName())
+                  .addProfiler(GCProfiler.class)
+                  .build();
+
+        new Runner(options).run();
+    }
+}
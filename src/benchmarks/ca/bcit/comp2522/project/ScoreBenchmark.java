@@ -0,0 +1,263 @@
+package ca.bcit.comp2522.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScoreBenchmark measures the score log paths a game runs
+ * at its end, reading the history for the high score and
+ * appending the new score.
+ *
+ * Score and MinesScore logs of 1K, 100K and 1M records
+ * are written once to a temporary folder and read back
+ * whole with readScoresFromFile. Appends are measured as
+ * throughput from one thread and from four at once, where
+ * the shared ScoreWriter groups them into batches. The
+ * append log is emptied before every iteration.
+ *
+ * Run with main or org.openjdk.jmh.Main and -prof gc.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreBenchmark
+{
+    private static final String TEMP_PREFIX    = "score-benchmark";
+    private static final String SCORE_LOG      = "score.txt";
+    private static final String MINES_LOG      = "minesweeper-score.txt";
+    private static final String APPEND_LOG     = "append.txt";
+    private static final int    APPEND_THREADS = 4;
+    private static final int    MAX_QUESTIONS  = 10;
+    private static final int    MAX_SECONDS    = 999;
+
+    private static final String[] DIFFICULTIES = {
+        MinesScore.DIFFICULTY_EASY,
+        MinesScore.DIFFICULTY_MEDIUM,
+        MinesScore.DIFFICULTY_HARD
+    };
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /**
+     * LogState holds a Score log and a MinesScore
+     * log of the same number of records
+     */
+    @State(Scope.Benchmark)
+    public static class LogState
+    {
+        @Param({"1000", "100000", "1000000"})
+        public int records;
+
+        private Path   directory;
+        private String scoreLog;
+        private String minesLog;
+
+        /**
+         * setUp writes both logs
+         * @throws IOException if a log cannot be written
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+            throws IOException
+        {
+            this.directory = Files.createTempDirectory(TEMP_PREFIX);
+            this.scoreLog  = this.directory.resolve(SCORE_LOG).toString();
+            this.minesLog  = this.directory.resolve(MINES_LOG).toString();
+
+            try (final BufferedWriter scores = Files.newBufferedWriter(Path.of(this.scoreLog));
+                 final BufferedWriter mines = Files.newBufferedWriter(Path.of(this.minesLog)))
+            {
+                for (int i = 0; i < this.records; i++)
+                {
+                    scores.write(newScore(i).toString());
+                    scores.newLine();
+                    mines.write(newMinesScore(i).toString());
+                    mines.newLine();
+                }
+            }
+        }
+
+        /**
+         * tearDown deletes the logs
+         * @throws IOException if a log cannot be deleted
+         */
+        @TearDown(Level.Trial)
+        public void tearDown()
+            throws IOException
+        {
+            WorldBenchmark.deleteTree(this.directory);
+        }
+    }
+
+    /**
+     * AppendState holds a log appended to by every thread
+     */
+    @State(Scope.Benchmark)
+    public static class AppendState
+    {
+        private Path   directory;
+        private String appendLog;
+
+        /**
+         * setUp creates the folder of the log
+         * @throws IOException if the folder cannot be created
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+            throws IOException
+        {
+            this.directory = Files.createTempDirectory(TEMP_PREFIX);
+            this.appendLog = this.directory.resolve(APPEND_LOG).toString();
+        }
+
+        /**
+         * empty the log so it does not grow across iterations
+         * @throws IOException if the log cannot be deleted
+         */
+        @Setup(Level.Iteration)
+        public void empty()
+            throws IOException
+        {
+            Files.deleteIfExists(Path.of(this.appendLog));
+        }
+
+        /**
+         * tearDown deletes the log
+         * @throws IOException if the log cannot be deleted
+         */
+        @TearDown(Level.Trial)
+        public void tearDown()
+            throws IOException
+        {
+            WorldBenchmark.deleteTree(this.directory);
+        }
+    }
+
+    /**
+     * readScores of a whole WordGame log
+     * @param state holding the log
+     * @return every Score of the log
+     */
+    @Benchmark
+    public List<Score> readScores(final LogState state)
+    {
+        return Score.readScoresFromFile(state.scoreLog);
+    }
+
+    /**
+     * readMinesScores of a whole Minesweeper log
+     * @param state holding the log
+     * @return every MinesScore of the log
+     */
+    @Benchmark
+    public List<MinesScore> readMinesScores(final LogState state)
+    {
+        return MinesScore.readScoresFromFile(state.minesLog);
+    }
+
+    /**
+     * appendScore from one thread, waiting for each commit
+     * @param state holding the log
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void appendScore(final AppendState state)
+    {
+        Score.appendScoreToFile(newScore(0), state.appendLog);
+    }
+
+    /**
+     * appendScore from several threads at once, as several
+     * game sessions finishing together would
+     * @param state holding the log
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(APPEND_THREADS)
+    public void appendScoreContended(final AppendState state)
+    {
+        Score.appendScoreToFile(newScore(0), state.appendLog);
+    }
+
+    /**
+     * appendMinesScore from one thread, waiting for each commit
+     * @param state holding the log
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void appendMinesScore(final AppendState state)
+    {
+        MinesScore.appendScoreToFile(newMinesScore(0), state.appendLog);
+    }
+
+    /*
+     * newScore builds the nth record of a WordGame log
+     * @param n position of the record
+     * @return Score for the position
+     */
+    private static Score newScore(final int n)
+    {
+        return new Score(START.plusSeconds(n), 1, n % MAX_QUESTIONS, n % 3, n % 2);
+    }
+
+    /*
+     * newMinesScore builds the nth record of a Minesweeper log
+     * @param n position of the record
+     * @return MinesScore for the position
+     */
+    private static MinesScore newMinesScore(final int n)
+    {
+        return new MinesScore(START.plusSeconds(n), n % MAX_SECONDS, DIFFICULTIES[n % DIFFICULTIES.length], n % 2 == 0);
+    }
+
+    /**
+     * main runs every score benchmark with the GC profiler
+     * @param args not used
+     * @throws RunnerException if JMH fails to run
+     */
+    public static void main(final String[] args)
+        throws RunnerException
+    {
+        final Options options;
+
+        options = new OptionsBuilder()
+                  .include(ScoreBenchmark.class.getSimpleName())
+                  .addProfiler(GCProfiler.class)
+                  .build();
+
+        new Runner(options).run();
+    }
+}
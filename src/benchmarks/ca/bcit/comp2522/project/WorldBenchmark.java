@@ -0,0 +1,276 @@
+package ca.bcit.comp2522.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * WorldBenchmark measures loading the WordGame countries
+ * and dealing them out, the startup cost of a WordGame.
+ *
+ * World is built over a copy of the real data/facts corpus,
+ * and over a synthetic corpus of 100 copies of it with every
+ * country renamed, both cold, parsing the text and writing
+ * the snapshot, and warm, opening the snapshot written by an
+ * earlier run. The corpus is copied to a temporary folder so
+ * the snapshot beside data/facts is never touched.
+ *
+ * Run from the project root, so data/facts is found, with
+ * main or org.openjdk.jmh.Main and -prof gc.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark
+{
+    private static final Path   FACTS_DIRECTORY = Paths.get("data", "facts");
+    private static final String FACTS_FOLDER    = "facts";
+    private static final String SNAPSHOT_FILE   = "facts.snapshot";
+    private static final String TEMP_PREFIX     = "world-benchmark";
+    private static final char   SEPARATOR       = ':';
+    private static final long   SEED            = 2522L;
+
+    /**
+     * CorpusState holds a copy of the facts corpus
+     * scaled up by a number of renamed copies
+     */
+    @State(Scope.Thread)
+    public static class CorpusState
+    {
+        @Param({"1", "100"})
+        public int scale;
+
+        @Param({"false", "true"})
+        public boolean snapshot;
+
+        private Path directory;
+        private Path factsDirectory;
+        private Path snapshotFile;
+
+        /**
+         * setUp copies the corpus
+         * @throws IOException if the corpus cannot be copied
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+            throws IOException
+        {
+            this.directory      = Files.createTempDirectory(TEMP_PREFIX);
+            this.factsDirectory = this.directory.resolve(FACTS_FOLDER);
+            this.snapshotFile   = this.directory.resolve(SNAPSHOT_FILE);
+
+            writeCorpus(this.factsDirectory, this.scale);
+        }
+
+        /**
+         * removeSnapshot before a cold build, so the text is parsed
+         * @throws IOException if the snapshot cannot be deleted
+         */
+        @Setup(Level.Invocation)
+        public void removeSnapshot()
+            throws IOException
+        {
+            if (!this.snapshot)
+            {
+                Files.deleteIfExists(this.snapshotFile);
+            }
+        }
+
+        /**
+         * tearDown deletes the copied corpus
+         * @throws IOException if the folder cannot be deleted
+         */
+        @TearDown(Level.Trial)
+        public void tearDown()
+            throws IOException
+        {
+            deleteTree(this.directory);
+        }
+    }
+
+    /**
+     * DealState holds a World built over a scaled corpus
+     */
+    @State(Scope.Thread)
+    public static class DealState
+    {
+        @Param({"1", "100"})
+        public int scale;
+
+        private Path  directory;
+        private World world;
+
+        /**
+         * setUp copies the corpus and builds a World to deal from
+         * @throws IOException if the corpus cannot be copied
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+            throws IOException
+        {
+            this.directory = Files.createTempDirectory(TEMP_PREFIX);
+
+            writeCorpus(this.directory.resolve(FACTS_FOLDER), this.scale);
+
+            this.world = new World(this.directory.resolve(FACTS_FOLDER), new SeededRandom(SEED));
+        }
+
+        /**
+         * tearDown deletes the copied corpus
+         * @throws IOException if the folder cannot be deleted
+         */
+        @TearDown(Level.Trial)
+        public void tearDown()
+            throws IOException
+        {
+            deleteTree(this.directory);
+        }
+    }
+
+    /**
+     * construct a World over the corpus
+     * @param state holding the corpus
+     * @return new World
+     * @throws IOException if the corpus cannot be read
+     */
+    @Benchmark
+    public World construct(final CorpusState state)
+        throws IOException
+    {
+        return new World(state.factsDirectory, new SeededRandom(SEED));
+    }
+
+    /**
+     * getRandomCountry dealt from a World
+     * @param state holding the World
+     * @return dealt country
+     */
+    @Benchmark
+    public Country getRandomCountry(final DealState state)
+    {
+        return state.world.getRandomCountry();
+    }
+
+    /*
+     * writeCorpus copies every facts file into a folder a
+     * number of times, adding the copy number to each
+     * country name so no copy is merged with another
+     * @param target folder to write
+     * @param scale number of copies
+     * @throws IOException if the corpus cannot be copied
+     */
+    private static void writeCorpus(
+        final Path target,
+        final int  scale
+    )
+        throws IOException
+    {
+        Files.createDirectories(target);
+
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(FACTS_DIRECTORY))
+        {
+            for (final Path file : files)
+            {
+                final List<String> lines;
+
+                lines = Files.readAllLines(file);
+
+                for (int copy = 0; copy < scale; copy++)
+                {
+                    try (final BufferedWriter writer = Files.newBufferedWriter(
+                        target.resolve(copy + "-" + file.getFileName())))
+                    {
+                        boolean blockStart;
+
+                        blockStart = true;
+
+                        for (final String line : lines)
+                        {
+                            final int separator;
+
+                            separator = line.indexOf(SEPARATOR);
+
+                            if (blockStart && separator > 0 && copy > 0)
+                            {
+                                writer.write(line.substring(0, separator) + " " + copy + line.substring(separator));
+                            }
+                            else
+                            {
+                                writer.write(line);
+                            }
+
+                            writer.newLine();
+                            blockStart = line.isBlank();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * deleteTree deletes a folder and everything in it
+     * @param directory to delete
+     * @throws IOException if a file cannot be deleted
+     */
+    static void deleteTree(final Path directory)
+        throws IOException
+    {
+        try (final Stream<Path> paths = Files.walk(directory))
+        {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * main runs every World benchmark with the GC profiler
+     * @param args not used
+     * @throws RunnerException if JMH fails to run
+     */
+    public static void main(final String[] args)
+        throws RunnerException
+    {
+        final Options options;
+
+        options = new OptionsBuilder()
+                  .include(WorldBenchmark.class.getSimpleName())
+                  .addProfiler(GCProfiler.class)
+                  .build();
+
+        new Runner(options).run();
+    }
+}
@@ -5,6 +5,10 @@ package ca.bcit.comp2522.project;
  * validation of placing an integer in an array
  * of integers following an ascending order.
  *
+ * On FilledSlots both checks look only at the nearest
+ * filled neighbors found through the index, as the
+ * filled slots ascend, instead of scanning every slot.
+ *
  * @author Braeden Sowinski
  * @version 1.0.0
  */
@@ -105,4 +109,60 @@ public class AscendingPlacement
         }
         return false;
     }
+
+    /**
+     * isValidPlacement on indexed slots, only the nearest
+     * filled slot on each side needs checking
+     * @param slots of the game, with the value already placed
+     * @param index to check if value can be placed here
+     * @param value to be placed
+     * @return if the value is in a valid placement
+     */
+    @Override
+    public boolean isValidPlacement(
+        final FilledSlots slots,
+        final int         index,
+        final int         value
+    ) {
+        final int before;
+        final int after;
+
+        before = slots.previousFilled(index);
+        after  = slots.nextFilled(index);
+
+        boolean invalidBefore;
+        boolean invalidAfter;
+
+        invalidBefore = before != FilledSlots.NONE_BEFORE && slots.get(before) > value;
+        invalidAfter  = after < slots.getLength() && slots.get(after) < value;
+
+        return !invalidBefore && !invalidAfter;
+    }
+
+    /**
+     * canPlaceNext on indexed slots. The only gap the value
+     * can go in follows the last filled slot holding a
+     * smaller number.
+     * @param slots of the game
+     * @param nextValue to place
+     * @return if the value can be placed without violating the ascending rule
+     */
+    @Override
+    public boolean canPlaceNext(
+        final FilledSlots slots,
+        final int         nextValue
+    ) {
+        final int leftSlot;
+        final int rightSlot;
+
+        leftSlot  = slots.lastFilledBelow(nextValue);
+        rightSlot = slots.nextFilled(leftSlot);
+
+        if (rightSlot < slots.getLength() && slots.get(rightSlot) <= nextValue)
+        {
+            return false;
+        }
+
+        return rightSlot - leftSlot > NEXT;
+    }
 }
@@ -1,6 +1,6 @@
 package ca.bcit.comp2522.project;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Country class stores a country's
@@ -67,16 +67,33 @@ public class Country
         return this.capitalCityName;
     }
 
+    /**
+     * getFacts of country, used to compile the
+     * facts corpus into a WorldSnapshot
+     * @return copy of the facts about the country
+     */
+    String[] getFacts()
+    {
+        return this.facts.clone();
+    }
+
     /**
      * getRandomFact of country
      * @return random fact from the list of facts of the country
      */
     public String getRandomFact()
     {
-        final Random rand;
-
-        rand = new Random();
+        return this.facts[ThreadLocalRandom.current().nextInt(this.facts.length)];
+    }
 
-        return this.facts[rand.nextInt(this.facts.length)];
+    /**
+     * getRandomFact of country picked by a given
+     * random number service, so the pick can be replayed
+     * @param random service to pick the fact with
+     * @return random fact from the list of facts of the country
+     */
+    public String getRandomFact(final SeededRandom random)
+    {
+        return this.facts[random.nextInt(this.facts.length)];
     }
 }
@@ -0,0 +1,282 @@
+package ca.bcit.comp2522.project;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * DateTimes converts the "yyyy-MM-dd HH:mm:ss" dates of the
+ * score logs to and from a count of epoch seconds, so a score
+ * keeps its date as a single long.
+ *
+ * Dates are wall clock times with no zone, counted as if
+ * they were UTC, the same way ScoreStore and the Minesweeper
+ * leaderboard already store them. Parsing reads the digits
+ * straight from the text and allocates nothing, so loading a
+ * long score history creates no date objects or formatters.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public final class DateTimes
+{
+    public static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN);
+
+    private static final int  TEXT_LENGTH         = 19;
+    private static final int  YEAR_AT             = 0;
+    private static final int  MONTH_AT            = 5;
+    private static final int  DAY_AT              = 8;
+    private static final int  HOUR_AT             = 11;
+    private static final int  MINUTE_AT           = 14;
+    private static final int  SECOND_AT           = 17;
+    private static final int  YEAR_DIGITS         = 4;
+    private static final int  FIELD_DIGITS        = 2;
+    private static final int  MIN_YEAR            = 1;
+    private static final int  MAX_YEAR            = 9999;
+    private static final int  MONTHS_PER_YEAR     = 12;
+    private static final int  FEBRUARY            = 2;
+    private static final int  HOURS_PER_DAY       = 24;
+    private static final int  MINUTES_PER_HOUR    = 60;
+    private static final int  SECONDS_PER_MINUTE  = 60;
+    private static final int  SECONDS_PER_HOUR    = SECONDS_PER_MINUTE * MINUTES_PER_HOUR;
+    private static final int  SECONDS_PER_DAY     = SECONDS_PER_HOUR * HOURS_PER_DAY;
+    private static final long DAYS_0000_TO_1970   = 719_528;
+    private static final int  DIGITS_BASE         = 10;
+    private static final int  TEXT_CAPACITY       = 32;
+
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /*
+     * DateTimes holds only static helpers
+     */
+    private DateTimes()
+    {
+    }
+
+    /**
+     * parseEpochSecond reads a "yyyy-MM-dd HH:mm:ss" date
+     * @param text date to read
+     * @return seconds since 1970-01-01 00:00:00
+     * @throws DateTimeException if the text is not a valid date
+     */
+    public static long parseEpochSecond(final CharSequence text)
+    {
+        if (text.length() != TEXT_LENGTH ||
+            text.charAt(MONTH_AT - 1) != '-' ||
+            text.charAt(DAY_AT - 1) != '-' ||
+            text.charAt(HOUR_AT - 1) != ' ' ||
+            text.charAt(MINUTE_AT - 1) != ':' ||
+            text.charAt(SECOND_AT - 1) != ':')
+        {
+            throw new DateTimeException("Not a " + DATE_PATTERN + " date: " + text);
+        }
+
+        final int year;
+        final int month;
+        final int day;
+        final int hour;
+        final int minute;
+        final int second;
+
+        year   = readDigits(text, YEAR_AT, YEAR_DIGITS);
+        month  = readDigits(text, MONTH_AT, FIELD_DIGITS);
+        day    = readDigits(text, DAY_AT, FIELD_DIGITS);
+        hour   = readDigits(text, HOUR_AT, FIELD_DIGITS);
+        minute = readDigits(text, MINUTE_AT, FIELD_DIGITS);
+        second = readDigits(text, SECOND_AT, FIELD_DIGITS);
+
+        if (year < MIN_YEAR ||
+            month < 1 || month > MONTHS_PER_YEAR ||
+            day < 1 || day > DAYS_IN_MONTH[month - 1] ||
+            (month == FEBRUARY && day == DAYS_IN_MONTH[FEBRUARY - 1] && !isLeapYear(year)) ||
+            hour >= HOURS_PER_DAY ||
+            minute >= MINUTES_PER_HOUR ||
+            second >= SECONDS_PER_MINUTE)
+        {
+            throw new DateTimeException("Invalid date: " + text);
+        }
+
+        return epochDay(year, month, day) * SECONDS_PER_DAY +
+               hour * SECONDS_PER_HOUR +
+               minute * SECONDS_PER_MINUTE +
+               second;
+    }
+
+    /**
+     * toEpochSecond of a date and time, dropping any fraction of a second
+     * @param dateTime to convert
+     * @return seconds since 1970-01-01 00:00:00
+     */
+    public static long toEpochSecond(final LocalDateTime dateTime)
+    {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * toLocalDateTime of a count of epoch seconds
+     * @param epochSecond seconds since 1970-01-01 00:00:00
+     * @return date and time
+     */
+    public static LocalDateTime toLocalDateTime(final long epochSecond)
+    {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * format a count of epoch seconds as "yyyy-MM-dd HH:mm:ss"
+     * @param epochSecond seconds since 1970-01-01 00:00:00
+     * @return formatted date
+     */
+    public static String format(final long epochSecond)
+    {
+        final StringBuilder text;
+
+        text = new StringBuilder(TEXT_CAPACITY);
+
+        appendTo(text, epochSecond);
+
+        return text.toString();
+    }
+
+    /**
+     * appendTo writes a count of epoch seconds as
+     * "yyyy-MM-dd HH:mm:ss" onto the end of a builder
+     * @param text builder to append to
+     * @param epochSecond seconds since 1970-01-01 00:00:00
+     */
+    public static void appendTo(
+        final StringBuilder text,
+        final long          epochSecond
+    ) {
+        final LocalDateTime dateTime;
+
+        dateTime = toLocalDateTime(epochSecond);
+
+        if (dateTime.getYear() < MIN_YEAR || dateTime.getYear() > MAX_YEAR)
+        {
+            // Outside four digit years the pattern prints the year of the era
+            text.append(dateTime.format(FORMATTER));
+            return;
+        }
+
+        appendDigits(text, dateTime.getYear(), YEAR_DIGITS);
+        text.append('-');
+        appendDigits(text, dateTime.getMonthValue(), FIELD_DIGITS);
+        text.append('-');
+        appendDigits(text, dateTime.getDayOfMonth(), FIELD_DIGITS);
+        text.append(' ');
+        appendDigits(text, dateTime.getHour(), FIELD_DIGITS);
+        text.append(':');
+        appendDigits(text, dateTime.getMinute(), FIELD_DIGITS);
+        text.append(':');
+        appendDigits(text, dateTime.getSecond(), FIELD_DIGITS);
+    }
+
+    /*
+     * readDigits reads a fixed width run of decimal digits
+     * @param text to read from
+     * @param from index of the first digit
+     * @param count of digits
+     * @return value of the digits
+     * @throws DateTimeException if a character is not a digit
+     */
+    private static int readDigits(
+        final CharSequence text,
+        final int          from,
+        final int          count
+    ) {
+        int value;
+
+        value = 0;
+
+        for (int i = from; i < from + count; i++)
+        {
+            final char digit;
+
+            digit = text.charAt(i);
+
+            if (digit < '0' || digit > '9')
+            {
+                throw new DateTimeException("Not a " + DATE_PATTERN + " date: " + text);
+            }
+
+            value = value * DIGITS_BASE + (digit - '0');
+        }
+
+        return value;
+    }
+
+    /*
+     * appendDigits writes a number zero padded to a width
+     * @param text builder to append to
+     * @param value to write, not negative
+     * @param width of the padded number
+     */
+    private static void appendDigits(
+        final StringBuilder text,
+        final int           value,
+        final int           width
+    ) {
+        int limit;
+
+        limit = 1;
+
+        for (int i = 1; i < width; i++)
+        {
+            limit *= DIGITS_BASE;
+
+            if (value < limit)
+            {
+                text.append('0');
+            }
+        }
+
+        text.append(value);
+    }
+
+    /*
+     * epochDay counts the days from 1970-01-01 to a date,
+     * the same count LocalDate.toEpochDay gives
+     * @param year from 1 to 9999
+     * @param month from 1 to 12
+     * @param day of the month
+     * @return days since 1970-01-01
+     */
+    private static long epochDay(
+        final int year,
+        final int month,
+        final int day
+    ) {
+        long days;
+
+        days = 365L * year +
+               (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400 +
+               (367 * month - 362) / MONTHS_PER_YEAR +
+               day - 1;
+
+        if (month > FEBRUARY)
+        {
+            days--;
+
+            if (!isLeapYear(year))
+            {
+                days--;
+            }
+        }
+
+        return days - DAYS_0000_TO_1970;
+    }
+
+    /*
+     * isLeapYear checks for a year with a February 29th
+     * @param year to check
+     * @return true if the year is a leap year
+     */
+    private static boolean isLeapYear(final int year)
+    {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+}
@@ -0,0 +1,159 @@
+package ca.bcit.comp2522.project;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * FilledSlots holds the positions of a number game with
+ * an index of its filled slots, so a PlacementRule finds
+ * the nearest filled neighbors in O(log n) instead of
+ * scanning every slot.
+ *
+ * The filled slots are indexed twice, by slot and by
+ * value, in TreeMaps. Numbers are only placed and cleared
+ * through fill and clear, which keep the positions and
+ * the index in step, so the index is never stale. The
+ * game owning a FilledSlots is the only one to fill it.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class FilledSlots
+{
+    public static final int NONE_BEFORE = -1;
+
+    private static final int EMPTY     = 0;
+    private static final int MIN_SLOTS = 1;
+
+    private final int[]                     positions;
+    private final TreeMap<Integer, Integer> valueBySlot;
+    private final TreeMap<Integer, Integer> lastSlotByValue;
+
+    /**
+     * FilledSlots constructor with every slot empty
+     * @param slots to hold
+     */
+    public FilledSlots(final int slots)
+    {
+        if (slots < MIN_SLOTS)
+        {
+            throw new IllegalArgumentException("A game needs at least one slot");
+        }
+
+        this.positions       = new int[slots];
+        this.valueBySlot     = new TreeMap<>();
+        this.lastSlotByValue = new TreeMap<>();
+    }
+
+    /**
+     * fill an empty slot with a number
+     * @param index of the empty slot
+     * @param value to place, above 0
+     * @throws IllegalArgumentException if the slot is filled or the value is not above 0
+     */
+    public void fill(
+        final int index,
+        final int value
+    ) {
+        if (this.positions[index] != EMPTY)
+        {
+            throw new IllegalArgumentException("Slot " + index + " is already filled");
+        }
+
+        if (value <= EMPTY)
+        {
+            throw new IllegalArgumentException("Numbers must be above " + EMPTY);
+        }
+
+        this.positions[index] = value;
+        this.valueBySlot.put(index, value);
+        this.lastSlotByValue.merge(value, index, Math::max);
+    }
+
+    /**
+     * clear empties every slot for a new game
+     */
+    public void clear()
+    {
+        for (final int index : this.valueBySlot.keySet())
+        {
+            this.positions[index] = EMPTY;
+        }
+
+        this.valueBySlot.clear();
+        this.lastSlotByValue.clear();
+    }
+
+    /**
+     * get the number in a slot
+     * @param index of the slot
+     * @return number in the slot, 0 if empty
+     */
+    public int get(final int index)
+    {
+        return this.positions[index];
+    }
+
+    /**
+     * getLength of the positions
+     * @return number of slots
+     */
+    public int getLength()
+    {
+        return this.positions.length;
+    }
+
+    /**
+     * previousFilled finds the nearest filled slot before a slot
+     * @param index of the slot
+     * @return index of the filled slot, or -1 if there is none
+     */
+    public int previousFilled(final int index)
+    {
+        final Integer slot;
+
+        slot = this.valueBySlot.lowerKey(index);
+
+        return slot == null ? NONE_BEFORE : slot;
+    }
+
+    /**
+     * nextFilled finds the nearest filled slot after a slot
+     * @param index of the slot, may be -1 to search from the start
+     * @return index of the filled slot, or the length if there is none
+     */
+    public int nextFilled(final int index)
+    {
+        final Integer slot;
+
+        slot = this.valueBySlot.higherKey(index);
+
+        return slot == null ? this.positions.length : slot;
+    }
+
+    /**
+     * lastFilledBelow finds the last filled slot holding
+     * a number smaller than a value
+     * @param value to compare with
+     * @return index of the filled slot, or -1 if there is none
+     */
+    public int lastFilledBelow(final int value)
+    {
+        final Map.Entry<Integer, Integer> below;
+
+        below = this.lastSlotByValue.lowerEntry(value);
+
+        return below == null ? NONE_BEFORE : below.getValue();
+    }
+
+    /**
+     * positions as an array, for rules and strategies that
+     * take one. The array is shared with the index and must
+     * not be changed, the index would no longer match it.
+     * @return positions, 0 for an empty slot
+     */
+    int[] positions()
+    {
+        return this.positions;
+    }
+}
@@ -0,0 +1,134 @@
+package ca.bcit.comp2522.project;
+
+import java.util.Arrays;
+
+/**
+ * IntList is a small growable list of primitive
+ * ints. Used by the game engines where a list of
+ * cell indices is needed without boxing every
+ * value into an Integer. Backing storage only
+ * grows, so clearing and reusing a list does not
+ * allocate.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class IntList
+{
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int EMPTY            = 0;
+    private static final int GROWTH_SHIFT     = 1;
+
+    private int[] values;
+    private int   size;
+
+    /**
+     * IntList constructor creates an empty
+     * list with the default capacity
+     */
+    public IntList()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * IntList constructor creates an empty
+     * list with a given starting capacity
+     * @param capacity to allocate up front
+     */
+    public IntList(final int capacity)
+    {
+        if (capacity < EMPTY)
+        {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+
+        this.values = new int[Math.max(capacity, DEFAULT_CAPACITY)];
+        this.size   = EMPTY;
+    }
+
+    /**
+     * add a value to the end of the list,
+     * growing the backing array if needed
+     * @param value to add
+     */
+    public void add(final int value)
+    {
+        if (this.size == this.values.length)
+        {
+            this.values = Arrays.copyOf(this.values, this.values.length + (this.values.length >> GROWTH_SHIFT));
+        }
+
+        this.values[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * get the value at a given position
+     * @param position of value in the list
+     * @return value at the given position
+     */
+    public int get(final int position)
+    {
+        if (position < EMPTY || position >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for size " + this.size);
+        }
+
+        return this.values[position];
+    }
+
+    /**
+     * set the value at a given position
+     * @param position of value in the list
+     * @param value to store at the position
+     */
+    public void set(
+        final int position,
+        final int value
+    ) {
+        if (position < EMPTY || position >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for size " + this.size);
+        }
+
+        this.values[position] = value;
+    }
+
+    /**
+     * size of the list
+     * @return number of values in the list
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * isEmpty checks if the list has no values
+     * @return if the list is empty
+     */
+    public boolean isEmpty()
+    {
+        return this.size == EMPTY;
+    }
+
+    /**
+     * clear the list, keeping the backing
+     * array for reuse
+     */
+    public void clear()
+    {
+        this.size = EMPTY;
+    }
+
+    /**
+     * toArray copies the values of the list
+     * into a new array
+     * @return array of the values in the list
+     */
+    public int[] toArray()
+    {
+        return Arrays.copyOf(this.values, this.size);
+    }
+}
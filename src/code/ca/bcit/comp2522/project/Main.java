@@ -15,11 +15,14 @@ import java.util.Scanner;
  */
 public class Main
 {
+    private static final String SEED_ARG = "--seed=";
+
     /**
      * Program entry point for the CLI menu.
      *
      * @param args command-line arguments. Optional:
      *             --jfxlib=/path/to/javafx-sdk/lib
+     *             --seed=N to replay a session
      */
     public static void main(final String[] args)
     {
@@ -37,12 +40,16 @@ public class Main
             return;
         }
 
-        final Scanner scanner;
-        boolean       running;
+        final Scanner      scanner;
+        final SeededRandom random;
+        boolean            running;
 
         scanner = new Scanner(System.in);
+        random  = SeededRandom.fromSeedText(findSeed(args));
         running = true;
 
+        System.out.println("Session seed: " + random.getSeed());
+
         while (running)
         {
             System.out.println("Word Game (W)");
@@ -57,26 +64,48 @@ public class Main
 
             switch (choice)
             {
-                case "W" -> runWordGame(scanner);
-                case "N" -> launchJavaFxApp("ca.bcit.comp2522.project.NumberGame", javafxLib);
-                case "M" -> launchJavaFxApp("ca.bcit.comp2522.project.MyGame", javafxLib);
+                case "W" -> runWordGame(scanner, random.split());
+                case "N" -> launchJavaFxApp("ca.bcit.comp2522.project.NumberGame", javafxLib, random.nextLong());
+                case "M" -> launchJavaFxApp("ca.bcit.comp2522.project.MyGame", javafxLib, random.nextLong());
                 case "Q" -> running = false;
                 default -> System.out.println("Invalid selection.");
             }
         }
     }
 
+    /**
+     * Finds the value of the optional --seed=N argument.
+     *
+     * @param args command-line arguments
+     * @return seed text, or null if no seed was given
+     */
+    private static String findSeed(final String[] args)
+    {
+        for (final String arg : args)
+        {
+            if (arg.startsWith(SEED_ARG))
+            {
+                return arg.substring(SEED_ARG.length());
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Runs the WordGame inside the CLI environment.
      *
      * @param scanner shared scanner for System.in
+     * @param random  service the game picks its questions with
      */
-    private static void runWordGame(final Scanner scanner)
-    {
+    private static void runWordGame(
+        final Scanner      scanner,
+        final SeededRandom random
+    ) {
         try
         {
             final WordGame game;
-            game = new WordGame();
+            game = new WordGame(random);
             game.runTrivia(scanner);
         }
         catch (final IOException e)
@@ -91,10 +120,12 @@ public class Main
      *
      * @param mainClass fully-qualified class name
      * @param javafxLib path to JavaFX lib directory
+     * @param seed      passed to the application as --seed=N
      */
     private static void launchJavaFxApp(
         final String mainClass,
-        final String javafxLib
+        final String javafxLib,
+        final long   seed
     ) {
         final String         javaBin;
         final String         cp;
@@ -109,7 +140,8 @@ public class Main
             "--add-modules", "javafx.controls,javafx.fxml",
             "--enable-native-access=javafx.graphics",
             "-cp", cp,
-            mainClass
+            mainClass,
+            SEED_ARG + seed
         );
 
         pb.inheritIO();
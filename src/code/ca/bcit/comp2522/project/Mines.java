@@ -1,7 +1,9 @@
 package ca.bcit.comp2522.project;
 
-import java.util.Random;
-import java.util.function.Consumer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 
 /**
  * Mines class holds all relevant game logic
@@ -10,6 +12,19 @@ import java.util.function.Consumer;
  * cells flagged and flagged status, randomizing
  * board if needed and provide getters for cells.
  *
+ * The board is stored packed, mines, revealed cells,
+ * flags and question marks are each a bitset and the
+ * neighboring mine counts are stored two cells per byte,
+ * about one byte per cell in total. Running counters
+ * keep hasWon and the revealed and flag counts O(1).
+ *
+ * After each move the cells that changed are published
+ * to any registered MinesChangeListener.
+ *
+ * Every board has a seed, boards built with the same
+ * seed and dimensions place the same mines and, given
+ * the same moves, randomize the same way.
+ *
  * @author Braeden Sowinski
  * @version 1.0.0
  */
@@ -18,29 +33,86 @@ public class Mines extends GameBoard
     private static final int MINE               = -1;
     private static final int NO_MINE            = 0;
 
-    private static final int MIN_OFFSET         = -1;
-    private static final int MAX_OFFSET         = 1;
-    private static final int SELF_OFFSET        = 0;
     private static final int FIRST_ROW          = 0;
     private static final int FIRST_COL          = 0;
+    private static final int LAST_OFFSET        = 1;
+    private static final int MAX_NEIGHBORS      = 8;
+    private static final int MIN_SIZE           = 1;
+    private static final int NOT_FOUND          = -1;
+    private static final int SAMPLE_RATIO       = 2;
+    private static final int ADD_MINE           = 1;
+    private static final int REMOVE_MINE        = -1;
+
+    private static final int NIBBLE_BITS        = 4;
+    private static final int NIBBLE_MASK        = 0x0F;
+    private static final int CELLS_PER_BYTE     = 2;
+    private static final int CELL_SHIFT         = 1;
+    private static final int ODD_CELL           = 1;
+
+    private static final int[] ROW_OFFSETS      = { -1, -1, -1,  0, 0,  1, 1, 1 };
+    private static final int[] COL_OFFSETS      = { -1,  0,  1, -1, 1, -1, 0, 1 };
 
     public static final int NO_FLAG            = 0;
     public static final int FLAG               = 1;
     public static final int FLAG_QUESTION      = 2;
 
-    private static final Random RANDOM_GENERATOR;
-
-    static
-    {
-        RANDOM_GENERATOR = new Random();
-    }
-
+    private final long         seed;
+    private final SeededRandom random;
     private final int     totalMines;
+    private final int     totalCells;
     private final boolean randomMode;
+    private final int[]   neighbors;
+    private final int[]   neighborOffsets;
+    private final IntList revealedCells;
+    private final IntList movedFrom;
+    private final IntList movedTo;
+    private final IntList recounted;
+    private final IntList candidates;
+    private final IntList reflagged;
+    private final BitSet  picked;
+    private final BitSet  recountMarks;
+
+    private final MinesChangeSet            changes;
+    private final List<MinesChangeListener> listeners;
+
+    private BitSet mines;
+    private BitSet revealed;
+    private BitSet flags;
+    private BitSet questions;
+    private byte[] counts;
+
+    private int revealedSafe;
+    private int revealedMines;
+    private int flagCount;
 
-    private int[]     field;
-    private boolean[] revealed;
-    private int[]     flagged;
+    /**
+     * validateDimensions ensures the board fits in an
+     * int index and can hold the requested mines
+     * @param width of minefield
+     * @param height of minefield
+     * @param mines to place in minefield
+     * @throws IllegalArgumentException if the minefield cannot be built
+     */
+    static void validateDimensions(
+        final int width,
+        final int height,
+        final int mines
+    ) {
+        if (width < MIN_SIZE || height < MIN_SIZE)
+        {
+            throw new IllegalArgumentException("Minefield must be at least 1 x 1");
+        }
+
+        if ((long) width * height > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Minefield is too large");
+        }
+
+        if (mines < NO_MINE || mines > width * height)
+        {
+            throw new IllegalArgumentException("Invalid number of mines");
+        }
+    }
 
     /**
      * Mines constructor generates minefield board
@@ -55,13 +127,86 @@ public class Mines extends GameBoard
         final int height,
         final int mines,
         final boolean randomMode
+    ) {
+        this(width, height, mines, randomMode, SeededRandom.newSeed());
+    }
+
+    /**
+     * Mines constructor generates minefield board
+     * with a given width, height and number of mines,
+     * seeded from a shared random number service so
+     * the board is replayed along with the service.
+     * @param width of minefield
+     * @param height of minefield
+     * @param mines to place in minefield
+     * @param randomMode to enable randomizing the field
+     * @param random service to draw the seed of this board from
+     */
+    public Mines(
+        final int          width,
+        final int          height,
+        final int          mines,
+        final boolean      randomMode,
+        final SeededRandom random
+    ) {
+        this(width, height, mines, randomMode, random.nextLong());
+    }
+
+    /**
+     * Mines constructor generates a reproducible
+     * minefield board with a given width, height,
+     * number of mines and seed.
+     * @param width of minefield
+     * @param height of minefield
+     * @param mines to place in minefield
+     * @param randomMode to enable randomizing the field
+     * @param seed to generate the field from
+     */
+    public Mines(
+        final int width,
+        final int height,
+        final int mines,
+        final boolean randomMode,
+        final long seed
     ) {
         super(width, height);
-        this.totalMines = mines;
-        this.randomMode = randomMode;
+        validateDimensions(width, height, mines);
+
+        this.seed            = seed;
+        this.random          = new SeededRandom(seed);
+        this.totalMines      = mines;
+        this.totalCells      = width * height;
+        this.randomMode      = randomMode;
+        this.neighbors       = new int[MAX_NEIGHBORS];
+        this.neighborOffsets = new int[MAX_NEIGHBORS];
+        this.revealedCells   = new IntList();
+        this.movedFrom       = new IntList();
+        this.movedTo         = new IntList();
+        this.recounted       = new IntList();
+        this.candidates      = new IntList();
+        this.reflagged       = new IntList();
+        this.picked          = new BitSet();
+        this.recountMarks    = new BitSet();
+        this.changes         = new MinesChangeSet(this.revealedCells, this.recounted, this.reflagged);
+        this.listeners       = new ArrayList<>();
+
+        for (int i = 0; i < MAX_NEIGHBORS; i++)
+        {
+            this.neighborOffsets[i] = ROW_OFFSETS[i] * width + COL_OFFSETS[i];
+        }
+
         reset();
     }
 
+    /**
+     * getSeed returns the seed this board was generated from
+     * @return seed of the board
+     */
+    public long getSeed()
+    {
+        return this.seed;
+    }
+
     /**
      * isRandomMode checks if the mode is random or not
      * @return random mode value
@@ -72,21 +217,24 @@ public class Mines extends GameBoard
     }
 
     /**
-     * reset game board, refreshes field,
-     * revealed, and flagged arrays to
-     * default values of total number of cells
-     * then generates field values
+     * reset game board, refreshes mine, revealed,
+     * flag and count storage to default values of
+     * total number of cells then generates field values
      */
     @Override
     public void reset()
     {
-        final int totalCells;
+        this.mines     = new BitSet(this.totalCells);
+        this.revealed  = new BitSet(this.totalCells);
+        this.flags     = new BitSet(this.totalCells);
+        this.questions = new BitSet(this.totalCells);
+        this.counts    = new byte[(this.totalCells + ODD_CELL) / CELLS_PER_BYTE];
 
-        totalCells = this.width * this.height;
+        this.revealedSafe  = NO_MINE;
+        this.revealedMines = NO_MINE;
+        this.flagCount     = NO_MINE;
 
-        this.field    = new int[totalCells];
-        this.revealed = new boolean[totalCells];
-        this.flagged  = new int[totalCells];
+        clearChanges();
 
         generateField();
     }
@@ -95,26 +243,28 @@ public class Mines extends GameBoard
      * generateField places number of mines randomly
      * within the minefield, then for each cell count
      * number of neighboring mines and set values in
-     * the field
+     * the field.
+     *
+     * Mines are chosen with Floyd's sampling algorithm,
+     * one random draw per mine and never a retry, so the
+     * cost stays linear at any density, up to a field
+     * that is entirely mines.
      */
     private void generateField()
     {
-        int placedMines;
-        final int totalCells;
-
-        placedMines = NO_MINE;
-        totalCells  = this.width * this.height;
-
-        while (placedMines < this.totalMines)
+        for (int i = this.totalCells - this.totalMines; i < this.totalCells; i++)
         {
             final int index;
 
-            index = RANDOM_GENERATOR.nextInt(totalCells);
+            index = this.random.nextInt(i + 1);
 
-            if (this.field[index] != MINE)
+            if (this.mines.get(index))
             {
-                this.field[index] = MINE;
-                placedMines++;
+                this.mines.set(i);
+            }
+            else
+            {
+                this.mines.set(index);
             }
         }
 
@@ -122,50 +272,102 @@ public class Mines extends GameBoard
     }
 
     /**
-     * countNeighboringMines iterates over the field
-     * and for each cell of the field, checks all 8
-     * neighbors, top, top right, right, bottom right,
-     * and so on to count the total number of mines
-     * surround that cell, then updates the mine count
-     * for that cell in the field.
+     * countNeighboringMines clears every count then,
+     * for each mine in the field, adds one to the count
+     * of all 8 of its neighbors, top, top right, right,
+     * bottom right, and so on. Leaves each cell with the
+     * total number of mines surrounding that cell.
      */
     private void countNeighboringMines()
     {
-        for (int i = 0; i < this.field.length; i++)
+        Arrays.fill(this.counts, (byte) NO_MINE);
+
+        for (int i = this.mines.nextSetBit(0); i != NOT_FOUND; i = this.mines.nextSetBit(i + 1))
         {
-            if (this.field[i] == MINE)
+            final int neighborCount;
+
+            neighborCount = collectNeighbors(i, this.neighbors);
+
+            for (int n = 0; n < neighborCount; n++)
             {
-                continue;
+                final int neighborIndex;
+
+                neighborIndex = this.neighbors[n];
+                setCount(neighborIndex, getCount(neighborIndex) + 1);
             }
+        }
+    }
 
-            final int[] count;
+    /**
+     * getCount reads the neighboring mine count of a
+     * cell out of its half of the packed count byte
+     * @param index of cell to read count of
+     * @return number of mines neighboring the cell
+     */
+    private int getCount(final int index)
+    {
+        final int shift;
 
-            count = new int[] { NO_MINE };
+        shift = (index & ODD_CELL) * NIBBLE_BITS;
 
-            forEachNeighbor(i, neighborIndex -> {
-                if (this.field[neighborIndex] == MINE)
-                {
-                    count[SELF_OFFSET]++;
-                }
-            });
+        return (this.counts[index >>> CELL_SHIFT] >>> shift) & NIBBLE_MASK;
+    }
+
+    /**
+     * setCount writes the neighboring mine count of a
+     * cell into its half of the packed count byte
+     * @param index of cell to write count of
+     * @param count of mines neighboring the cell, 0 to 8
+     */
+    private void setCount(
+        final int index,
+        final int count
+    ) {
+        final int shift;
+        final int slot;
+
+        shift = (index & ODD_CELL) * NIBBLE_BITS;
+        slot  = index >>> CELL_SHIFT;
+
+        this.counts[slot] = (byte) ((this.counts[slot] & ~(NIBBLE_MASK << shift)) | (count << shift));
+    }
 
-            this.field[i] = count[SELF_OFFSET];
+    /**
+     * markRevealed reveals a single cell, records it
+     * in the list of revealed cells and keeps the
+     * revealed counters in step
+     * @param index of cell to mark revealed
+     */
+    private void markRevealed(final int index)
+    {
+        this.revealed.set(index);
+        this.revealedCells.add(index);
+
+        if (this.mines.get(index))
+        {
+            this.revealedMines++;
+        }
+        else
+        {
+            this.revealedSafe++;
         }
     }
 
     /**
-     * forEachNeighbor is a helper method that takes in
-     * an index of the field and a Consumer to perform
-     * an action for each neighbor of the given index.
+     * collectNeighbors is a helper method that writes the
+     * index of each neighbor of the given index into the
+     * given buffer and returns how many were written.
      *
-     * Performs bounds checking to ensure there is no
-     * out of bounds errors.
+     * Interior cells use the neighbor offsets precomputed
+     * for this width, only cells on the border of the field
+     * need bounds checking.
      * @param index to get each neighbor of
-     * @param action to perform on each neighbor of the given cell index
+     * @param buffer of at least 8 slots to write neighbor indices into
+     * @return number of neighbors written to the buffer
      */
-    private void forEachNeighbor(
-        final int               index,
-        final Consumer<Integer> action
+    private int collectNeighbors(
+        final int   index,
+        final int[] buffer
     ) {
         final int row;
         final int col;
@@ -173,69 +375,103 @@ public class Mines extends GameBoard
         row = index / this.width;
         col = index % this.width;
 
-        for (int dr = MIN_OFFSET; dr <= MAX_OFFSET; dr++)
+        if (row > FIRST_ROW && row < this.height - LAST_OFFSET &&
+            col > FIRST_COL && col < this.width - LAST_OFFSET)
         {
-            for (int dc = MIN_OFFSET; dc <= MAX_OFFSET; dc++)
+            for (int i = 0; i < MAX_NEIGHBORS; i++)
             {
-                if (dr == SELF_OFFSET && dc == SELF_OFFSET)
-                {
-                    continue;
-                }
+                buffer[i] = index + this.neighborOffsets[i];
+            }
 
-                final int nr;
-                final int nc;
+            return MAX_NEIGHBORS;
+        }
 
-                nr = row + dr;
-                nc = col + dc;
+        int count;
 
-                if (nr < FIRST_ROW || nr >= this.height ||
-                    nc < FIRST_COL || nc >= this.width)
-                {
-                    continue;
-                }
+        count = 0;
 
-                final int neighborIndex;
+        for (int i = 0; i < MAX_NEIGHBORS; i++)
+        {
+            final int nr;
+            final int nc;
+
+            nr = row + ROW_OFFSETS[i];
+            nc = col + COL_OFFSETS[i];
 
-                neighborIndex = nr * this.width + nc;
-                action.accept(neighborIndex);
+            if (nr < FIRST_ROW || nr >= this.height ||
+                nc < FIRST_COL || nc >= this.width)
+            {
+                continue;
             }
+
+            buffer[count] = nr * this.width + nc;
+            count++;
         }
+
+        return count;
     }
 
     /**
      * popFieldVoid reveals all neighboring cells of a
      * 0 value cell till it reaches a cell that has a
      * value greater than 0. i.e. a cell that has a
-     * neighboring mine. Recursively calls itself to
-     * accomplish this and "pop" a "void" within the field.
+     * neighboring mine. Uses the list of revealed cells
+     * as an explicit queue rather than recursion, so the
+     * size of a "void" is not limited by the call stack.
+     * Flagged cells are never revealed by a pop.
      * @param index to pop
      */
     private void popFieldVoid(final int index)
     {
-        forEachNeighbor(index, neighborIndex -> {
+        int head;
+
+        head = this.revealedCells.size();
+        revealNeighbors(index);
+
+        while (head < this.revealedCells.size())
+        {
+            final int cell;
 
-            if (!this.revealed[neighborIndex])
+            cell = this.revealedCells.get(head);
+            head++;
+
+            if (!this.mines.get(cell) && getCount(cell) == NO_MINE)
             {
-                try
-                {
-                    reveal(neighborIndex);
-                }
-                catch (final InvalidMoveException e)
-                {
-                    // revealing neighbors should never be invalid
-                }
+                revealNeighbors(cell);
+            }
+        }
+    }
 
-                if (this.field[neighborIndex] == NO_MINE)
-                {
-                    popFieldVoid(neighborIndex);
-                }
+    /**
+     * revealNeighbors reveals every hidden, unflagged
+     * neighbor of the given cell and records each one
+     * in the list of revealed cells.
+     * @param index of cell to reveal neighbors of
+     */
+    private void revealNeighbors(final int index)
+    {
+        final int neighborCount;
+
+        neighborCount = collectNeighbors(index, this.neighbors);
+
+        for (int n = 0; n < neighborCount; n++)
+        {
+            final int neighborIndex;
+
+            neighborIndex = this.neighbors[n];
+
+            if (!this.revealed.get(neighborIndex) && !this.flags.get(neighborIndex))
+            {
+                markRevealed(neighborIndex);
             }
-        });
+        }
     }
 
     /**
      * reveal a given cell and returns if it was
-     * a mine or not or if invalid reveal
+     * a mine or not or if invalid reveal. Cells
+     * revealed by this call can be read back with
+     * getLastRevealedCount and getLastRevealed.
      * @param index of the cell to reveal
      * @return if revealed cell was a mine
      * @throws InvalidMoveException when attempting to reveal a flagged cell
@@ -243,19 +479,48 @@ public class Mines extends GameBoard
     public boolean reveal(final int index)
         throws InvalidMoveException
     {
-        if (this.flagged[index] == FLAG)
+        if (this.flags.get(index))
         {
             throw new InvalidMoveException("Cannot reveal a flagged cell.");
         }
 
-        this.revealed[index] = true;
+        clearChanges();
+
+        if (!this.revealed.get(index))
+        {
+            markRevealed(index);
+        }
 
-        if (this.field[index] == NO_MINE)
+        if (getFieldValue(index) == NO_MINE)
         {
             popFieldVoid(index);
         }
 
-        return this.field[index] == MINE;
+        publishChanges();
+
+        return this.mines.get(index);
+    }
+
+    /**
+     * getLastRevealedCount returns how many cells were
+     * newly revealed by the last move, a call to reveal,
+     * randomizeRemaining or toggleFlag
+     * @return number of newly revealed cells
+     */
+    public int getLastRevealedCount()
+    {
+        return this.revealedCells.size();
+    }
+
+    /**
+     * getLastRevealed returns the index of a cell newly
+     * revealed by the last move
+     * @param position of the cell, from 0 to getLastRevealedCount
+     * @return index of the newly revealed cell
+     */
+    public int getLastRevealed(final int position)
+    {
+        return this.revealedCells.get(position);
     }
 
     /**
@@ -268,20 +533,104 @@ public class Mines extends GameBoard
     {
         final int nextState;
 
-        nextState = (this.flagged[index] + FLAG) % (FLAG_QUESTION + FLAG);
-        this.flagged[index] = nextState;
+        if (this.flags.get(index))
+        {
+            this.flags.clear(index);
+            this.questions.set(index);
+            this.flagCount--;
+            nextState = FLAG_QUESTION;
+        }
+        else if (this.questions.get(index))
+        {
+            this.questions.clear(index);
+            nextState = NO_FLAG;
+        }
+        else
+        {
+            this.flags.set(index);
+            this.flagCount++;
+            nextState = FLAG;
+        }
+
+        clearChanges();
+        this.reflagged.add(index);
+        publishChanges();
+
         return nextState;
     }
 
+    /**
+     * addChangeListener registers a listener to be told
+     * which cells changed after each move
+     * @param listener to add
+     */
+    public void addChangeListener(final MinesChangeListener listener)
+    {
+        if (listener == null)
+        {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+
+        this.listeners.add(listener);
+    }
+
+    /**
+     * removeChangeListener stops a listener from
+     * being told about changes
+     * @param listener to remove
+     */
+    public void removeChangeListener(final MinesChangeListener listener)
+    {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * clearChanges empties the change set at
+     * the start of a move
+     */
+    private void clearChanges()
+    {
+        for (int i = 0; i < this.recounted.size(); i++)
+        {
+            this.recountMarks.clear(this.recounted.get(i));
+        }
+
+        this.revealedCells.clear();
+        this.recounted.clear();
+        this.reflagged.clear();
+    }
+
+    /**
+     * publishChanges sends the change set of the
+     * move to every listener, if anything changed
+     */
+    private void publishChanges()
+    {
+        if (this.changes.isEmpty())
+        {
+            return;
+        }
+
+        for (final MinesChangeListener listener : this.listeners)
+        {
+            listener.cellsChanged(this.changes);
+        }
+    }
+
     /**
      * getFieldValue returns the value of a given cell
      * used to show values in the button of the UI
      * @param index of cell to get value
-     * @return value of given cell
+     * @return value of given cell, -1 for a mine
      */
     public int getFieldValue(final int index)
     {
-        return this.field[index];
+        if (this.mines.get(index))
+        {
+            return MINE;
+        }
+
+        return getCount(index);
     }
 
     /**
@@ -291,7 +640,7 @@ public class Mines extends GameBoard
      */
     public boolean isRevealed(final int index)
     {
-        return this.revealed[index];
+        return this.revealed.get(index);
     }
 
     /**
@@ -301,7 +650,7 @@ public class Mines extends GameBoard
      */
     public boolean isMine(final int index)
     {
-        return this.field[index] == MINE;
+        return this.mines.get(index);
     }
 
     /**
@@ -311,7 +660,7 @@ public class Mines extends GameBoard
      */
     public boolean isFlagged(final int index)
     {
-        return this.flagged[index] == FLAG;
+        return this.flags.get(index);
     }
 
     /**
@@ -321,7 +670,7 @@ public class Mines extends GameBoard
      */
     public boolean isQuestionMarked(final int index)
     {
-        return this.flagged[index] == FLAG_QUESTION;
+        return this.questions.get(index);
     }
 
     /**
@@ -333,6 +682,26 @@ public class Mines extends GameBoard
         return this.totalMines;
     }
 
+    /**
+     * getRevealedCount returns how many cells
+     * have been revealed, mines included
+     * @return number of revealed cells
+     */
+    public int getRevealedCount()
+    {
+        return this.revealedSafe + this.revealedMines;
+    }
+
+    /**
+     * getFlagCount returns how many cells are
+     * currently flagged, question marks excluded
+     * @return number of flagged cells
+     */
+    public int getFlagCount()
+    {
+        return this.flagCount;
+    }
+
     /**
      * hasWon checks if all cells that are not mines have
      * been revealed, which is considered a win
@@ -340,81 +709,260 @@ public class Mines extends GameBoard
      */
     public boolean hasWon()
     {
-        int revealedCount;
+        return this.revealedMines == NO_MINE &&
+               this.revealedSafe == this.totalCells - this.totalMines;
+    }
+
+    /**
+     * randomizeRemaining removes any mines from the field
+     * that have not been flagged, then for each mine removed
+     * it is randomly placed back into the field in an unrevealed
+     * cell. Effectively "randomizing" undiscovered cells within
+     * the field.
+     *
+     * Only mines that actually change position touch the board,
+     * counts are adjusted in the 3x3 block around each of them
+     * and voids are popped only from revealed cells whose count
+     * dropped to zero, so a move costs close to the number of
+     * mines moved rather than the size of the field.
+     */
+    public void randomizeRemaining()
+    {
+        if (!this.randomMode)
+        {
+            return;
+        }
+
+        clearChanges();
+        this.movedFrom.clear();
+        this.movedTo.clear();
 
-        revealedCount = NO_MINE;
+        int fixedMines;
 
-        for (int i = 0; i < this.field.length; i++)
+        fixedMines = NO_MINE;
+
+        for (int i = this.mines.nextSetBit(0); i != NOT_FOUND; i = this.mines.nextSetBit(i + 1))
         {
-            if (this.revealed[i])
+            if (this.flags.get(i) || this.revealed.get(i))
+            {
+                fixedMines++;
+            }
+            else
             {
-                revealedCount++;
+                this.movedFrom.add(i);
             }
-            else if (this.field[i] != MINE)
+        }
+
+        final int openCells;
+
+        openCells = this.totalCells - this.revealedSafe - fixedMines;
+
+        pickMineCells(this.movedFrom.size(), openCells);
+        relocateMines();
+
+        for (int i = 0; i < this.recounted.size(); i++)
+        {
+            final int cell;
+
+            cell = this.recounted.get(i);
+
+            if (this.revealed.get(cell) && getFieldValue(cell) == NO_MINE)
             {
-                return false;
+                popFieldVoid(cell);
             }
         }
 
-        return revealedCount == (this.field.length - this.totalMines);
+        publishChanges();
     }
 
     /**
-     * randomizeRemaining removes any mines from the field
-     * that have not been flagged, then for each mine removed
-     * it is randomly placed back into the field in an unrevealed
-     * cell. Effectively "randomizing" undiscovered cells within
-     * the field. Field values are then recalculated to reflect new
-     * mine positions, and newly discovered voids are popped.
+     * isOpenCell checks if a mine may be moved into a
+     * cell, any cell that is not revealed and is not
+     * holding a mine that stays in place
+     * @param index of cell to check
+     * @return if a mine can be placed in the cell
      */
-    public void randomizeRemaining()
+    private boolean isOpenCell(final int index)
     {
-        if (!this.randomMode)
+        if (this.revealed.get(index))
         {
-            return;
+            return false;
         }
 
-        int minesToReplant;
+        return !(this.mines.get(index) && this.flags.get(index));
+    }
+
+    /**
+     * pickMineCells chooses a uniformly random set of open
+     * cells to hold the mines being moved, filling movedTo
+     * and marking each choice in picked. Samples by rejection
+     * while most of the field is open, otherwise gathers the
+     * open cells once and partially shuffles them.
+     * @param count of cells to pick
+     * @param openCells number of cells a mine can be moved into
+     */
+    private void pickMineCells(
+        final int count,
+        final int openCells
+    ) {
+        if ((long) openCells * SAMPLE_RATIO >= this.totalCells &&
+            (long) count * SAMPLE_RATIO <= openCells)
+        {
+            while (this.movedTo.size() < count)
+            {
+                final int index;
+
+                index = this.random.nextInt(this.totalCells);
+
+                if (isOpenCell(index) && !this.picked.get(index))
+                {
+                    this.picked.set(index);
+                    this.movedTo.add(index);
+                }
+            }
 
-        minesToReplant = NO_MINE;
+            return;
+        }
 
-        for (int i = 0; i < this.field.length; i++)
+        this.candidates.clear();
+
+        for (int i = this.revealed.nextClearBit(0); i < this.totalCells; i = this.revealed.nextClearBit(i + 1))
         {
-            if (this.field[i] == MINE && this.flagged[i] == FLAG)
+            if (isOpenCell(i))
             {
-                continue;
+                this.candidates.add(i);
             }
+        }
+
+        for (int i = 0; i < count; i++)
+        {
+            final int swap;
+            final int cell;
+
+            swap = i + this.random.nextInt(this.candidates.size() - i);
+            cell = this.candidates.get(swap);
+
+            this.candidates.set(swap, this.candidates.get(i));
+            this.candidates.set(i, cell);
+
+            this.picked.set(cell);
+            this.movedTo.add(cell);
+        }
+    }
+
+    /**
+     * relocateMines applies the difference between movedFrom
+     * and movedTo to the board, mines that were picked again
+     * stay where they are, every other mine is removed or placed
+     * and the counts of its neighbors adjusted. Each neighbor
+     * that changed is recorded once in recounted.
+     */
+    private void relocateMines()
+    {
+        for (int i = 0; i < this.movedFrom.size(); i++)
+        {
+            final int cell;
+
+            cell = this.movedFrom.get(i);
 
-            if (this.field[i] == MINE)
+            if (!this.picked.get(cell))
             {
-                minesToReplant++;
+                this.mines.clear(cell);
+                adjustNeighborCounts(cell, REMOVE_MINE);
             }
+        }
 
-            this.field[i] = NO_MINE;
+        for (int i = 0; i < this.movedTo.size(); i++)
+        {
+            final int cell;
+
+            cell = this.movedTo.get(i);
+            this.picked.clear(cell);
+
+            if (!this.mines.get(cell))
+            {
+                this.mines.set(cell);
+                adjustNeighborCounts(cell, ADD_MINE);
+            }
         }
+    }
+
+    /**
+     * adjustNeighborCounts adds a change to the count
+     * of every neighbor of a cell and records the
+     * neighbors in recounted, once each per move
+     * @param index of cell whose neighbors are adjusted
+     * @param change to add to each neighbor count
+     */
+    private void adjustNeighborCounts(
+        final int index,
+        final int change
+    ) {
+        final int neighborCount;
 
-        while (minesToReplant > NO_MINE)
+        neighborCount = collectNeighbors(index, this.neighbors);
+
+        for (int n = 0; n < neighborCount; n++)
         {
-            final int index;
+            final int neighborIndex;
 
-            index = RANDOM_GENERATOR.nextInt(this.width * this.height);
+            neighborIndex = this.neighbors[n];
 
-            if (this.field[index] == NO_MINE && !this.revealed[index])
+            setCount(neighborIndex, getCount(neighborIndex) + change);
+
+            if (!this.recountMarks.get(neighborIndex))
             {
-                this.field[index] = MINE;
-                minesToReplant--;
+                this.recountMarks.set(neighborIndex);
+                this.recounted.add(neighborIndex);
             }
         }
+    }
+
+    /**
+     * loadField replaces the mine layout of this board
+     * with the given field, where -1 marks a mine, and
+     * recalculates neighboring counts. Any other values
+     * in the field are ignored. Used by tests to set up
+     * a known board.
+     * @param field of width * height cells
+     */
+    void loadField(final int[] field)
+    {
+        if (field.length != this.totalCells)
+        {
+            throw new IllegalArgumentException("Field must have width * height cells");
+        }
 
-        countNeighboringMines();
+        this.mines.clear();
 
-        for (int i = 0; i < this.field.length; i++)
+        for (int i = 0; i < field.length; i++)
         {
-            if (this.revealed[i] && this.field[i] == NO_MINE)
+            if (field[i] == MINE)
             {
-                popFieldVoid(i);
+                this.mines.set(i);
             }
         }
 
+        countNeighboringMines();
+    }
+
+    /**
+     * toFieldArray expands this board into one int
+     * per cell, -1 for a mine and the neighboring
+     * mine count otherwise
+     * @return field of width * height cells
+     */
+    int[] toFieldArray()
+    {
+        final int[] field;
+
+        field = new int[this.totalCells];
+
+        for (int i = 0; i < field.length; i++)
+        {
+            field[i] = getFieldValue(i);
+        }
+
+        return field;
     }
 }
@@ -0,0 +1,319 @@
+package ca.bcit.comp2522.project;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MinesBoardPool deals no-guess Mines boards of one size,
+ * boards a MinesSolver clears from a given first cell by
+ * revealing only cells it proved safe, never guessing.
+ *
+ * Most random boards need a guess somewhere, so finding one
+ * that does not can take many candidates. Daemon worker
+ * threads search in the background and keep a few boards
+ * ready, so poll hands one out instantly and the FX thread
+ * never waits on the search. A pooled board is kept as its
+ * seed and first cell, and built fresh when dealt.
+ *
+ * No-guess boards are classic boards, in random mode the
+ * mines move after every reveal and no board stays solvable.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesBoardPool
+    implements AutoCloseable
+{
+    private static final int    NOT_FOUND   = -1;
+    private static final int    NO_MINE     = 0;
+    private static final int    MIN_BOARDS  = 1;
+    private static final int    MIN_WORKERS = 1;
+    private static final String THREAD_NAME = "mines-board-pool-";
+
+    private final int                  width;
+    private final int                  height;
+    private final int                  mines;
+    private final BlockingQueue<Entry> boards;
+    private final Thread[]             workers;
+
+    /**
+     * Board dealt by the pool
+     * @param game ready to play, nothing revealed yet
+     * @param startCell to reveal first, an opening the game can be cleared from
+     */
+    public record Board(
+        Mines game,
+        int   startCell
+    ) {
+    }
+
+    /*
+     * Entry of the pool, a no-guess board kept as its seed
+     * @param seed of the board
+     * @param startCell to reveal first
+     */
+    private record Entry(
+        long seed,
+        int  startCell
+    ) {
+    }
+
+    /**
+     * MinesBoardPool constructor, the workers start searching
+     * straight away
+     * @param width of minefield
+     * @param height of minefield
+     * @param mines to place in minefield
+     * @param capacity of boards kept ready
+     * @param workerCount threads searching for boards
+     * @param random service each worker splits its own generator from
+     */
+    public MinesBoardPool(
+        final int          width,
+        final int          height,
+        final int          mines,
+        final int          capacity,
+        final int          workerCount,
+        final SeededRandom random
+    ) {
+        Mines.validateDimensions(width, height, mines);
+
+        if (capacity < MIN_BOARDS || workerCount < MIN_WORKERS)
+        {
+            throw new IllegalArgumentException("A pool needs room for a board and a worker");
+        }
+
+        this.width   = width;
+        this.height  = height;
+        this.mines   = mines;
+        this.boards  = new ArrayBlockingQueue<>(capacity);
+        this.workers = new Thread[workerCount];
+
+        for (int i = 0; i < workerCount; i++)
+        {
+            final SeededRandom workerRandom;
+
+            workerRandom    = random.split();
+            this.workers[i] = new Thread(
+                () -> this.search(workerRandom),
+                THREAD_NAME + width + "x" + height + "-" + i
+            );
+
+            this.workers[i].setDaemon(true);
+            this.workers[i].setPriority(Thread.MIN_PRIORITY);
+            this.workers[i].start();
+        }
+    }
+
+    /*
+     * search keeps the pool full until the worker is interrupted
+     * @param random generator of this worker, drawing seeds and first cells
+     */
+    private void search(final SeededRandom random)
+    {
+        final MinesSolver solver;
+
+        solver = new MinesSolver();
+
+        try
+        {
+            while (!Thread.currentThread().isInterrupted())
+            {
+                final long  seed;
+                final Mines candidate;
+                final int   startCell;
+
+                seed      = random.nextLong();
+                candidate = new Mines(this.width, this.height, this.mines, false, seed);
+                startCell = randomOpening(candidate, random);
+
+                if (startCell != NOT_FOUND && isNoGuess(candidate, startCell, solver))
+                {
+                    this.boards.put(new Entry(seed, startCell));
+                }
+            }
+        }
+        catch (final InterruptedException e)
+        {
+            // Closed while waiting for room in the pool
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * poll deals a ready board without waiting
+     * @return board, or null if none is ready yet
+     */
+    public Board poll()
+    {
+        final Entry entry;
+
+        entry = this.boards.poll();
+
+        return entry == null ? null : this.deal(entry);
+    }
+
+    /**
+     * poll deals a board, waiting a bounded time for one
+     * if none is ready
+     * @param timeout to wait for
+     * @param unit of the timeout
+     * @return board, or null if none was ready in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Board poll(
+        final long     timeout,
+        final TimeUnit unit
+    )
+        throws InterruptedException
+    {
+        final Entry entry;
+
+        entry = this.boards.poll(timeout, unit);
+
+        return entry == null ? null : this.deal(entry);
+    }
+
+    /**
+     * take deals a board, waiting for one if none is ready
+     * @return board
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Board take()
+        throws InterruptedException
+    {
+        return this.deal(this.boards.take());
+    }
+
+    /*
+     * deal builds the board of an entry
+     * @param entry of the pool
+     * @return board ready to play
+     */
+    private Board deal(final Entry entry)
+    {
+        return new Board(
+            new Mines(this.width, this.height, this.mines, false, entry.seed()),
+            entry.startCell()
+        );
+    }
+
+    /**
+     * size of the pool
+     * @return boards ready to deal
+     */
+    public int size()
+    {
+        return this.boards.size();
+    }
+
+    /**
+     * close stops the workers, boards already
+     * in the pool can still be dealt
+     */
+    @Override
+    public void close()
+    {
+        for (final Thread worker : this.workers)
+        {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * isNoGuess plays a board with a solver from a first cell,
+     * revealing only cells the solver proves safe. The board is
+     * played on, so it should be a copy of the one to deal.
+     * @param game to play, nothing revealed yet
+     * @param startCell to reveal first
+     * @param solver to deduce safe cells with
+     * @return true if the board was cleared without a guess
+     */
+    public static boolean isNoGuess(
+        final Mines       game,
+        final int         startCell,
+        final MinesSolver solver
+    ) {
+        try
+        {
+            if (game.reveal(startCell))
+            {
+                return false;
+            }
+
+            while (!game.hasWon())
+            {
+                solver.solve(game);
+
+                if (solver.getSafeCount() == 0)
+                {
+                    return false;
+                }
+
+                for (int i = 0; i < solver.getSafeCount(); i++)
+                {
+                    final int cell;
+
+                    cell = solver.getSafeCell(i);
+
+                    if (!game.isRevealed(cell))
+                    {
+                        game.reveal(cell);
+                    }
+                }
+            }
+
+            return true;
+        }
+        catch (final InvalidMoveException e)
+        {
+            throw new IllegalStateException("Board to check has flags", e);
+        }
+    }
+
+    /*
+     * randomOpening picks a random cell with no neighboring
+     * mines, revealing it opens the area around it
+     * @param game to pick from
+     * @param random generator to pick with
+     * @return index of the cell, or -1 if the board has none
+     */
+    private static int randomOpening(
+        final Mines        game,
+        final SeededRandom random
+    ) {
+        final int cells;
+        int       openings;
+
+        cells    = game.getWidth() * game.getHeight();
+        openings = 0;
+
+        for (int cell = 0; cell < cells; cell++)
+        {
+            if (game.getFieldValue(cell) == NO_MINE)
+            {
+                openings++;
+            }
+        }
+
+        if (openings == 0)
+        {
+            return NOT_FOUND;
+        }
+
+        int skip;
+
+        skip = random.nextInt(openings);
+
+        for (int cell = 0; cell < cells; cell++)
+        {
+            if (game.getFieldValue(cell) == NO_MINE && skip-- == 0)
+            {
+                return cell;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+}
@@ -0,0 +1,444 @@
+package ca.bcit.comp2522.project;
+
+import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * MinesCanvas draws a Minesweeper field on a single
+ * Canvas instead of one Button per cell. Only cells
+ * inside the visible viewport are drawn, digits and
+ * markers are copied from a glyph atlas rendered once,
+ * and one set of mouse handlers hit-tests every cell.
+ * The viewport scrolls with the mouse wheel or by
+ * dragging, and zooms with Ctrl + mouse wheel.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesCanvas extends Pane
+{
+    private static final int    GLYPH_SIZE         = 64;
+    private static final int    GLYPH_FONT_SIZE    = 40;
+    private static final Font   GLYPH_FONT         = Font.font("Arial", FontWeight.BOLD, GLYPH_FONT_SIZE);
+    private static final String GLYPHS             = "12345678F?*";
+    private static final int    FLAG_GLYPH         = 8;
+    private static final int    QUESTION_GLYPH     = 9;
+    private static final int    MINE_GLYPH         = 10;
+    private static final int    FIRST_DIGIT        = 1;
+    private static final int    NO_GLYPH           = -1;
+    private static final int    NO_CELL            = -1;
+
+    private static final double DEFAULT_CELL_SIZE  = 24;
+    private static final double MIN_CELL_SIZE      = 4;
+    private static final double MAX_CELL_SIZE      = 64;
+    private static final double MIN_GLYPH_CELL     = 10;
+    private static final double CELL_GAP           = 1;
+    private static final double ZOOM_STEP          = 1.1;
+    private static final double NO_SCROLL          = 0;
+    private static final double ORIGIN             = 0;
+    private static final double HALF               = 2;
+
+    private static final int    HIDDEN_KEY         = -2;
+    private static final int    MINE_KEY           = -1;
+    private static final int    ZERO_KEY           = 0;
+
+    private static final Color  BACKGROUND         = Color.web("#808080");
+
+    private static final Map<Integer, Color> CELL_COLORS;
+
+    static
+    {
+        CELL_COLORS = new HashMap<>();
+        CELL_COLORS.put(HIDDEN_KEY, Color.web("#b3b3b3"));
+        CELL_COLORS.put(MINE_KEY, Color.web("#d9d9d9"));
+        CELL_COLORS.put(ZERO_KEY, Color.web("#d9d9d9"));
+        CELL_COLORS.put(1, Color.web("#c8ffbf"));
+        CELL_COLORS.put(2, Color.web("#edfc9f"));
+        CELL_COLORS.put(3, Color.web("#fad08c"));
+        CELL_COLORS.put(4, Color.web("#f59338"));
+        CELL_COLORS.put(5, Color.web("#ff644d"));
+        CELL_COLORS.put(6, Color.web("#ff644d"));
+        CELL_COLORS.put(7, Color.web("#ff644d"));
+        CELL_COLORS.put(8, Color.web("#ff644d"));
+    }
+
+    private final Mines           game;
+    private final Canvas          canvas;
+    private final GraphicsContext graphics;
+    private final Image           glyphAtlas;
+    private final IntConsumer     onReveal;
+    private final IntConsumer     onFlag;
+
+    private double  cellSize;
+    private double  offsetX;
+    private double  offsetY;
+    private double  dragX;
+    private double  dragY;
+    private boolean minesShown;
+
+    /**
+     * MinesCanvas constructor creates the canvas for
+     * a game and wires the mouse handlers for revealing,
+     * flagging, scrolling and zooming.
+     * @param game to draw
+     * @param onReveal called with the index of a cell left clicked
+     * @param onFlag called with the index of a cell right clicked
+     */
+    public MinesCanvas(
+        final Mines       game,
+        final IntConsumer onReveal,
+        final IntConsumer onFlag
+    ) {
+        this.game       = game;
+        this.onReveal   = onReveal;
+        this.onFlag     = onFlag;
+        this.cellSize   = DEFAULT_CELL_SIZE;
+        this.minesShown = false;
+
+        this.canvas   = new Canvas();
+        this.graphics = this.canvas.getGraphicsContext2D();
+
+        this.glyphAtlas = createGlyphAtlas();
+
+        this.canvas.widthProperty().bind(widthProperty());
+        this.canvas.heightProperty().bind(heightProperty());
+        this.canvas.widthProperty().addListener(e -> scrollTo(this.offsetX, this.offsetY));
+        this.canvas.heightProperty().addListener(e -> scrollTo(this.offsetX, this.offsetY));
+
+        getChildren().add(this.canvas);
+        setCursor(Cursor.HAND);
+
+        setOnMousePressed(this::handlePress);
+        setOnMouseDragged(this::handleDrag);
+        setOnMouseClicked(this::handleClick);
+        setOnScroll(this::handleScroll);
+    }
+
+    /**
+     * createGlyphAtlas renders every digit and marker
+     * once into a single image, cells then copy their
+     * glyph out of it instead of laying out text
+     * @return image holding each glyph side by side
+     */
+    private static Image createGlyphAtlas()
+    {
+        final Canvas             atlas;
+        final GraphicsContext    atlasGraphics;
+        final SnapshotParameters parameters;
+
+        atlas         = new Canvas(GLYPH_SIZE * GLYPHS.length(), GLYPH_SIZE);
+        atlasGraphics = atlas.getGraphicsContext2D();
+
+        atlasGraphics.setFont(GLYPH_FONT);
+        atlasGraphics.setFill(Color.BLACK);
+        atlasGraphics.setTextAlign(TextAlignment.CENTER);
+        atlasGraphics.setTextBaseline(VPos.CENTER);
+
+        for (int i = 0; i < GLYPHS.length(); i++)
+        {
+            atlasGraphics.fillText(
+                String.valueOf(GLYPHS.charAt(i)),
+                i * GLYPH_SIZE + GLYPH_SIZE / HALF,
+                GLYPH_SIZE / HALF
+            );
+        }
+
+        parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+
+        return atlas.snapshot(parameters, null);
+    }
+
+    /**
+     * refreshCell redraws a single cell, if
+     * it is inside the visible viewport
+     * @param index of cell to redraw
+     */
+    public void refreshCell(final int index)
+    {
+        final int    row;
+        final int    col;
+        final double pitch;
+        final double x;
+        final double y;
+
+        row   = index / this.game.getWidth();
+        col   = index % this.game.getWidth();
+        pitch = this.cellSize + CELL_GAP;
+        x     = col * pitch - this.offsetX;
+        y     = row * pitch - this.offsetY;
+
+        if (x + pitch < ORIGIN || y + pitch < ORIGIN ||
+            x > this.canvas.getWidth() || y > this.canvas.getHeight())
+        {
+            return;
+        }
+
+        drawCell(index, x, y);
+    }
+
+    /**
+     * showAllMines draws every mine, used for
+     * when a user wins or loses
+     */
+    public void showAllMines()
+    {
+        this.minesShown = true;
+        redraw();
+    }
+
+    /**
+     * redraw every cell inside the visible viewport
+     */
+    public void redraw()
+    {
+        final double pitch;
+        final int    firstCol;
+        final int    firstRow;
+        final int    lastCol;
+        final int    lastRow;
+
+        pitch    = this.cellSize + CELL_GAP;
+        firstCol = (int) (this.offsetX / pitch);
+        firstRow = (int) (this.offsetY / pitch);
+        lastCol  = Math.min(this.game.getWidth() - 1, (int) ((this.offsetX + this.canvas.getWidth()) / pitch));
+        lastRow  = Math.min(this.game.getHeight() - 1, (int) ((this.offsetY + this.canvas.getHeight()) / pitch));
+
+        this.graphics.setFill(BACKGROUND);
+        this.graphics.fillRect(ORIGIN, ORIGIN, this.canvas.getWidth(), this.canvas.getHeight());
+
+        for (int row = firstRow; row <= lastRow; row++)
+        {
+            for (int col = firstCol; col <= lastCol; col++)
+            {
+                drawCell(
+                    row * this.game.getWidth() + col,
+                    col * pitch - this.offsetX,
+                    row * pitch - this.offsetY
+                );
+            }
+        }
+    }
+
+    /**
+     * drawCell fills a cell with the colour of its state
+     * then copies its glyph from the atlas, if the cell
+     * is large enough for the glyph to be readable. Once
+     * mines are shown, a flagged mine draws as a mine, as
+     * it does on the button grid.
+     * @param index of cell to draw
+     * @param x of the cell on the canvas
+     * @param y of the cell on the canvas
+     */
+    private void drawCell(
+        final int    index,
+        final double x,
+        final double y
+    ) {
+        final int colorKey;
+        final int glyph;
+
+        if (this.game.isRevealed(index) || (this.minesShown && this.game.isMine(index)))
+        {
+            final int value;
+
+            value = this.game.getFieldValue(index);
+
+            colorKey = value;
+            glyph    = value == MINE_KEY ? MINE_GLYPH :
+                       value == ZERO_KEY ? NO_GLYPH :
+                                           value - FIRST_DIGIT;
+        }
+        else if (this.game.isFlagged(index))
+        {
+            colorKey = HIDDEN_KEY;
+            glyph    = FLAG_GLYPH;
+        }
+        else if (this.game.isQuestionMarked(index))
+        {
+            colorKey = HIDDEN_KEY;
+            glyph    = QUESTION_GLYPH;
+        }
+        else
+        {
+            colorKey = HIDDEN_KEY;
+            glyph    = NO_GLYPH;
+        }
+
+        this.graphics.setFill(CELL_COLORS.get(colorKey));
+        this.graphics.fillRect(x, y, this.cellSize, this.cellSize);
+
+        if (glyph == NO_GLYPH || this.cellSize < MIN_GLYPH_CELL)
+        {
+            return;
+        }
+
+        this.graphics.drawImage(
+            this.glyphAtlas,
+            glyph * GLYPH_SIZE, ORIGIN, GLYPH_SIZE, GLYPH_SIZE,
+            x, y, this.cellSize, this.cellSize
+        );
+    }
+
+    /**
+     * cellAt hit-tests a point on the canvas
+     * @param x of the point
+     * @param y of the point
+     * @return index of the cell under the point, or NO_CELL if none
+     */
+    private int cellAt(
+        final double x,
+        final double y
+    ) {
+        final double pitch;
+        final double boardX;
+        final double boardY;
+        final int    col;
+        final int    row;
+
+        pitch  = this.cellSize + CELL_GAP;
+        boardX = x + this.offsetX;
+        boardY = y + this.offsetY;
+
+        if (boardX < ORIGIN || boardY < ORIGIN ||
+            boardX % pitch >= this.cellSize || boardY % pitch >= this.cellSize)
+        {
+            return NO_CELL;
+        }
+
+        col = (int) (boardX / pitch);
+        row = (int) (boardY / pitch);
+
+        if (col >= this.game.getWidth() || row >= this.game.getHeight())
+        {
+            return NO_CELL;
+        }
+
+        return row * this.game.getWidth() + col;
+    }
+
+    /**
+     * handlePress remembers where a drag started
+     * @param e mouse press
+     */
+    private void handlePress(final MouseEvent e)
+    {
+        this.dragX = e.getX();
+        this.dragY = e.getY();
+    }
+
+    /**
+     * handleDrag scrolls the viewport with the mouse
+     * @param e mouse drag
+     */
+    private void handleDrag(final MouseEvent e)
+    {
+        scrollTo(
+            this.offsetX + this.dragX - e.getX(),
+            this.offsetY + this.dragY - e.getY()
+        );
+
+        this.dragX = e.getX();
+        this.dragY = e.getY();
+    }
+
+    /**
+     * handleClick reveals or flags the cell under the
+     * mouse, ignoring clicks that ended a drag
+     * @param e mouse click
+     */
+    private void handleClick(final MouseEvent e)
+    {
+        if (!e.isStillSincePress())
+        {
+            return;
+        }
+
+        final int index;
+
+        index = cellAt(e.getX(), e.getY());
+
+        if (index == NO_CELL)
+        {
+            return;
+        }
+
+        if (e.getButton() == MouseButton.PRIMARY)
+        {
+            this.onReveal.accept(index);
+        }
+        else if (e.getButton() == MouseButton.SECONDARY)
+        {
+            this.onFlag.accept(index);
+        }
+    }
+
+    /**
+     * handleScroll scrolls the viewport, or zooms
+     * around the mouse when Ctrl is held
+     * @param e scroll
+     */
+    private void handleScroll(final ScrollEvent e)
+    {
+        if (!e.isControlDown())
+        {
+            scrollTo(this.offsetX - e.getDeltaX(), this.offsetY - e.getDeltaY());
+            return;
+        }
+
+        final double oldPitch;
+        final double newSize;
+        final double newPitch;
+
+        oldPitch = this.cellSize + CELL_GAP;
+        newSize  = e.getDeltaY() > 0 ? this.cellSize * ZOOM_STEP : this.cellSize / ZOOM_STEP;
+
+        this.cellSize = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, newSize));
+        newPitch      = this.cellSize + CELL_GAP;
+
+        scrollTo(
+            (this.offsetX + e.getX()) / oldPitch * newPitch - e.getX(),
+            (this.offsetY + e.getY()) / oldPitch * newPitch - e.getY()
+        );
+    }
+
+    /**
+     * scrollTo moves the viewport, keeping it
+     * within the bounds of the field, then redraws
+     * @param x offset of the viewport
+     * @param y offset of the viewport
+     */
+    private void scrollTo(
+        final double x,
+        final double y
+    ) {
+        final double pitch;
+        final double maxX;
+        final double maxY;
+
+        pitch = this.cellSize + CELL_GAP;
+        maxX  = Math.max(NO_SCROLL, this.game.getWidth() * pitch - this.canvas.getWidth());
+        maxY  = Math.max(NO_SCROLL, this.game.getHeight() * pitch - this.canvas.getHeight());
+
+        this.offsetX = Math.max(NO_SCROLL, Math.min(maxX, x));
+        this.offsetY = Math.max(NO_SCROLL, Math.min(maxY, y));
+
+        redraw();
+    }
+}
@@ -0,0 +1,21 @@
+package ca.bcit.comp2522.project;
+
+/**
+ * MinesChangeListener is notified by Mines after
+ * each move with the set of cells that changed,
+ * so a view only has to redraw those cells.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface MinesChangeListener
+{
+    /**
+     * cellsChanged is called once per move that changed the board.
+     * The change set is reused by Mines, it is only valid until
+     * this method returns.
+     * @param changes made to the board by the move
+     */
+    void cellsChanged(final MinesChangeSet changes);
+}
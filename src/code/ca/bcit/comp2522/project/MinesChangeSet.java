@@ -0,0 +1,103 @@
+package ca.bcit.comp2522.project;
+
+/**
+ * MinesChangeSet describes the cells changed by
+ * a single move in Mines, the cells that were
+ * revealed, the cells whose neighboring mine count
+ * was adjusted and the cells whose flag changed.
+ * Each cell appears at most once per list.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesChangeSet
+{
+    private final IntList revealed;
+    private final IntList recounted;
+    private final IntList reflagged;
+
+    /**
+     * MinesChangeSet constructor wraps the lists
+     * Mines records its changes in.
+     * @param revealed cells of the move
+     * @param recounted cells of the move
+     * @param reflagged cells of the move
+     */
+    MinesChangeSet(
+        final IntList revealed,
+        final IntList recounted,
+        final IntList reflagged
+    ) {
+        this.revealed  = revealed;
+        this.recounted = recounted;
+        this.reflagged = reflagged;
+    }
+
+    /**
+     * getRevealedCount of cells revealed by the move
+     * @return number of revealed cells
+     */
+    public int getRevealedCount()
+    {
+        return this.revealed.size();
+    }
+
+    /**
+     * getRevealed returns the index of a revealed cell
+     * @param position of the cell, from 0 to getRevealedCount
+     * @return index of the revealed cell
+     */
+    public int getRevealed(final int position)
+    {
+        return this.revealed.get(position);
+    }
+
+    /**
+     * getRecountedCount of cells whose count was adjusted by the move
+     * @return number of recounted cells
+     */
+    public int getRecountedCount()
+    {
+        return this.recounted.size();
+    }
+
+    /**
+     * getRecounted returns the index of a recounted cell
+     * @param position of the cell, from 0 to getRecountedCount
+     * @return index of the recounted cell
+     */
+    public int getRecounted(final int position)
+    {
+        return this.recounted.get(position);
+    }
+
+    /**
+     * getReflaggedCount of cells whose flag changed in the move
+     * @return number of reflagged cells
+     */
+    public int getReflaggedCount()
+    {
+        return this.reflagged.size();
+    }
+
+    /**
+     * getReflagged returns the index of a reflagged cell
+     * @param position of the cell, from 0 to getReflaggedCount
+     * @return index of the reflagged cell
+     */
+    public int getReflagged(final int position)
+    {
+        return this.reflagged.get(position);
+    }
+
+    /**
+     * isEmpty checks if the move changed nothing
+     * @return if no cells changed
+     */
+    public boolean isEmpty()
+    {
+        return this.revealed.isEmpty() &&
+               this.recounted.isEmpty() &&
+               this.reflagged.isEmpty();
+    }
+}
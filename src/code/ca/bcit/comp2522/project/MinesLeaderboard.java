@@ -0,0 +1,473 @@
+package ca.bcit.comp2522.project;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * MinesLeaderboard keeps the fastest times of the Minesweeper
+ * score log for each difficulty and random mode, so the best
+ * time is found without reading the whole log.
+ *
+ * The leaderboard lives in a small sidecar file beside the
+ * score log and is updated on every append. The sidecar
+ * records how long the log was when it was written, if the
+ * log has since been changed by anything else, the
+ * leaderboard is rebuilt from the log once. Appends from
+ * several game processes take turns on a lock file, while
+ * reading the leaderboard never waits.
+ *
+ * Times in a bucket are kept fastest first, an equal time
+ * goes after the earlier ones, so the first entry is the
+ * same Score MinesScore.getHighScore picks from the log.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesLeaderboard
+{
+    public static final int DEFAULT_TOP_SCORES = 10;
+
+    private static final String SIDECAR_EXTENSION = ".leaderboard";
+    private static final String LOCK_EXTENSION    = ".lock";
+    private static final String TEMP_SEPARATOR    = ".";
+    private static final String TEMP_SUFFIX       = ".tmp";
+    private static final String RANDOM_KEY        = ":random";
+    private static final String CLASSIC_KEY       = ":classic";
+    private static final int    MAGIC             = 0x4D4C4244;
+    private static final int    VERSION           = 1;
+    private static final long   EMPTY_LOG         = 0;
+    private static final long   NO_SIDECAR        = -1;
+
+    private final Path                          scoreFile;
+    private final Path                          sidecarFile;
+    private final Path                          lockFile;
+    private final int                           topScores;
+    private final Map<String, List<MinesScore>> buckets;
+
+    private long indexedLength;
+
+    /**
+     * MinesLeaderboard constructor for a score log,
+     * keeping the DEFAULT_TOP_SCORES fastest times
+     * @param scoreFilePath score log the leaderboard indexes
+     */
+    public MinesLeaderboard(final String scoreFilePath)
+    {
+        this(scoreFilePath, DEFAULT_TOP_SCORES);
+    }
+
+    /**
+     * MinesLeaderboard constructor for a score log, loading
+     * the sidecar file or rebuilding it if it is stale
+     * @param scoreFilePath score log the leaderboard indexes
+     * @param topScores number of fastest times kept per bucket
+     */
+    public MinesLeaderboard(
+        final String scoreFilePath,
+        final int    topScores
+    ) {
+        if (topScores < 1)
+        {
+            throw new IllegalArgumentException("Leaderboard must keep at least one score");
+        }
+
+        this.scoreFile   = Paths.get(scoreFilePath);
+        this.sidecarFile = Paths.get(scoreFilePath + SIDECAR_EXTENSION);
+        this.lockFile    = Paths.get(scoreFilePath + SIDECAR_EXTENSION + LOCK_EXTENSION);
+        this.topScores   = topScores;
+        this.buckets     = new HashMap<>();
+
+        this.indexedLength = NO_SIDECAR;
+
+        this.refresh();
+    }
+
+    /*
+     * bucketKey of a difficulty and random mode,
+     * difficulty is matched ignoring case like MinesScore
+     * @param difficulty of the game
+     * @param randomMode of the game
+     * @return key of the bucket
+     */
+    private static String bucketKey(
+        final String  difficulty,
+        final boolean randomMode
+    ) {
+        return difficulty.toLowerCase(Locale.ROOT) + (randomMode ? RANDOM_KEY : CLASSIC_KEY);
+    }
+
+    /**
+     * append a score to the score log and add it to
+     * the leaderboard, rewriting only the sidecar file.
+     * Leaderboards of other game processes wait their turn,
+     * so each sees the scores the others appended.
+     * @param score to append
+     */
+    public void append(final MinesScore score)
+    {
+        try (final FileChannel channel = FileChannel.open(
+                 this.lockFile,
+                 StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE))
+        {
+            ScoreFileLock.writeLocked(this.lockFile, channel, () -> this.appendLocked(score));
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed to lock " + this.lockFile);
+        }
+    }
+
+    /*
+     * appendLocked appends a score holding the leaderboard
+     * lock. If the log grew by more than this score, a game
+     * not using the leaderboard also wrote to it, so the
+     * leaderboard is rebuilt to include that score too.
+     * @param score to append
+     */
+    private void appendLocked(final MinesScore score)
+    {
+        final long lengthBefore;
+        final long lengthAfter;
+        final long recordLength;
+
+        this.refresh();
+
+        lengthBefore = this.indexedLength;
+        recordLength = (score + System.lineSeparator()).getBytes(StandardCharsets.UTF_8).length;
+
+        MinesScore.appendScoreToFile(score, this.scoreFile.toString());
+
+        lengthAfter = this.logLength();
+
+        if (lengthAfter == lengthBefore)
+        {
+            // Append failed, the log and leaderboard are unchanged
+            return;
+        }
+
+        if (lengthAfter - lengthBefore != recordLength)
+        {
+            this.rebuild();
+            return;
+        }
+
+        this.insert(score);
+        this.save(lengthAfter);
+    }
+
+    /*
+     * refresh the leaderboard if the score log has changed
+     * since it was last read, from the sidecar file if another
+     * leaderboard has already caught up, otherwise from the log.
+     * Costs a single file size check when nothing has changed.
+     */
+    private void refresh()
+    {
+        if (this.logLength() == this.indexedLength)
+        {
+            return;
+        }
+
+        if (!this.load())
+        {
+            this.rebuild();
+        }
+    }
+
+    /**
+     * getHighScore for a difficulty and random mode
+     * @param difficulty of the game
+     * @param randomMode of the game
+     * @return fastest Score, or null if none were recorded
+     */
+    public MinesScore getHighScore(
+        final String  difficulty,
+        final boolean randomMode
+    ) {
+        final List<MinesScore> bucket;
+
+        this.refresh();
+
+        bucket = this.buckets.get(bucketKey(difficulty, randomMode));
+
+        return bucket == null || bucket.isEmpty() ? null : bucket.get(0);
+    }
+
+    /**
+     * isHighScore checks if a new Score beats the
+     * fastest time of its difficulty and random mode
+     * @param score to check if is high score
+     * @return if score is a new high-score
+     */
+    public boolean isHighScore(final MinesScore score)
+    {
+        final MinesScore highScore;
+
+        highScore = this.getHighScore(score.getDifficulty(), score.getRandomMode());
+
+        return (highScore == null ||
+                highScore.getSeconds() > score.getSeconds());
+    }
+
+    /**
+     * getTopScores for a difficulty and random mode
+     * @param difficulty of the game
+     * @param randomMode of the game
+     * @return fastest Scores, fastest first
+     */
+    public List<MinesScore> getTopScores(
+        final String  difficulty,
+        final boolean randomMode
+    ) {
+        final List<MinesScore> bucket;
+
+        this.refresh();
+
+        bucket = this.buckets.get(bucketKey(difficulty, randomMode));
+
+        return bucket == null ? List.of() : List.copyOf(bucket);
+    }
+
+    /*
+     * insert a score into its bucket after every score
+     * at least as fast, dropping the slowest past the limit
+     * @param score to insert
+     */
+    private void insert(final MinesScore score)
+    {
+        final List<MinesScore> bucket;
+        int                    position;
+
+        bucket   = this.buckets.computeIfAbsent(
+            bucketKey(score.getDifficulty(), score.getRandomMode()),
+            key -> new ArrayList<>()
+        );
+        position = bucket.size();
+
+        while (position > 0 && bucket.get(position - 1).getSeconds() > score.getSeconds())
+        {
+            position--;
+        }
+
+        if (position >= this.topScores)
+        {
+            return;
+        }
+
+        bucket.add(position, score);
+
+        if (bucket.size() > this.topScores)
+        {
+            bucket.remove(bucket.size() - 1);
+        }
+    }
+
+    /*
+     * rebuild the leaderboard from the whole score log
+     * and save it, the only time the log is read
+     */
+    private void rebuild()
+    {
+        final long length;
+
+        length = this.logLength();
+
+        this.buckets.clear();
+
+        if (length > EMPTY_LOG)
+        {
+            try (final Stream<MinesScore> scores = MinesScore.streamScoresFromFile(this.scoreFile.toString()))
+            {
+                scores.forEach(this::insert);
+            }
+            catch (final UncheckedIOException e)
+            {
+                System.err.println("Failed to read " + this.scoreFile);
+            }
+        }
+
+        this.save(length);
+    }
+
+    /*
+     * logLength of the score log in bytes
+     * @return length, 0 if there is no log yet
+     */
+    private long logLength()
+    {
+        try
+        {
+            return Files.exists(this.scoreFile) ? Files.size(this.scoreFile) : EMPTY_LOG;
+        }
+        catch (final IOException e)
+        {
+            return EMPTY_LOG;
+        }
+    }
+
+    /*
+     * load the sidecar file if it matches the score log
+     * @return true if loaded, false if missing, stale, or damaged
+     */
+    private boolean load()
+    {
+        if (!Files.exists(this.sidecarFile))
+        {
+            return false;
+        }
+
+        this.buckets.clear();
+
+        try (final DataInputStream in = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(this.sidecarFile))))
+        {
+            final long length;
+
+            length = this.logLength();
+
+            if (in.readInt() != MAGIC || in.readInt() != VERSION ||
+                in.readLong() != length || in.readInt() != this.topScores)
+            {
+                return false;
+            }
+
+            final int bucketCount;
+
+            bucketCount = in.readInt();
+
+            for (int i = 0; i < bucketCount; i++)
+            {
+                final String  difficulty;
+                final boolean randomMode;
+                final int     size;
+
+                difficulty = in.readUTF();
+                randomMode = in.readBoolean();
+                size       = in.readInt();
+
+                for (int j = 0; j < size; j++)
+                {
+                    final long epochSecond;
+                    final int  seconds;
+
+                    epochSecond = in.readLong();
+                    seconds     = in.readInt();
+
+                    this.insert(new MinesScore(
+                        epochSecond,
+                        seconds,
+                        difficulty,
+                        randomMode
+                    ));
+                }
+            }
+
+            this.indexedLength = length;
+
+            return true;
+        }
+        catch (final IOException | IllegalArgumentException e)
+        {
+            this.buckets.clear();
+            return false;
+        }
+    }
+
+    /*
+     * save the leaderboard to the sidecar file, written to a
+     * temporary file of its own beside it and moved into place,
+     * so leaderboards of other processes rebuilding at the same
+     * time never write over the same temporary file
+     * @param logLength of the score log the leaderboard matches
+     */
+    private void save(final long logLength)
+    {
+        Path temp;
+
+        temp = null;
+
+        this.indexedLength = logLength;
+
+        try
+        {
+            temp = Files.createTempFile(
+                this.sidecarFile.toAbsolutePath().getParent(),
+                this.sidecarFile.getFileName() + TEMP_SEPARATOR,
+                TEMP_SUFFIX
+            );
+
+            try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp))))
+            {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(logLength);
+                out.writeInt(this.topScores);
+                out.writeInt(this.buckets.size());
+
+                for (final List<MinesScore> bucket : this.buckets.values())
+                {
+                    final MinesScore first;
+
+                    first = bucket.get(0);
+
+                    out.writeUTF(first.getDifficulty());
+                    out.writeBoolean(first.getRandomMode());
+                    out.writeInt(bucket.size());
+
+                    for (final MinesScore score : bucket)
+                    {
+                        out.writeLong(score.getEpochSecond());
+                        out.writeInt(score.getSeconds());
+                    }
+                }
+            }
+
+            Files.move(temp, this.sidecarFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed to write " + this.sidecarFile);
+            deleteQuietly(temp);
+        }
+    }
+
+    /*
+     * deleteQuietly removes a temporary file left by a failed save
+     * @param temp file to remove, may be null if it was never created
+     */
+    private static void deleteQuietly(final Path temp)
+    {
+        if (temp == null)
+        {
+            return;
+        }
+
+        try
+        {
+            Files.deleteIfExists(temp);
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed to delete " + temp);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ca.bcit.comp2522.project;
+
+/**
+ * MinesPlayer is a strategy that plays Mines without a
+ * person at the board, used by MinesSimulator to play
+ * many games in a row.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface MinesPlayer
+{
+    /**
+     * chooseCell picks the next cell to reveal. The player
+     * may flag cells on the board first, the chosen cell
+     * must not be flagged.
+     * @param game being played, not yet won or lost
+     * @return index of the cell to reveal
+     */
+    int chooseCell(final Mines game);
+}
@@ -1,15 +1,17 @@
 package ca.bcit.comp2522.project;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Score manager for WordGame, writes and reads
@@ -22,14 +24,21 @@ import java.util.List;
  */
 public class MinesScore
 {
-    private static final String DATE_PATTERN      = "yyyy-MM-dd HH:mm:ss";
-    private static final int    SPLIT_VALUE       = 1;
+    private static final int    RECORD_FIELDS     = 4;
+    private static final int    DATE_FIELD        = 0;
+    private static final int    SECONDS_FIELD     = 1;
+    private static final int    DIFFICULTY_FIELD  = 2;
+    private static final int    RANDOM_MODE_FIELD = 3;
+    private static final int    SECONDS_PER_DAY   = 86_400;
+    private static final int    TEXT_CAPACITY     = 96;
 
     public static final String DIFFICULTY_EASY    = "easy";
     public static final String DIFFICULTY_MEDIUM  = "medium";
     public static final String DIFFICULTY_HARD    = "hard";
 
-    private final String  dateTimePlayed;
+    private static final String[] DIFFICULTIES = {DIFFICULTY_EASY, DIFFICULTY_MEDIUM, DIFFICULTY_HARD};
+
+    private final long    epochSecond;
     private final String  difficulty;
     private final boolean randomMode;
     private final int     seconds;
@@ -53,7 +62,9 @@ public class MinesScore
     /**
      * appendScoreToFile takes in a Score object
      * and filepath, appends Score values to file
-     * accordingly.
+     * accordingly. The write is batched with other
+     * appends by the shared ScoreWriter of the file,
+     * this returns once the Score is committed.
      * @param score to append to filepath
      * @param scoreFilePath filepath to append Score to
      */
@@ -63,16 +74,11 @@ public class MinesScore
     ) {
         try
         {
-            final BufferedWriter writer;
-
-            writer = new BufferedWriter(new FileWriter(scoreFilePath, true));
-
-            writer.write(score.toString());
-            writer.newLine();
-
-            writer.close();
+            ScoreWriter.forFile(scoreFilePath)
+                       .append(score.toString() + System.lineSeparator())
+                       .join();
         }
-        catch (final IOException e)
+        catch (final CompletionException e)
         {
             System.err.println("Failed to write " + scoreFilePath);
         }
@@ -86,57 +92,72 @@ public class MinesScore
      */
     public static List<MinesScore> readScoresFromFile(final String scoreFilePath)
     {
-        final List<MinesScore> scores;
-
-        scores = new ArrayList<>();
+        try (final Stream<MinesScore> scores = streamScoresFromFile(scoreFilePath))
+        {
+            return scores.collect(Collectors.toCollection(ArrayList::new));
+        }
+        catch (final UncheckedIOException e)
+        {
+            System.err.println("Failed to read score log file.");
+            return new ArrayList<>();
+        }
+    }
 
+    /**
+     * streamScoresFromFile reads Scores from the given
+     * filepath one at a time as the stream is consumed.
+     * Call parallel on the stream to split the file
+     * across cores, the stream must be closed to close
+     * the file.
+     * @param scoreFilePath to read scores from
+     * @return ordered stream of Scores, empty if the file cannot be opened
+     */
+    public static Stream<MinesScore> streamScoresFromFile(final String scoreFilePath)
+    {
         try
         {
-            final BufferedReader reader;
-
-            reader = new BufferedReader(new FileReader(scoreFilePath));
-
-            String line;
-            while ((line = reader.readLine()) != null)
-            {
-
-                if (!line.isBlank() && line.contains("Date and Time: "))
-                {
-                    final DateTimeFormatter formatter;
-                    final String            dateTime;
-                    final MinesScore        score;
-                    final String            seconds;
-                    final String            difficulty;
-                    final String            randomMode;
-
-                    formatter = DateTimeFormatter.ofPattern(DATE_PATTERN);
-
-                    dateTime   = line.split(": ")[SPLIT_VALUE];
-                    seconds    = reader.readLine().split(": ")[SPLIT_VALUE];
-                    difficulty = reader.readLine().split(": ")[SPLIT_VALUE];
-                    randomMode = reader.readLine().split(": ")[SPLIT_VALUE];
-
-                    reader.readLine(); // Skip over score line
-
-                    score = new MinesScore(
-                            LocalDateTime.parse(dateTime, formatter),
-                            Integer.parseInt(seconds),
-                            difficulty,
-                            Boolean.parseBoolean(randomMode)
-                    );
-
-                    scores.add(score);
-                }
-            }
-
-            reader.close();
+            return ScoreLogSpliterator.stream(scoreFilePath, RECORD_FIELDS, MinesScore::parseRecord);
         }
         catch (final IOException e)
         {
             System.err.println("Failed to open score log file.");
+            return Stream.empty();
+        }
+    }
+
+    /*
+     * parseRecord builds a Score from the values of a score log record
+     * @param fields date, seconds, difficulty, and random mode values
+     * @return parsed Score
+     */
+    private static MinesScore parseRecord(final String[] fields)
+    {
+        return new MinesScore(
+            DateTimes.parseEpochSecond(fields[DATE_FIELD]),
+            Integer.parseInt(fields[SECONDS_FIELD]),
+            canonicalDifficulty(fields[DIFFICULTY_FIELD]),
+            Boolean.parseBoolean(fields[RANDOM_MODE_FIELD])
+        );
+    }
+
+    /*
+     * canonicalDifficulty swaps a difficulty read from a log
+     * for the matching constant, so a long history holds three
+     * shared strings instead of one per Score
+     * @param difficulty as read from the log
+     * @return matching constant, or difficulty if it differs in case
+     */
+    private static String canonicalDifficulty(final String difficulty)
+    {
+        for (final String known : DIFFICULTIES)
+        {
+            if (known.equals(difficulty))
+            {
+                return known;
+            }
         }
 
-        return scores;
+        return difficulty;
     }
 
     /**
@@ -149,13 +170,64 @@ public class MinesScore
         final String           difficulty,
         final boolean          randomMode
     ) {
-        return scores.stream()
+        return getHighScore(scores.stream(), difficulty, randomMode);
+    }
+
+    /**
+     * getHighScore from a stream of Scores, holding
+     * only the best Score so far in memory
+     * @param scores stream to find high-score from
+     * @param difficulty of the games to compare
+     * @param randomMode of the games to compare
+     * @return high Score from the stream, or null if none match
+     */
+    public static MinesScore getHighScore(
+        final Stream<MinesScore> scores,
+        final String             difficulty,
+        final boolean            randomMode
+    ) {
+        return scores
                 .filter(s -> s.getDifficulty().equalsIgnoreCase(difficulty))
                 .filter(s -> s.getRandomMode() == randomMode)
                 .min(Comparator.comparingInt(MinesScore::getSeconds))
                 .orElse(null);
     }
 
+    /**
+     * calculateAverageSeconds to win over a stream of Scores
+     * @param scores stream to average
+     * @param difficulty of the games to average
+     * @param randomMode of the games to average
+     * @return average seconds per win, 0 if none match
+     */
+    public static double calculateAverageSeconds(
+        final Stream<MinesScore> scores,
+        final String             difficulty,
+        final boolean            randomMode
+    ) {
+        return scores
+                .filter(s -> s.getDifficulty().equalsIgnoreCase(difficulty))
+                .filter(s -> s.getRandomMode() == randomMode)
+                .mapToInt(MinesScore::getSeconds)
+                .average()
+                .orElse(0);
+    }
+
+    /**
+     * countByDay counts the Scores recorded on each day,
+     * holding one count per day rather than every Score
+     * @param scores stream to count
+     * @return number of Scores per day, oldest day first
+     */
+    public static SortedMap<LocalDate, Long> countByDay(final Stream<MinesScore> scores)
+    {
+        return scores.collect(Collectors.groupingBy(
+            score -> LocalDate.ofEpochDay(Math.floorDiv(score.getEpochSecond(), SECONDS_PER_DAY)),
+            TreeMap::new,
+            Collectors.counting()
+        ));
+    }
+
     /**
      * isHighScore takes a List of Scores and
      * new Score to check if the new Score is
@@ -196,13 +268,26 @@ public class MinesScore
         final String        difficulty,
         final boolean       randomMode
     ) {
-        validateDifficulty(difficulty);
-
-        final DateTimeFormatter formatter;
+        this(DateTimes.toEpochSecond(dateTime), seconds, difficulty, randomMode);
+    }
 
-        formatter = DateTimeFormatter.ofPattern(DATE_PATTERN);
+    /**
+     * Score constructor for a date already counted in
+     * epoch seconds, as read back from a score file
+     * @param epochSecond the score was recorded, see DateTimes
+     * @param seconds is the number seconds for that round
+     * @param difficulty the game was played in
+     * @param randomMode was on or off
+     */
+    MinesScore(
+        final long    epochSecond,
+        final int     seconds,
+        final String  difficulty,
+        final boolean randomMode
+    ) {
+        validateDifficulty(difficulty);
 
-        this.dateTimePlayed = dateTime.format(formatter);
+        this.epochSecond = epochSecond;
 
         this.seconds    = seconds;
         this.difficulty = difficulty;
@@ -210,12 +295,30 @@ public class MinesScore
     }
 
     /**
-     * getDateTimePlayed of Score
+     * getDateTimePlayed of Score, formatted when asked
      * @return dateTimePlayed as a String
      */
     public String getDateTimePlayed()
     {
-        return this.dateTimePlayed;
+        return DateTimes.format(this.epochSecond);
+    }
+
+    /**
+     * getDateTime the Score was recorded, to the second
+     * @return dateTime of the Score
+     */
+    LocalDateTime getDateTime()
+    {
+        return DateTimes.toLocalDateTime(this.epochSecond);
+    }
+
+    /**
+     * getEpochSecond the Score was recorded
+     * @return seconds since 1970-01-01 00:00:00, see DateTimes
+     */
+    long getEpochSecond()
+    {
+        return this.epochSecond;
     }
 
     /**
@@ -228,10 +331,10 @@ public class MinesScore
     {
         final StringBuilder log;
 
-        log = new StringBuilder();
+        log = new StringBuilder(TEXT_CAPACITY);
 
         log.append("Date and Time: ");
-        log.append(this.dateTimePlayed);
+        DateTimes.appendTo(log, this.epochSecond);
         log.append("\n");
         log.append("Seconds: ");
         log.append(this.seconds);
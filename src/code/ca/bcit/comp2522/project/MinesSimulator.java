@@ -0,0 +1,337 @@
+package ca.bcit.comp2522.project;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * MinesSimulator plays Mines headless, with no MinesUI,
+ * so the engine can be driven as a repeatable load.
+ *
+ * A run plays a number of games on one board size with a
+ * MinesPlayer choosing every cell, following the same move
+ * loop as MinesUI: reveal, then randomize the remaining
+ * mines in random mode, until a mine is hit or the board
+ * is cleared. Every board seed is drawn from one seed, so
+ * a run with the same seed and player plays the same games.
+ *
+ * The Report of a run gives games and reveals per second,
+ * and the bytes allocated per second by the thread running
+ * it when the JVM can measure them, to size the engine
+ * and catch regressions in reveal and randomizeRemaining.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesSimulator
+{
+    private static final long   NOT_MEASURED     = -1;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final int    MIN_GAMES        = 1;
+    private static final double BYTES_PER_MB     = 1 << 20;
+
+    private static final int    DEFAULT_WIDTH    = 36;
+    private static final int    DEFAULT_HEIGHT   = 16;
+    private static final int    DEFAULT_MINES    = 99;
+    private static final int    DEFAULT_GAMES    = 100_000;
+    private static final int    WARMUP_DIVISOR   = 10;
+
+    private static final int    WIDTH_ARG        = 0;
+    private static final int    HEIGHT_ARG       = 1;
+    private static final int    MINES_ARG        = 2;
+    private static final int    GAMES_ARG        = 3;
+    private static final int    RANDOM_MODE_ARG  = 4;
+    private static final int    SEED_ARG         = 5;
+    private static final int    PLAYER_ARG       = 6;
+    private static final String SOLVER_PLAYER    = "solver";
+
+    private final int     width;
+    private final int     height;
+    private final int     mines;
+    private final boolean randomMode;
+
+    /**
+     * Report of a simulation run
+     * @param games played
+     * @param wins among the games played
+     * @param reveals made by the player, one per move
+     * @param elapsedNanos taken by the run
+     * @param allocatedBytes by the thread running it, or -1 if not measured
+     */
+    public record Report(
+        int  games,
+        int  wins,
+        long reveals,
+        long elapsedNanos,
+        long allocatedBytes
+    ) {
+        /**
+         * gamesPerSecond played by the run
+         * @return games per second
+         */
+        public double gamesPerSecond()
+        {
+            return this.games * NANOS_PER_SECOND / Math.max(1, this.elapsedNanos);
+        }
+
+        /**
+         * revealsPerSecond made by the run
+         * @return reveals per second
+         */
+        public double revealsPerSecond()
+        {
+            return this.reveals * NANOS_PER_SECOND / Math.max(1, this.elapsedNanos);
+        }
+
+        /**
+         * allocationRate of the thread running the run
+         * @return bytes allocated per second, or -1 if not measured
+         */
+        public double allocationRate()
+        {
+            if (this.allocatedBytes == NOT_MEASURED)
+            {
+                return NOT_MEASURED;
+            }
+
+            return this.allocatedBytes * NANOS_PER_SECOND / Math.max(1, this.elapsedNanos);
+        }
+
+        /**
+         * toString summarizes the run on one line
+         * @return formatted report
+         */
+        @Override
+        public String toString()
+        {
+            return String.format(
+                "%d games, %d wins, %d reveals in %.3f s: %.0f games/s, %.0f reveals/s, %s",
+                this.games,
+                this.wins,
+                this.reveals,
+                this.elapsedNanos / NANOS_PER_SECOND,
+                this.gamesPerSecond(),
+                this.revealsPerSecond(),
+                this.allocatedBytes == NOT_MEASURED ?
+                    "allocation not measured" :
+                    String.format("%.1f MB/s allocated", this.allocationRate() / BYTES_PER_MB)
+            );
+        }
+    }
+
+    /**
+     * MinesSimulator constructor for one board size
+     * @param width of minefield
+     * @param height of minefield
+     * @param mines to place in minefield
+     * @param randomMode to randomize the field after every reveal
+     */
+    public MinesSimulator(
+        final int     width,
+        final int     height,
+        final int     mines,
+        final boolean randomMode
+    ) {
+        Mines.validateDimensions(width, height, mines);
+
+        this.width      = width;
+        this.height     = height;
+        this.mines      = mines;
+        this.randomMode = randomMode;
+    }
+
+    /**
+     * withDensity builds a simulator with a share of cells as mines
+     * @param width of minefield
+     * @param height of minefield
+     * @param density of mines, from 0 to 1
+     * @param randomMode to randomize the field after every reveal
+     * @return simulator for the board size
+     */
+    public static MinesSimulator withDensity(
+        final int     width,
+        final int     height,
+        final double  density,
+        final boolean randomMode
+    ) {
+        if (density < 0 || density > 1)
+        {
+            throw new IllegalArgumentException("Density must be from 0 to 1");
+        }
+
+        return new MinesSimulator(width, height, (int) Math.round((long) width * height * density), randomMode);
+    }
+
+    /**
+     * run plays a number of games with a player
+     * @param games to play
+     * @param player choosing every cell
+     * @param seed the board seeds are drawn from
+     * @return report of the run
+     * @throws IllegalStateException if the player picks a flagged cell
+     */
+    public Report run(
+        final int         games,
+        final MinesPlayer player,
+        final long        seed
+    ) {
+        if (games < MIN_GAMES)
+        {
+            throw new IllegalArgumentException("At least one game must be played");
+        }
+
+        final SeededRandom boardSeeds;
+        final long         allocatedBefore;
+        final long         startNanos;
+        int                wins;
+        long               reveals;
+
+        boardSeeds      = new SeededRandom(seed);
+        wins            = 0;
+        reveals         = 0;
+        allocatedBefore = allocatedBytes();
+        startNanos      = System.nanoTime();
+
+        for (int game = 0; game < games; game++)
+        {
+            final Mines board;
+            boolean     over;
+
+            board = new Mines(this.width, this.height, this.mines, this.randomMode, boardSeeds.nextLong());
+            over  = board.hasWon();
+
+            if (over)
+            {
+                // A board with no safe cells is won before any move
+                wins++;
+            }
+
+            while (!over)
+            {
+                reveals++;
+
+                if (this.play(board, player.chooseCell(board)))
+                {
+                    over = true;
+                }
+                else if (board.hasWon())
+                {
+                    wins++;
+                    over = true;
+                }
+            }
+        }
+
+        final long elapsedNanos;
+        final long allocatedAfter;
+
+        elapsedNanos   = System.nanoTime() - startNanos;
+        allocatedAfter = allocatedBytes();
+
+        return new Report(
+            games,
+            wins,
+            reveals,
+            elapsedNanos,
+            allocatedBefore == NOT_MEASURED ? NOT_MEASURED : allocatedAfter - allocatedBefore
+        );
+    }
+
+    /*
+     * play one move as MinesUI does, randomizing the
+     * field after a safe reveal in random mode
+     * @param board being played
+     * @param cell chosen by the player
+     * @return true if the cell was a mine
+     */
+    private boolean play(
+        final Mines board,
+        final int   cell
+    ) {
+        final boolean hitMine;
+
+        try
+        {
+            hitMine = board.reveal(cell);
+        }
+        catch (final InvalidMoveException e)
+        {
+            throw new IllegalStateException("Player chose flagged cell " + cell, e);
+        }
+
+        if (!hitMine && this.randomMode)
+        {
+            board.randomizeRemaining();
+        }
+
+        return hitMine;
+    }
+
+    /*
+     * allocatedBytes by the current thread so far, using
+     * the HotSpot extension of ThreadMXBean when it is there
+     * @return bytes allocated, or -1 if it cannot be measured
+     */
+    private static long allocatedBytes()
+    {
+        final ThreadMXBean threads;
+
+        threads = ManagementFactory.getThreadMXBean();
+
+        if (threads instanceof com.sun.management.ThreadMXBean hotSpot &&
+            hotSpot.isThreadAllocatedMemorySupported() &&
+            hotSpot.isThreadAllocatedMemoryEnabled())
+        {
+            return hotSpot.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return NOT_MEASURED;
+    }
+
+    /**
+     * main runs a simulation from the command line, a tenth
+     * of the games are played first to warm up the JVM
+     *
+     * @param args optional: width height mines games randomMode seed player,
+     *             defaults to hard, 100000 games, classic mode, and a
+     *             random player, "solver" plays with a MinesSolver
+     */
+    public static void main(final String[] args)
+    {
+        final int            width;
+        final int            height;
+        final int            mines;
+        final int            games;
+        final boolean        randomMode;
+        final SeededRandom   random;
+        final MinesSimulator simulator;
+        final boolean        solver;
+
+        width      = args.length > WIDTH_ARG ? Integer.parseInt(args[WIDTH_ARG]) : DEFAULT_WIDTH;
+        height     = args.length > HEIGHT_ARG ? Integer.parseInt(args[HEIGHT_ARG]) : DEFAULT_HEIGHT;
+        mines      = args.length > MINES_ARG ? Integer.parseInt(args[MINES_ARG]) : DEFAULT_MINES;
+        games      = args.length > GAMES_ARG ? Integer.parseInt(args[GAMES_ARG]) : DEFAULT_GAMES;
+        randomMode = args.length > RANDOM_MODE_ARG && Boolean.parseBoolean(args[RANDOM_MODE_ARG]);
+        random     = SeededRandom.fromSeedText(args.length > SEED_ARG ? args[SEED_ARG] : null);
+        simulator  = new MinesSimulator(width, height, mines, randomMode);
+        solver     = args.length > PLAYER_ARG && SOLVER_PLAYER.equals(args[PLAYER_ARG]);
+
+        System.out.println("Seed: " + random.getSeed());
+
+        simulator.run(Math.max(MIN_GAMES, games / WARMUP_DIVISOR), player(solver, random), random.nextLong());
+
+        System.out.println(simulator.run(games, player(solver, random), random.nextLong()));
+    }
+
+    /*
+     * player for a run from the command line
+     * @param solver to play with a MinesSolver
+     * @param random service a random player draws from
+     * @return player of the run
+     */
+    private static MinesPlayer player(
+        final boolean      solver,
+        final SeededRandom random
+    ) {
+        return solver ? new MinesSolver() : new RandomMinesPlayer(random.split());
+    }
+}
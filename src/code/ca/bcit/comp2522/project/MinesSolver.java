@@ -0,0 +1,1220 @@
+package ca.bcit.comp2522.project;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * MinesSolver deduces the safe cells and mines of a Mines
+ * game from what a player can see: which cells are revealed
+ * and the numbers shown on them. Flags are never trusted,
+ * a flagged cell is a hidden cell like any other.
+ *
+ * Each revealed number with hidden neighbors is a constraint,
+ * its hidden neighbors hold exactly the number less the mines
+ * already known around it. The constraints are propagated
+ * first: a constraint that needs no more mines clears its
+ * cells, one that needs all of them mines them, and two
+ * overlapping constraints settle the cells outside their
+ * overlap when their counts leave no choice, the subset rule
+ * being the case where one holds the other. Only the cells
+ * that are still unknown are then enumerated exactly, one
+ * independent component of the frontier at a time, and the
+ * components are combined with the cells off the frontier
+ * through the total mine count to give the chance each
+ * hidden cell is a mine. A component too large to enumerate
+ * within a fixed budget is counted with the cells off the
+ * frontier instead, and the solve is then no longer exact.
+ *
+ * A solver keeps its buffers between calls, so a move on an
+ * expert board takes microseconds, and is meant to be used
+ * by one thread at a time.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesSolver
+    implements MinesPlayer
+{
+    private static final byte UNKNOWN       = 0;
+    private static final byte REVEALED      = 1;
+    private static final byte SAFE          = 2;
+    private static final byte MINE          = 3;
+
+    private static final int  MINE_VALUE    = -1;
+    private static final int  NO_MINE       = 0;
+    private static final int  NOT_FOUND     = -1;
+    private static final int  NO_COMPONENT  = -1;
+    private static final int  OFF_FRONTIER  = Integer.MAX_VALUE;
+    private static final int  MAX_NEIGHBORS = 8;
+    private static final int  MAX_PAIRS     = MAX_NEIGHBORS * MAX_NEIGHBORS;
+    private static final long MAX_NODES     = 1 << 20;
+
+    private final int[]   unknownA;
+    private final int[]   unknownB;
+    private final int[]   onlyA;
+    private final int[]   onlyB;
+    private final int[]   around;
+    private final int[]   scratch;
+    private final int[]   pairs;
+    private final IntList queue;
+    private final BitSet  queued;
+    private final IntList safeCells;
+    private final IntList componentCells;
+    private final IntList componentConstraints;
+
+    private int      width;
+    private int      height;
+    private int      totalCells;
+    private int      totalMines;
+    private int      knownMines;
+    private boolean  exact;
+    private byte[]   states;
+    private byte[]   values;
+    private double[] probabilities;
+    private int[]    componentOf;
+    private int[]    localIndex;
+    private double[] logFactorials;
+
+    /*
+     * Component of the frontier, the unknown cells linked
+     * by shared constraints, with every way to mine it
+     * counted by the number of mines used
+     */
+    private static final class Component
+    {
+        private final int[]    cells;
+        private final int[]    need;
+        private final int[]    open;
+        private final int[]    cellConstraints;
+        private final int[]    cellConstraintCounts;
+        private final int[]    mineStack;
+        private final double[] solutions;
+        private final double[] cellMines;
+
+        private long nodes;
+
+        /*
+         * Component constructor
+         * @param cells of the component, as board indexes
+         * @param constraints of the component, as board indexes of revealed numbers
+         * @param solver holding the board being solved
+         */
+        private Component(
+            final int[]       cells,
+            final int[]       constraints,
+            final MinesSolver solver
+        ) {
+            this.cells                = cells;
+            this.need                 = new int[constraints.length];
+            this.open                 = new int[constraints.length];
+            this.cellConstraints      = new int[cells.length * MAX_NEIGHBORS];
+            this.cellConstraintCounts = new int[cells.length];
+            this.mineStack            = new int[cells.length];
+            this.solutions            = new double[cells.length + 1];
+            this.cellMines            = new double[cells.length * (cells.length + 1)];
+
+            for (int i = 0; i < cells.length; i++)
+            {
+                solver.localIndex[cells[i]] = i;
+            }
+
+            for (int c = 0; c < constraints.length; c++)
+            {
+                final int count;
+
+                count        = solver.collectUnknown(constraints[c], solver.unknownA);
+                this.need[c] = solver.need(constraints[c]);
+                this.open[c] = count;
+
+                for (int j = 0; j < count; j++)
+                {
+                    final int local;
+
+                    local = solver.localIndex[solver.unknownA[j]];
+
+                    this.cellConstraints[local * MAX_NEIGHBORS + this.cellConstraintCounts[local]++] = c;
+                }
+            }
+        }
+
+        /*
+         * search assigns the cells in order, counting every
+         * assignment that meets all the constraints
+         * @param depth cell to assign next
+         * @param mines assigned so far
+         * @return false if the node budget ran out
+         */
+        private boolean search(
+            final int depth,
+            final int mines
+        ) {
+            if (++this.nodes > MAX_NODES)
+            {
+                return false;
+            }
+
+            if (depth == this.cells.length)
+            {
+                this.solutions[mines]++;
+
+                for (int i = 0; i < mines; i++)
+                {
+                    this.cellMines[this.mineStack[i] * this.solutions.length + mines]++;
+                }
+
+                return true;
+            }
+
+            for (int mine = 0; mine <= 1; mine++)
+            {
+                final boolean valid;
+                boolean       finished;
+
+                valid    = this.assign(depth, mine);
+                finished = true;
+
+                if (valid)
+                {
+                    if (mine == 1)
+                    {
+                        this.mineStack[mines] = depth;
+                    }
+
+                    finished = this.search(depth + 1, mines + mine);
+                }
+
+                this.unassign(depth, mine);
+
+                if (!finished)
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /*
+         * assign a cell, updating its constraints
+         * @param cell local index of the cell
+         * @param mine 1 for a mine, 0 for a safe cell
+         * @return true if every constraint of the cell can still be met
+         */
+        private boolean assign(
+            final int cell,
+            final int mine
+        ) {
+            boolean valid;
+
+            valid = true;
+
+            for (int j = 0; j < this.cellConstraintCounts[cell]; j++)
+            {
+                final int c;
+
+                c = this.cellConstraints[cell * MAX_NEIGHBORS + j];
+
+                this.open[c]--;
+                this.need[c] -= mine;
+
+                if (this.need[c] < 0 || this.need[c] > this.open[c])
+                {
+                    valid = false;
+                }
+            }
+
+            return valid;
+        }
+
+        /*
+         * unassign a cell, restoring its constraints
+         * @param cell local index of the cell
+         * @param mine 1 for a mine, 0 for a safe cell
+         */
+        private void unassign(
+            final int cell,
+            final int mine
+        ) {
+            for (int j = 0; j < this.cellConstraintCounts[cell]; j++)
+            {
+                final int c;
+
+                c = this.cellConstraints[cell * MAX_NEIGHBORS + j];
+
+                this.open[c]++;
+                this.need[c] += mine;
+            }
+        }
+    }
+
+    /**
+     * MinesSolver constructor, buffers are sized
+     * on the first board solved
+     */
+    public MinesSolver()
+    {
+        this.unknownA             = new int[MAX_NEIGHBORS];
+        this.unknownB             = new int[MAX_NEIGHBORS];
+        this.onlyA                = new int[MAX_NEIGHBORS];
+        this.onlyB                = new int[MAX_NEIGHBORS];
+        this.around               = new int[MAX_NEIGHBORS];
+        this.scratch              = new int[MAX_NEIGHBORS];
+        this.pairs                = new int[MAX_PAIRS];
+        this.queue                = new IntList();
+        this.queued               = new BitSet();
+        this.safeCells            = new IntList();
+        this.componentCells       = new IntList();
+        this.componentConstraints = new IntList();
+    }
+
+    /**
+     * solve the current view of a game, the results are
+     * read back with isSafe, isKnownMine, getMineProbability,
+     * getSafeCell and getBestGuess until the next solve
+     * @param game to solve
+     */
+    public void solve(final Mines game)
+    {
+        this.prepare(game);
+
+        for (int cell = 0; cell < this.totalCells; cell++)
+        {
+            if (!game.isRevealed(cell))
+            {
+                this.states[cell] = UNKNOWN;
+                continue;
+            }
+
+            final int value;
+
+            value = game.getFieldValue(cell);
+
+            this.states[cell] = value == MINE_VALUE ? MINE : REVEALED;
+            this.values[cell] = (byte) Math.max(NO_MINE, value);
+
+            if (value == MINE_VALUE)
+            {
+                this.knownMines++;
+            }
+            else if (value > NO_MINE)
+            {
+                this.enqueue(cell);
+            }
+        }
+
+        this.propagate();
+        this.enumerate();
+
+        for (int cell = 0; cell < this.totalCells; cell++)
+        {
+            if (this.states[cell] == SAFE)
+            {
+                this.safeCells.add(cell);
+            }
+        }
+    }
+
+    /*
+     * prepare the buffers for a board, reallocating
+     * them only when its size changes
+     * @param game to solve
+     */
+    private void prepare(final Mines game)
+    {
+        final int cells;
+
+        cells = game.getWidth() * game.getHeight();
+
+        if (this.states == null || cells != this.totalCells)
+        {
+            this.states        = new byte[cells];
+            this.values        = new byte[cells];
+            this.probabilities = new double[cells];
+            this.componentOf   = new int[cells];
+            this.localIndex    = new int[cells];
+            this.logFactorials = new double[cells + 1];
+
+            for (int i = 1; i <= cells; i++)
+            {
+                this.logFactorials[i] = this.logFactorials[i - 1] + Math.log(i);
+            }
+        }
+
+        this.width      = game.getWidth();
+        this.height     = game.getHeight();
+        this.totalCells = cells;
+        this.totalMines = game.getTotalMines();
+        this.knownMines = NO_MINE;
+        this.exact      = true;
+
+        Arrays.fill(this.values, (byte) NO_MINE);
+        Arrays.fill(this.probabilities, 0);
+        this.queue.clear();
+        this.queued.clear();
+        this.safeCells.clear();
+    }
+
+    /*
+     * propagate the constraints until none of them
+     * settles another cell
+     */
+    private void propagate()
+    {
+        for (int head = 0; head < this.queue.size(); head++)
+        {
+            final int constraint;
+
+            constraint = this.queue.get(head);
+            this.queued.clear(constraint);
+
+            this.examine(constraint);
+        }
+
+        this.queue.clear();
+    }
+
+    /*
+     * examine a constraint alone, then against every
+     * constraint sharing one of its unknown cells
+     * @param constraint board index of a revealed number
+     */
+    private void examine(final int constraint)
+    {
+        final int count;
+        final int need;
+
+        count = this.collectUnknown(constraint, this.unknownA);
+        need  = this.need(constraint);
+
+        if (count == 0)
+        {
+            return;
+        }
+
+        if (need == 0)
+        {
+            this.decide(this.unknownA, count, SAFE);
+            return;
+        }
+
+        if (need == count)
+        {
+            this.decide(this.unknownA, count, MINE);
+            return;
+        }
+
+        int pairCount;
+
+        pairCount = 0;
+
+        for (int i = 0; i < count; i++)
+        {
+            final int neighborCount;
+
+            neighborCount = this.neighbors(this.unknownA[i], this.around);
+
+            for (int j = 0; j < neighborCount; j++)
+            {
+                final int other;
+
+                other = this.around[j];
+
+                if (other == constraint ||
+                    this.states[other] != REVEALED ||
+                    this.values[other] == NO_MINE ||
+                    contains(this.pairs, pairCount, other))
+                {
+                    continue;
+                }
+
+                this.pairs[pairCount++] = other;
+
+                if (this.examinePair(count, need, other))
+                {
+                    // Examined again with the cells it lost, against every other constraint
+                    this.enqueue(constraint);
+                    return;
+                }
+            }
+        }
+    }
+
+    /*
+     * examinePair settles the cells outside the overlap of
+     * two constraints when their counts leave no choice
+     * @param countA unknown cells of the first constraint, held in unknownA
+     * @param needA mines the first constraint still needs
+     * @param other board index of the second constraint
+     * @return true if a cell was settled
+     */
+    private boolean examinePair(
+        final int countA,
+        final int needA,
+        final int other
+    ) {
+        final int countB;
+        final int needB;
+        int       onlyACount;
+        int       onlyBCount;
+
+        countB     = this.collectUnknown(other, this.unknownB);
+        needB      = this.need(other);
+        onlyACount = 0;
+        onlyBCount = 0;
+
+        for (int i = 0; i < countA; i++)
+        {
+            if (!contains(this.unknownB, countB, this.unknownA[i]))
+            {
+                this.onlyA[onlyACount++] = this.unknownA[i];
+            }
+        }
+
+        for (int i = 0; i < countB; i++)
+        {
+            if (!contains(this.unknownA, countA, this.unknownB[i]))
+            {
+                this.onlyB[onlyBCount++] = this.unknownB[i];
+            }
+        }
+
+        // The overlap holds at most needA mines, so the rest of B holds at least needB - needA
+        if (onlyBCount > 0 && needB - needA == onlyBCount)
+        {
+            this.decide(this.onlyB, onlyBCount, MINE);
+            this.decide(this.onlyA, onlyACount, SAFE);
+            return true;
+        }
+
+        if (onlyACount > 0 && needA - needB == onlyACount)
+        {
+            this.decide(this.onlyA, onlyACount, MINE);
+            this.decide(this.onlyB, onlyBCount, SAFE);
+            return true;
+        }
+
+        // One holds the other, the rest of the larger needs the difference
+        if (needA == needB && (onlyACount == 0) != (onlyBCount == 0))
+        {
+            this.decide(this.onlyA, onlyACount, SAFE);
+            this.decide(this.onlyB, onlyBCount, SAFE);
+            return true;
+        }
+
+        return false;
+    }
+
+    /*
+     * decide settles cells, queuing the constraints around them
+     * @param cells to settle
+     * @param count of cells
+     * @param state SAFE or MINE
+     */
+    private void decide(
+        final int[] cells,
+        final int   count,
+        final byte  state
+    ) {
+        for (int i = 0; i < count; i++)
+        {
+            final int cell;
+
+            cell = cells[i];
+
+            if (this.states[cell] != UNKNOWN)
+            {
+                continue;
+            }
+
+            this.states[cell] = state;
+
+            if (state == MINE)
+            {
+                this.knownMines++;
+            }
+
+            final int neighborCount;
+
+            neighborCount = this.neighbors(cell, this.around);
+
+            for (int j = 0; j < neighborCount; j++)
+            {
+                if (this.states[this.around[j]] == REVEALED && this.values[this.around[j]] > NO_MINE)
+                {
+                    this.enqueue(this.around[j]);
+                }
+            }
+        }
+    }
+
+    /*
+     * enumerate every component of the frontier left unknown,
+     * then combine them through the total mine count
+     */
+    private void enumerate()
+    {
+        final List<Component> components;
+        int                   offFrontier;
+
+        components  = new ArrayList<>();
+        offFrontier = 0;
+
+        Arrays.fill(this.componentOf, NO_COMPONENT);
+
+        for (int cell = 0; cell < this.totalCells; cell++)
+        {
+            if (this.states[cell] != UNKNOWN || this.componentOf[cell] != NO_COMPONENT)
+            {
+                continue;
+            }
+
+            if (!this.collectComponent(cell, components.size()))
+            {
+                this.componentOf[cell] = OFF_FRONTIER;
+                offFrontier++;
+                continue;
+            }
+
+            final Component component;
+
+            component = new Component(
+                this.componentCells.toArray(),
+                this.componentConstraints.toArray(),
+                this
+            );
+
+            if (component.search(0, 0))
+            {
+                components.add(component);
+            }
+            else
+            {
+                // Too large to enumerate, counted with the cells off the frontier
+                this.exact   = false;
+                offFrontier += component.cells.length;
+
+                for (final int member : component.cells)
+                {
+                    this.componentOf[member] = OFF_FRONTIER;
+                }
+            }
+        }
+
+        this.combine(components, offFrontier);
+    }
+
+    /*
+     * collectComponent gathers the unknown cells linked to a
+     * cell through shared constraints, and those constraints
+     * @param start unknown cell
+     * @param id of the component
+     * @return false if the cell touches no revealed number
+     */
+    private boolean collectComponent(
+        final int start,
+        final int id
+    ) {
+        this.componentCells.clear();
+        this.componentConstraints.clear();
+
+        if (!this.isFrontier(start))
+        {
+            return false;
+        }
+
+        this.componentCells.add(start);
+        this.componentOf[start] = id;
+
+        for (int head = 0; head < this.componentCells.size(); head++)
+        {
+            final int neighborCount;
+
+            neighborCount = this.neighbors(this.componentCells.get(head), this.around);
+
+            for (int j = 0; j < neighborCount; j++)
+            {
+                final int constraint;
+
+                constraint = this.around[j];
+
+                if (this.states[constraint] != REVEALED ||
+                    this.values[constraint] == NO_MINE ||
+                    this.queued.get(constraint))
+                {
+                    continue;
+                }
+
+                // queued is free once propagation is done, it marks constraints already taken
+                this.queued.set(constraint);
+                this.componentConstraints.add(constraint);
+
+                final int count;
+
+                count = this.collectUnknown(constraint, this.unknownB);
+
+                for (int k = 0; k < count; k++)
+                {
+                    if (this.componentOf[this.unknownB[k]] == NO_COMPONENT)
+                    {
+                        this.componentOf[this.unknownB[k]] = id;
+                        this.componentCells.add(this.unknownB[k]);
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * combine the components and the cells off the frontier,
+     * weighting each total of frontier mines by the ways to
+     * place the remaining mines off the frontier
+     * @param components enumerated
+     * @param offFrontier unknown cells in no enumerated component
+     */
+    private void combine(
+        final List<Component> components,
+        final int             offFrontier
+    ) {
+        final int        count;
+        final int        remaining;
+        final double[][] prefix;
+        final double[][] suffix;
+
+        count     = components.size();
+        remaining = this.totalMines - this.knownMines;
+        prefix    = new double[count + 1][];
+        suffix    = new double[count + 1][];
+        prefix[0]     = new double[] {1};
+        suffix[count] = new double[] {1};
+
+        for (int i = 0; i < count; i++)
+        {
+            prefix[i + 1] = convolve(prefix[i], components.get(i).solutions);
+        }
+
+        for (int i = count - 1; i >= 0; i--)
+        {
+            suffix[i] = convolve(components.get(i).solutions, suffix[i + 1]);
+        }
+
+        final double[] total;
+        final double[] weights;
+        double         sum;
+
+        total   = prefix[count];
+        weights = this.weights(total.length, remaining, offFrontier);
+        sum     = 0;
+
+        for (int t = 0; t < total.length; t++)
+        {
+            sum += total[t] * weights[t];
+        }
+
+        if (sum == 0)
+        {
+            // No placement fits the view, the board does not follow its own counts
+            this.exact = false;
+            return;
+        }
+
+        for (int i = 0; i < count; i++)
+        {
+            this.combineComponent(
+                components.get(i),
+                convolve(prefix[i], suffix[i + 1]),
+                weights,
+                remaining,
+                offFrontier,
+                sum
+            );
+        }
+
+        this.combineOffFrontier(total, weights, remaining, offFrontier, sum);
+    }
+
+    /*
+     * combineComponent gives each cell of a component its chance
+     * of being a mine, settling the cells that are a mine or safe
+     * in every placement that fits the total mine count
+     * @param component enumerated
+     * @param others mines placed by every other component
+     * @param weights of each total of frontier mines
+     * @param remaining mines not yet known
+     * @param offFrontier unknown cells in no enumerated component
+     * @param sum of the weights of every placement
+     */
+    private void combineComponent(
+        final Component component,
+        final double[]  others,
+        final double[]  weights,
+        final int       remaining,
+        final int       offFrontier,
+        final double    sum
+    ) {
+        final int       size;
+        final double[]  byMines;
+        final boolean[] possible;
+
+        size     = component.solutions.length;
+        byMines  = new double[size];
+        possible = new boolean[size];
+
+        for (int k = 0; k < size; k++)
+        {
+            for (int t = 0; t < others.length; t++)
+            {
+                if (others[t] > 0 && fits(remaining - k - t, offFrontier))
+                {
+                    byMines[k] += others[t] * weights[k + t];
+                    possible[k] = component.solutions[k] > 0;
+                }
+            }
+        }
+
+        for (int i = 0; i < component.cells.length; i++)
+        {
+            double  chance;
+            boolean alwaysMine;
+            boolean neverMine;
+
+            chance     = 0;
+            alwaysMine = true;
+            neverMine  = true;
+
+            for (int k = 0; k < size; k++)
+            {
+                final double mined;
+
+                mined   = component.cellMines[i * size + k];
+                chance += mined * byMines[k];
+
+                if (possible[k])
+                {
+                    alwaysMine &= mined == component.solutions[k];
+                    neverMine  &= mined == 0;
+                }
+            }
+
+            this.settle(component.cells[i], chance / sum, alwaysMine, neverMine);
+        }
+    }
+
+    /*
+     * combineOffFrontier gives every unknown cell in no enumerated
+     * component the same chance of being a mine
+     * @param total placements of the frontier by mines used
+     * @param weights of each total of frontier mines
+     * @param remaining mines not yet known
+     * @param offFrontier unknown cells in no enumerated component
+     * @param sum of the weights of every placement
+     */
+    private void combineOffFrontier(
+        final double[] total,
+        final double[] weights,
+        final int      remaining,
+        final int      offFrontier,
+        final double   sum
+    ) {
+        if (offFrontier == 0)
+        {
+            return;
+        }
+
+        double  mines;
+        boolean alwaysMine;
+        boolean neverMine;
+
+        mines      = 0;
+        alwaysMine = true;
+        neverMine  = true;
+
+        for (int t = 0; t < total.length; t++)
+        {
+            if (total[t] > 0 && fits(remaining - t, offFrontier))
+            {
+                mines      += total[t] * weights[t] * (remaining - t);
+                alwaysMine &= remaining - t == offFrontier;
+                neverMine  &= remaining - t == 0;
+            }
+        }
+
+        for (int cell = 0; cell < this.totalCells; cell++)
+        {
+            if (this.states[cell] == UNKNOWN && this.componentOf[cell] == OFF_FRONTIER)
+            {
+                this.settle(cell, mines / offFrontier / sum, alwaysMine, neverMine);
+            }
+        }
+    }
+
+    /*
+     * settle an unknown cell with its chance of being a mine
+     * @param cell to settle
+     * @param chance of a mine
+     * @param alwaysMine if it is a mine in every placement
+     * @param neverMine if it is safe in every placement
+     */
+    private void settle(
+        final int     cell,
+        final double  chance,
+        final boolean alwaysMine,
+        final boolean neverMine
+    ) {
+        if (neverMine)
+        {
+            this.states[cell] = SAFE;
+        }
+        else if (alwaysMine)
+        {
+            this.states[cell] = MINE;
+            this.knownMines++;
+        }
+        else
+        {
+            this.probabilities[cell] = chance;
+        }
+    }
+
+    /*
+     * weights of each total of frontier mines, the ways to place
+     * the rest off the frontier, scaled by the largest of them
+     * @param length of the totals
+     * @param remaining mines not yet known
+     * @param offFrontier unknown cells in no enumerated component
+     * @return weight of each total
+     */
+    private double[] weights(
+        final int length,
+        final int remaining,
+        final int offFrontier
+    ) {
+        final double[] weights;
+        double         largest;
+
+        weights = new double[length];
+        largest = Double.NEGATIVE_INFINITY;
+
+        for (int t = 0; t < length; t++)
+        {
+            if (fits(remaining - t, offFrontier))
+            {
+                weights[t] = this.logChoose(offFrontier, remaining - t);
+                largest    = Math.max(largest, weights[t]);
+            }
+        }
+
+        for (int t = 0; t < length; t++)
+        {
+            weights[t] = fits(remaining - t, offFrontier) ? Math.exp(weights[t] - largest) : 0;
+        }
+
+        return weights;
+    }
+
+    /*
+     * logChoose of n choose k
+     * @param n to choose from
+     * @param k chosen
+     * @return natural log of n choose k
+     */
+    private double logChoose(
+        final int n,
+        final int k
+    ) {
+        return this.logFactorials[n] - this.logFactorials[k] - this.logFactorials[n - k];
+    }
+
+    /*
+     * fits checks a number of mines can be placed in some cells
+     * @param mines to place
+     * @param cells to place them in
+     * @return true if there are at least as many cells as mines
+     */
+    private static boolean fits(
+        final int mines,
+        final int cells
+    ) {
+        return mines >= 0 && mines <= cells;
+    }
+
+    /*
+     * convolve two counts of placements by mines used
+     * @param first counts
+     * @param second counts
+     * @return counts of both together
+     */
+    private static double[] convolve(
+        final double[] first,
+        final double[] second
+    ) {
+        final double[] both;
+
+        both = new double[first.length + second.length - 1];
+
+        for (int i = 0; i < first.length; i++)
+        {
+            if (first[i] == 0)
+            {
+                continue;
+            }
+
+            for (int j = 0; j < second.length; j++)
+            {
+                both[i + j] += first[i] * second[j];
+            }
+        }
+
+        return both;
+    }
+
+    /*
+     * isFrontier checks an unknown cell touches a revealed number
+     * @param cell to check
+     * @return true if a revealed neighbor shows a number
+     */
+    private boolean isFrontier(final int cell)
+    {
+        final int neighborCount;
+
+        neighborCount = this.neighbors(cell, this.around);
+
+        for (int j = 0; j < neighborCount; j++)
+        {
+            if (this.states[this.around[j]] == REVEALED && this.values[this.around[j]] > NO_MINE)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /*
+     * collectUnknown gathers the unknown neighbors of a cell
+     * @param cell whose neighbors to gather
+     * @param out array of at least 8 cells
+     * @return number of unknown neighbors
+     */
+    private int collectUnknown(
+        final int   cell,
+        final int[] out
+    ) {
+        final int neighborCount;
+        int       count;
+
+        neighborCount = this.neighbors(cell, this.scratch);
+        count         = 0;
+
+        for (int j = 0; j < neighborCount; j++)
+        {
+            if (this.states[this.scratch[j]] == UNKNOWN)
+            {
+                out[count++] = this.scratch[j];
+            }
+        }
+
+        return count;
+    }
+
+    /*
+     * need of a constraint, its number less the known mines around it
+     * @param cell of a revealed number
+     * @return mines its unknown neighbors still hold
+     */
+    private int need(final int cell)
+    {
+        final int neighborCount;
+        int       need;
+
+        neighborCount = this.neighbors(cell, this.scratch);
+        need          = this.values[cell];
+
+        for (int j = 0; j < neighborCount; j++)
+        {
+            if (this.states[this.scratch[j]] == MINE)
+            {
+                need--;
+            }
+        }
+
+        return need;
+    }
+
+    /*
+     * neighbors of a cell on the board
+     * @param cell whose neighbors to find
+     * @param out array of at least 8 cells
+     * @return number of neighbors
+     */
+    private int neighbors(
+        final int   cell,
+        final int[] out
+    ) {
+        final int row;
+        final int col;
+        int       count;
+
+        row   = cell / this.width;
+        col   = cell % this.width;
+        count = 0;
+
+        for (int r = Math.max(0, row - 1); r <= Math.min(this.height - 1, row + 1); r++)
+        {
+            for (int c = Math.max(0, col - 1); c <= Math.min(this.width - 1, col + 1); c++)
+            {
+                if (r != row || c != col)
+                {
+                    out[count++] = r * this.width + c;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /*
+     * enqueue a constraint to examine if it is not queued
+     * @param constraint board index of a revealed number
+     */
+    private void enqueue(final int constraint)
+    {
+        if (!this.queued.get(constraint))
+        {
+            this.queued.set(constraint);
+            this.queue.add(constraint);
+        }
+    }
+
+    /*
+     * contains checks the first cells of an array for a cell
+     * @param cells to search
+     * @param count of cells to search
+     * @param cell to find
+     * @return true if found
+     */
+    private static boolean contains(
+        final int[] cells,
+        final int   count,
+        final int   cell
+    ) {
+        for (int i = 0; i < count; i++)
+        {
+            if (cells[i] == cell)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * isSafe checks if a hidden cell was deduced safe
+     * @param cell to check
+     * @return true if the cell is hidden and cannot be a mine
+     */
+    public boolean isSafe(final int cell)
+    {
+        return this.states[cell] == SAFE;
+    }
+
+    /**
+     * isKnownMine checks if a cell is known to be a mine
+     * @param cell to check
+     * @return true if the cell was deduced a mine or is a revealed mine
+     */
+    public boolean isKnownMine(final int cell)
+    {
+        return this.states[cell] == MINE;
+    }
+
+    /**
+     * getMineProbability of a hidden cell
+     * @param cell to check
+     * @return chance the cell is a mine, 0 for safe or revealed cells
+     */
+    public double getMineProbability(final int cell)
+    {
+        return this.states[cell] == MINE ? 1 : this.probabilities[cell];
+    }
+
+    /**
+     * isExact checks every component of the frontier
+     * was enumerated in the last solve
+     * @return false if a component was too large and its chances are estimates
+     */
+    public boolean isExact()
+    {
+        return this.exact;
+    }
+
+    /**
+     * getSafeCount returns how many hidden cells were deduced safe
+     * @return number of safe cells
+     */
+    public int getSafeCount()
+    {
+        return this.safeCells.size();
+    }
+
+    /**
+     * getSafeCell returns a hidden cell deduced safe
+     * @param position of the cell, from 0 to getSafeCount
+     * @return index of the safe cell
+     */
+    public int getSafeCell(final int position)
+    {
+        return this.safeCells.get(position);
+    }
+
+    /**
+     * getBestGuess returns the hidden cell least likely to be
+     * a mine among those that are not known
+     * @return index of the cell, or -1 if every hidden cell is known
+     */
+    public int getBestGuess()
+    {
+        int best;
+
+        best = NOT_FOUND;
+
+        for (int cell = 0; cell < this.totalCells; cell++)
+        {
+            if (this.states[cell] == UNKNOWN &&
+                (best == NOT_FOUND || this.probabilities[cell] < this.probabilities[best]))
+            {
+                best = cell;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * chooseCell solves the game and picks a safe cell, or the
+     * best guess when no cell is known safe. A flag on the
+     * chosen cell is turned into a question mark first.
+     * @param game being played
+     * @return index of the cell to reveal
+     */
+    @Override
+    public int chooseCell(final Mines game)
+    {
+        this.solve(game);
+
+        final int cell;
+
+        cell = this.getSafeCount() > 0 ? this.getSafeCell(0) : this.getBestGuess();
+
+        while (cell != NOT_FOUND && game.isFlagged(cell))
+        {
+            game.toggleFlag(cell);
+        }
+
+        return cell;
+    }
+}
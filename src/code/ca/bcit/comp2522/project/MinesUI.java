@@ -3,15 +3,18 @@ package ca.bcit.comp2522.project;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.stage.Window;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
@@ -21,9 +24,11 @@ import javafx.util.Duration;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * MinesUI handles all Minesweeper UI elements,
@@ -31,6 +36,14 @@ import java.util.Map;
  * Updating button displays, disabling buttons,
  * showing flags, warnings, etc.
  *
+ * In no-guess mode the preset sizes are dealt from a
+ * MinesBoardPool per size, filled in the background once
+ * the mode is first turned on, and the first cell is
+ * revealed for the player. A size whose pool is empty is
+ * waited on briefly off the FX thread, and if no board is
+ * ready in time the player is told the board they get
+ * instead may need a guess.
+ *
  * @author Braeden Sowinski
  * @version 1.0.0
  */
@@ -73,6 +86,13 @@ public class MinesUI
     private static final int MEDIUM_WINDOW_HEIGHT     = 1000;
     private static final int HARD_WINDOW_WIDTH        = 1800;
     private static final int HARD_WINDOW_HEIGHT       = 1000;
+    private static final int CUSTOM_WINDOW_WIDTH      = 1000;
+    private static final int CUSTOM_WINDOW_HEIGHT     = 900;
+    private static final int CUSTOM_POPUP_HEIGHT      = 350;
+
+    private static final int CANVAS_CELL_THRESHOLD    = 1000;
+    private static final int CANVAS_WIDTH             = 1200;
+    private static final int CANVAS_HEIGHT            = 800;
 
     private static final int STARTING_FLAGS           = 0;
     private static final int STARTING_SECONDS         = 0;
@@ -82,6 +102,10 @@ public class MinesUI
     private static final int MINE_KEY                 = -1;
     private static final int ZERO_KEY                 = 0;
 
+    private static final int  POOL_CAPACITY           = 3;
+    private static final int  POOL_SIZES              = 3;
+    private static final long POOL_WAIT_MILLIS        = 2_000;
+
     private static final String TITLE_TEXT            = "Random Mines - A Minesweeper Game";
     private static final String SCORE_FILE            = "./data/minesweeper-score.txt";
 
@@ -89,7 +113,7 @@ public class MinesUI
 
     static
     {
-        BUTTON_THEMES = new java.util.HashMap<>();
+        BUTTON_THEMES = new HashMap<>();
         BUTTON_THEMES.put(-2, "-fx-background-color: #b3b3b3; -fx-text-fill: black;");
         BUTTON_THEMES.put(-1, "-fx-background-color: #d9d9d9; -fx-text-fill: black;");
         BUTTON_THEMES.put(0, "-fx-background-color: #d9d9d9; -fx-text-fill: black;");
@@ -103,15 +127,24 @@ public class MinesUI
         BUTTON_THEMES.put(8, "-fx-background-color: #ff644d; -fx-text-fill: black;");
     }
 
-    private final List<Button> buttons;
+    private final List<Button>     buttons;
+    private final SeededRandom     random;
+    private final MinesLeaderboard leaderboard;
 
-    private Mines game;
+    private final Map<String, MinesBoardPool> pools;
+    private final List<Button>                newGameButtons;
+
+    private Mines       game;
+    private MinesCanvas canvas;
+    private String      difficulty;
 
     private Stage gameStage;
     private Label flagLabel;
     private Label timerLabel;
 
     private boolean randomMode;
+    private boolean noGuessMode;
+    private boolean dealing;
     private int     flagsPlaced;
     private int     seconds;
 
@@ -125,8 +158,28 @@ public class MinesUI
      */
     public MinesUI()
     {
-        this.buttons = new ArrayList<>();
+        this(new SeededRandom());
+    }
+
+    /**
+     * MinesUI constructor creates an ArrayList
+     * to store buttons and track which mode
+     * the game is in, normal or random, seeding
+     * every board from the given random number service
+     * @param random service to seed boards from
+     */
+    public MinesUI(final SeededRandom random)
+    {
+        this.random      = random;
+        this.buttons     = new ArrayList<>();
+        this.leaderboard = new MinesLeaderboard(SCORE_FILE);
+        this.pools       = new HashMap<>();
+
+        this.newGameButtons = new ArrayList<>();
+
         this.randomMode   = false;
+        this.noGuessMode  = false;
+        this.dealing      = false;
         this.timerRunning = false;
     }
 
@@ -171,11 +224,6 @@ public class MinesUI
         popup.show();
     }
 
-    /**
-     * showMainMenu displays main menu to choose
-     * game mode, and field size.
-     * @param primaryStage to display main menu to
-     */
     /**
      * showMainMenu displays main menu to choose
      * game mode and field size.
@@ -188,9 +236,12 @@ public class MinesUI
         final Button easyButton;
         final Button mediumButton;
         final Button hardButton;
+        final Button customButton;
         final Label  modeLabel;
         final Button toggleModeButton;
         final Button modeInfoButton;
+        final Label  noGuessLabel;
+        final Button toggleNoGuessButton;
         final Button quitButton;
         final HBox   modeButtons;
         final VBox   root;
@@ -202,6 +253,7 @@ public class MinesUI
         easyButton   = new Button("8 x 8 (Beginner)");
         mediumButton = new Button("16 x 16 (Intermediate)");
         hardButton   = new Button("36 x 16 (Expert)");
+        customButton = new Button("Custom");
 
         easyButton.setPrefWidth(MENU_BUTTON_WIDTH);
         easyButton.setPrefHeight(MENU_BUTTON_HEIGHT);
@@ -209,51 +261,69 @@ public class MinesUI
         mediumButton.setPrefHeight(MENU_BUTTON_HEIGHT);
         hardButton.setPrefWidth(MENU_BUTTON_WIDTH);
         hardButton.setPrefHeight(MENU_BUTTON_HEIGHT);
+        customButton.setPrefWidth(MENU_BUTTON_WIDTH);
+        customButton.setPrefHeight(MENU_BUTTON_HEIGHT);
 
         modeLabel        = new Label("Random Mode: OFF");
         toggleModeButton = new Button("Toggle Random Mode");
         modeInfoButton   = new Button("?");
         quitButton       = new Button("Quit");
 
+        noGuessLabel        = new Label(this.getNoGuessText());
+        toggleNoGuessButton = new Button("Toggle No-Guess Mode");
+
         modeButtons = new HBox(MENU_PADDING, toggleModeButton, modeInfoButton);
 
         toggleModeButton.setOnAction(e -> {
             this.randomMode = !this.randomMode;
             modeLabel.setText("Random Mode: " + (this.randomMode ? "ON" : "OFF"));
+            noGuessLabel.setText(this.getNoGuessText());
         });
 
         modeInfoButton.setOnAction(e -> showInfo(primaryStage));
 
+        toggleNoGuessButton.setOnAction(e -> {
+            this.noGuessMode = !this.noGuessMode;
+            noGuessLabel.setText(this.getNoGuessText());
+            startPools();
+        });
+
         quitButton.setFont(MENU_FONT);
         quitButton.setOnAction(e -> primaryStage.close());
 
-        easyButton.setOnAction(e -> startGame(
+        easyButton.setOnAction(e -> startPresetGame(
                 EASY_WIDTH,
                 EASY_HEIGHT,
                 EASY_MINES,
+                MinesScore.DIFFICULTY_EASY,
                 primaryStage,
                 EASY_WINDOW_WIDTH,
                 EASY_WINDOW_HEIGHT
             )
         );
-        mediumButton.setOnAction(e -> startGame(
+        mediumButton.setOnAction(e -> startPresetGame(
                 MEDIUM_WIDTH,
                 MEDIUM_HEIGHT,
                 MEDIUM_MINES,
+                MinesScore.DIFFICULTY_MEDIUM,
                 primaryStage,
                 MEDIUM_WINDOW_WIDTH,
                 MEDIUM_WINDOW_HEIGHT
             )
         );
-        hardButton.setOnAction(e -> startGame(
+        hardButton.setOnAction(e -> startPresetGame(
                 HARD_WIDTH,
                 HARD_HEIGHT,
                 HARD_MINES,
+                MinesScore.DIFFICULTY_HARD,
                 primaryStage,
                 HARD_WINDOW_WIDTH,
                 HARD_WINDOW_HEIGHT
             )
         );
+        customButton.setOnAction(e -> showCustomGame(primaryStage));
+
+        this.newGameButtons.addAll(List.of(easyButton, mediumButton, hardButton, customButton));
 
         root = new VBox(VERTICAL_MARGIN);
         root.setPadding(new Insets(PADDING));
@@ -265,8 +335,11 @@ public class MinesUI
             easyButton,
             mediumButton,
             hardButton,
+            customButton,
             modeLabel,
             modeButtons,
+            noGuessLabel,
+            toggleNoGuessButton,
             quitButton
         );
 
@@ -279,53 +352,346 @@ public class MinesUI
     }
 
     /**
-     * startGame creates new Mine game, to
-     * generate field, place mines, handle
-     * randomization if enabled. Creates
-     * grid of buttons for minefield, displays
-     * new window of game instance of given size.
-     * @param width of field to generate
-     * @param height of field to generates
-     * @param mines to generate in field
+     * showCustomGame displays a popup to enter the
+     * width, height and number of mines of a custom
+     * field, and optionally a seed to replay a field.
+     * @param ownerStage to display the popup and game from
+     */
+    private void showCustomGame(final Stage ownerStage)
+    {
+        if (this.dealing)
+        {
+            return;
+        }
+
+        final Stage     popup;
+        final TextField widthField;
+        final TextField heightField;
+        final TextField minesField;
+        final TextField seedField;
+        final Button    startButton;
+        final VBox      layout;
+        final Scene     popupScene;
+
+        popup = new Stage();
+        popup.setTitle("Custom Game");
+
+        widthField  = new TextField();
+        heightField = new TextField();
+        minesField  = new TextField();
+        seedField   = new TextField();
+
+        widthField.setPromptText("Width");
+        heightField.setPromptText("Height");
+        minesField.setPromptText("Mines");
+        seedField.setPromptText("Seed (optional)");
+
+        startButton = new Button("Start");
+        startButton.setFont(MENU_FONT);
+        startButton.setOnAction(e -> {
+            final Mines customGame;
+
+            // A popup opened before a deal started waits for the dealt game
+            if (this.dealing)
+            {
+                return;
+            }
+
+            try
+            {
+                final int width;
+                final int height;
+                final int mines;
+
+                width  = Integer.parseInt(widthField.getText().trim());
+                height = Integer.parseInt(heightField.getText().trim());
+                mines  = Integer.parseInt(minesField.getText().trim());
+
+                if (seedField.getText().isBlank())
+                {
+                    customGame = new Mines(width, height, mines, this.randomMode, this.random);
+                }
+                else
+                {
+                    customGame = new Mines(
+                        width,
+                        height,
+                        mines,
+                        this.randomMode,
+                        Long.parseLong(seedField.getText().trim())
+                    );
+                }
+            }
+            catch (final IllegalArgumentException ex)
+            {
+                final Alert warn = new Alert(Alert.AlertType.WARNING);
+                warn.setHeaderText("Invalid custom game");
+                warn.setContentText(ex.getMessage());
+                warn.showAndWait();
+                return;
+            }
+
+            popup.close();
+            startGame(customGame, null, ownerStage, CUSTOM_WINDOW_WIDTH, CUSTOM_WINDOW_HEIGHT);
+        });
+
+        layout = new VBox(MENU_PADDING, widthField, heightField, minesField, seedField, startButton);
+        layout.setAlignment(Pos.CENTER);
+        layout.setPadding(new Insets(PADDING));
+
+        popupScene = new Scene(layout, POPUP_WIDTH, CUSTOM_POPUP_HEIGHT);
+        popup.setScene(popupScene);
+        popup.setResizable(false);
+        popup.initOwner(ownerStage);
+        popup.show();
+    }
+
+    /**
+     * startPools starts a MinesBoardPool for each preset
+     * size the first time no-guess mode is turned on,
+     * sharing the cores between them
+     */
+    private void startPools()
+    {
+        if (!this.pools.isEmpty())
+        {
+            return;
+        }
+
+        final int workers;
+
+        workers = Math.max(1, Runtime.getRuntime().availableProcessors() / POOL_SIZES);
+
+        this.pools.put(MinesScore.DIFFICULTY_EASY, new MinesBoardPool(
+            EASY_WIDTH, EASY_HEIGHT, EASY_MINES, POOL_CAPACITY, workers, this.random.split()
+        ));
+        this.pools.put(MinesScore.DIFFICULTY_MEDIUM, new MinesBoardPool(
+            MEDIUM_WIDTH, MEDIUM_HEIGHT, MEDIUM_MINES, POOL_CAPACITY, workers, this.random.split()
+        ));
+        this.pools.put(MinesScore.DIFFICULTY_HARD, new MinesBoardPool(
+            HARD_WIDTH, HARD_HEIGHT, HARD_MINES, POOL_CAPACITY, workers, this.random.split()
+        ));
+    }
+
+    /**
+     * getNoGuessText for the menu, no-guess boards are
+     * only dealt for classic games
+     * @return label text of no-guess mode
+     */
+    private String getNoGuessText()
+    {
+        if (!this.noGuessMode)
+        {
+            return "No-Guess Mode: OFF";
+        }
+
+        return this.randomMode ? "No-Guess Mode: ON (not in Random Mode)" : "No-Guess Mode: ON";
+    }
+
+    /**
+     * startPresetGame starts a game of a preset size, dealt
+     * from its pool in no-guess mode with the first cell
+     * revealed, or a new random board otherwise. If the pool
+     * is empty, a board is waited for on another thread so
+     * the menu stays responsive, while no other game can be
+     * started.
+     * @param width of minefield
+     * @param height of minefield
+     * @param mines to place in minefield
+     * @param gameDifficulty to record scores under
      * @param ownerStage to display minefield grid to
+     * @param windowWidth minimum width of the game window
+     * @param windowHeight minimum height of the game window
+     */
+    private void startPresetGame(
+        final int    width,
+        final int    height,
+        final int    mines,
+        final String gameDifficulty,
+        final Stage  ownerStage,
+        final int    windowWidth,
+        final int    windowHeight
+    ) {
+        if (this.dealing)
+        {
+            return;
+        }
+
+        if (!this.noGuessMode || this.randomMode || !this.pools.containsKey(gameDifficulty))
+        {
+            startGame(
+                new Mines(width, height, mines, this.randomMode, this.random),
+                gameDifficulty,
+                ownerStage,
+                windowWidth,
+                windowHeight
+            );
+            return;
+        }
+
+        final MinesBoardPool       pool;
+        final MinesBoardPool.Board board;
+        final Thread               waiter;
+
+        pool  = this.pools.get(gameDifficulty);
+        board = pool.poll();
+
+        if (board != null)
+        {
+            startGame(board.game(), gameDifficulty, ownerStage, windowWidth, windowHeight);
+            revealOpening(board.startCell());
+            return;
+        }
+
+        this.setDealing(true);
+
+        waiter = new Thread(() -> {
+            final MinesBoardPool.Board waited;
+
+            waited = waitForBoard(pool);
+
+            Platform.runLater(() -> {
+                this.setDealing(false);
+
+                if (waited != null)
+                {
+                    startGame(waited.game(), gameDifficulty, ownerStage, windowWidth, windowHeight);
+                    revealOpening(waited.startCell());
+                    return;
+                }
+
+                startGame(
+                    new Mines(width, height, mines, this.randomMode, this.random),
+                    gameDifficulty,
+                    ownerStage,
+                    windowWidth,
+                    windowHeight
+                );
+
+                final Alert notice = new Alert(Alert.AlertType.INFORMATION);
+                notice.initOwner(this.gameStage);
+                notice.setHeaderText("No no-guess board ready");
+                notice.setContentText("This board was dealt at random and may need a guess.");
+                notice.show();
+            });
+        }, "mines-board-wait");
+
+        waiter.setDaemon(true);
+        waiter.start();
+    }
+
+    /**
+     * setDealing marks a no-guess board as being waited for,
+     * disabling every button that starts a new game meanwhile
+     * so only the dealt game is started
+     * @param dealing true while a board is waited for
+     */
+    private void setDealing(final boolean dealing)
+    {
+        this.dealing = dealing;
+
+        for (final Button button : this.newGameButtons)
+        {
+            button.setDisable(dealing);
+        }
+    }
+
+    /**
+     * revealOpening reveals the start cell of a dealt
+     * no-guess board without starting the timer, which
+     * starts on the player's own first reveal instead
+     * @param startCell safe cell the board was dealt for
+     */
+    private void revealOpening(final int startCell)
+    {
+        try
+        {
+            this.game.reveal(startCell);
+        }
+        catch (final InvalidMoveException e)
+        {
+            // A new board has no flags, the start cell can always be revealed
+            throw new IllegalStateException(e);
+        }
+
+        if (this.game.hasWon())
+        {
+            handleWin();
+        }
+    }
+
+    /**
+     * waitForBoard waits a bounded time for a board from a pool
+     * @param pool to deal from
+     * @return board, or null if none was ready in time
+     */
+    private static MinesBoardPool.Board waitForBoard(final MinesBoardPool pool)
+    {
+        try
+        {
+            return pool.poll(POOL_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * startGame shows a new Mine game, with its
+     * field generated, mines placed and randomization
+     * enabled if chosen. Creates grid of buttons for
+     * minefield, or a single canvas for fields too
+     * large for buttons, displays new window of game
+     * instance of given size.
+     * @param newGame to play
+     * @param gameDifficulty to record scores under, null for a custom game
+     * @param ownerStage to display minefield grid to
+     * @param windowWidth minimum width of the game window
+     * @param windowHeight minimum height of the game window
      */
     private void startGame(
-        final int   width,
-        final int   height,
-        final int   mines,
-        final Stage ownerStage,
-        final int   windowWidth,
-        final int   windowHeight
+        final Mines  newGame,
+        final String gameDifficulty,
+        final Stage  ownerStage,
+        final int    windowWidth,
+        final int    windowHeight
     ) {
         final VBox       root;
         final VBox       topBar;
-        final GridPane   grid;
         final Scene      scene;
         final Label      bestLabel;
+        final int        width;
+        final int        height;
 
         this.flagsPlaced = STARTING_FLAGS;
         this.seconds     = STARTING_SECONDS;
         this.timerRunning = false;
 
-        this.game = new Mines(width, height, mines, this.randomMode);
+        this.game       = newGame;
+        this.difficulty = gameDifficulty;
+        this.game.addChangeListener(this::applyChanges);
+
+        width  = this.game.getWidth();
+        height = this.game.getHeight();
 
         this.buttons.clear();
+        this.canvas = null;
 
         this.flagLabel  = new Label("Flags: " + this.flagsPlaced + " / " + this.game.getTotalMines());
         this.timerLabel = new Label("Time: " + this.seconds);
 
         final MinesScore bestScore;
-        final String     difficulty;
-
-        difficulty = mines == EASY_MINES   ? MinesScore.DIFFICULTY_EASY :
-                     mines == MEDIUM_MINES ? MinesScore.DIFFICULTY_MEDIUM :
-                                             MinesScore.DIFFICULTY_HARD;
 
-        bestScore = MinesScore.getHighScore(
-            MinesScore.readScoresFromFile(SCORE_FILE),
-            difficulty,
-            this.randomMode
-        );
+        if (this.difficulty == null)
+        {
+            bestScore = null;
+        }
+        else
+        {
+            bestScore = this.leaderboard.getHighScore(this.difficulty, this.randomMode);
+        }
 
         bestLabel = getBestLabel(bestScore);
 
@@ -341,12 +707,22 @@ public class MinesUI
         );
         topBar.setAlignment(Pos.CENTER);
 
-        grid = createGrid(width, height);
-
         root = new VBox();
         root.setAlignment(Pos.CENTER);
         root.setPadding(new Insets(GAME_PADDING));
-        root.getChildren().addAll(topBar, grid);
+        root.getChildren().add(topBar);
+
+        if (width * height > CANVAS_CELL_THRESHOLD)
+        {
+            this.canvas = new MinesCanvas(this.game, this::handleReveal, this::handleFlag);
+            this.canvas.setPrefSize(CANVAS_WIDTH, CANVAS_HEIGHT);
+            VBox.setVgrow(this.canvas, Priority.ALWAYS);
+            root.getChildren().add(this.canvas);
+        }
+        else
+        {
+            root.getChildren().add(createGrid(width, height));
+        }
 
         scene = new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT);
 
@@ -355,7 +731,8 @@ public class MinesUI
         this.gameStage.setMinWidth(windowWidth);
         this.gameStage.setMinHeight(windowHeight);
         this.gameStage.initOwner(ownerStage);
-        this.gameStage.setTitle("Random Mines " + width + "x" + height + " - A Minesweeper Game");
+        this.gameStage.setTitle("Random Mines " + width + "x" + height +
+                                " (seed " + this.game.getSeed() + ") - A Minesweeper Game");
         this.gameStage.setScene(scene);
         this.gameStage.show();
     }
@@ -452,7 +829,8 @@ public class MinesUI
      * handleReveal reveals the given cell in the
      * minefield ensures the timer is running if first
      * reveal, call randomize on board if random mode
-     * enabled, and refresh all button UI elements.
+     * enabled. Buttons of changed cells are refreshed
+     * by applyChanges as the game publishes each move.
      * @param index to reveal
      */
     private void handleReveal(final int index)
@@ -478,8 +856,6 @@ public class MinesUI
                 this.game.randomizeRemaining();
             }
 
-            refreshAllButtons();
-
             if (this.game.hasWon())
             {
                 handleWin();
@@ -520,8 +896,6 @@ public class MinesUI
                                this.flagsPlaced +
                                " / " +
                                this.game.getTotalMines());
-
-        updateButtonDisplay(index);
     }
 
     /**
@@ -579,21 +953,55 @@ public class MinesUI
     }
 
     /**
-     * refreshAllButtons iterates over all buttons
-     * and calls updateButtonDisplay for that button,
-     * as well as disables button if revealed, preventing
-     * further clicking on the button.
+     * applyChanges refreshes only the cells changed
+     * by the last move.
+     * @param changes published by the game
      */
-    private void refreshAllButtons()
+    private void applyChanges(final MinesChangeSet changes)
     {
-        for (int i = 0; i < this.buttons.size(); i++)
+        for (int i = 0; i < changes.getRevealedCount(); i++)
+        {
+            refreshCell(changes.getRevealed(i));
+        }
+
+        for (int i = 0; i < changes.getRecountedCount(); i++)
         {
-            updateButtonDisplay(i);
-            if (this.game.isRevealed(i))
+            final int index;
+
+            index = changes.getRecounted(i);
+
+            if (this.game.isRevealed(index))
             {
-                disableButton(this.buttons.get(i));
+                refreshCell(index);
             }
         }
+
+        for (int i = 0; i < changes.getReflaggedCount(); i++)
+        {
+            refreshCell(changes.getReflagged(i));
+        }
+    }
+
+    /**
+     * refreshCell redraws a cell on the canvas, or
+     * updates its button and disables it once revealed,
+     * preventing further clicking on the button.
+     * @param index of cell to refresh
+     */
+    private void refreshCell(final int index)
+    {
+        if (this.canvas != null)
+        {
+            this.canvas.refreshCell(index);
+            return;
+        }
+
+        updateButtonDisplay(index);
+
+        if (this.game.isRevealed(index))
+        {
+            disableButton(this.buttons.get(index));
+        }
     }
 
     /**
@@ -634,32 +1042,14 @@ public class MinesUI
     /**
      * handleWin displays a win message window, with the time
      * taken to win the game, show all mines, and disable all
-     * buttons.
+     * buttons. Custom games are not recorded as scores.
      */
     private void handleWin()
     {
-        final Alert      winAlert;
-        final MinesScore score;
-        final String     difficulty;
-        final int        mines;
+        final Alert winAlert;
 
         stopTimer();
 
-        mines = this.game.getTotalMines();
-
-        difficulty = mines == EASY_MINES   ? MinesScore.DIFFICULTY_EASY :
-                     mines == MEDIUM_MINES ? MinesScore.DIFFICULTY_MEDIUM :
-                                             MinesScore.DIFFICULTY_HARD;
-
-        score = new MinesScore(
-            LocalDateTime.now(),
-            this.seconds,
-            difficulty,
-            this.randomMode
-        );
-
-        System.out.println(this.seconds + difficulty + this.randomMode);
-
         showAllMines();
         disableAllButtons();
 
@@ -669,18 +1059,30 @@ public class MinesUI
 
         winMessage.append("You successfully cleared all safe squares!");
 
-        if (MinesScore.isHighScore(score, MinesScore.readScoresFromFile(SCORE_FILE)))
+        if (this.difficulty != null)
         {
-            winMessage.append("\nNew High Score! ");
-            winMessage.append("Time: ");
-            winMessage.append(score.getSeconds());
-            winMessage.append("s\nDifficulty: ");
-            winMessage.append(score.getDifficulty());
-            winMessage.append("\nRandom Mode: ");
-            winMessage.append(score.getRandomMode());
-        }
+            final MinesScore score;
+
+            score = new MinesScore(
+                LocalDateTime.now(),
+                this.seconds,
+                this.difficulty,
+                this.randomMode
+            );
+
+            if (this.leaderboard.isHighScore(score))
+            {
+                winMessage.append("\nNew High Score! ");
+                winMessage.append("Time: ");
+                winMessage.append(score.getSeconds());
+                winMessage.append("s\nDifficulty: ");
+                winMessage.append(score.getDifficulty());
+                winMessage.append("\nRandom Mode: ");
+                winMessage.append(score.getRandomMode());
+            }
 
-        MinesScore.appendScoreToFile(score, SCORE_FILE);
+            this.leaderboard.append(score);
+        }
 
         winAlert = new Alert(Alert.AlertType.INFORMATION);
         winAlert.setHeaderText("You Win!");
@@ -714,6 +1116,12 @@ public class MinesUI
      */
     private void showAllMines()
     {
+        if (this.canvas != null)
+        {
+            this.canvas.showAllMines();
+            return;
+        }
+
         for (int i = 0; i < this.buttons.size(); i++)
         {
             if (this.game.isMine(i))
@@ -733,6 +1141,12 @@ public class MinesUI
      */
     private void disableAllButtons()
     {
+        if (this.canvas != null)
+        {
+            this.canvas.setDisable(true);
+            return;
+        }
+
         final Iterator<Button> iterator;
 
         iterator = this.buttons.iterator();
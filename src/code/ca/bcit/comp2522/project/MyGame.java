@@ -12,6 +12,18 @@ import javafx.stage.Stage;
  */
 public class MyGame extends Application
 {
+    private SeededRandom random;
+
+    /**
+     * init reads the optional --seed=N parameter
+     * so every board of this session can be replayed
+     */
+    @Override
+    public void init()
+    {
+        this.random = SeededRandom.fromSeedText(getParameters().getNamed().get("seed"));
+    }
+
     /**
      * start JavaFX application by creating
      * the MinesUI handler to show main menu.
@@ -22,7 +34,7 @@ public class MyGame extends Application
     {
         final MinesUI ui;
 
-        ui = new MinesUI();
+        ui = new MinesUI(this.random);
         ui.showMainMenu(primaryStage);
     }
 
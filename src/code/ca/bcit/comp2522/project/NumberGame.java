@@ -7,6 +7,7 @@ import javafx.scene.Scene;
 import javafx.scene.layout.GridPane;
 import javafx.geometry.Insets;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
@@ -14,15 +15,20 @@ import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import javafx.scene.control.Button;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * NumberGame is a GUI game with JavaFX
  * where a user has to place randomly generated
  * numbers into a 5x4 grid of buttons. Numbers
  * must be played in order to win.
  *
+ * The rules are played by a NumberGameEngine,
+ * this class only shows the game and forwards
+ * the slots the user picks. The Hint button asks
+ * a NumberGameSolver for the slot with the best
+ * chance of winning. The solver is only built the
+ * first time Hint is pressed, on a background thread,
+ * with Hint disabled until it is ready.
+ *
  * Extends JavaFX Application
  *
  * @author Braeden Sowinski
@@ -31,37 +37,50 @@ import java.util.List;
 public class NumberGame
     extends Application
 {
-    private static final int  DECIMAL_PLACES = 2;
-    private static final int  NO_GAMES_WON   = 0;
-    private static final int  STARTING_NUMBERS_PLACED = 0;
-    private static final int  MENU_FONT_SIZE = 16;
-    private static final int  FONT_SIZE      = 24;
-    private static final int  WINDOW_WIDTH   = 700;
-    private static final int  WINDOW_HEIGHT  = 600;
-    private static final int  GRID_PADDING   = 10;
-    private static final int  GRID_WIDTH     = 5;
-    private static final int  GRID_HEIGHT    = 4;
-    private static final int  BUTTON_WIDTH   = 200;
-    private static final int  BUTTON_HEIGHT  = 160;
-    private static final int  TOTAL_NUMBERS  = 20;
-    private static final int  MIN_RAND_NUM   = 1;
-    private static final int  MAX_RAND_NUM   = 1001;
-    private static final int  MENU_PADDING   = 20;
-    private static final int  POPUP_WIDTH    = 400;
-    private static final int  POPUP_HEIGHT   = 200;
-    private static final Font FONT           = Font.font("Arial", FontWeight.BOLD, FONT_SIZE);
-    private static final Font MENU_FONT      = Font.font("Arial", FontWeight.NORMAL, MENU_FONT_SIZE);
-
-    private int                   gamesPlayed;
-    private int                   gamesWon;
-    private int                   allTimePlaced;
-    private int                   numbersPlaced;
-    private Label                 numberLabel;
-    private int                   currentNumber;
-    private int[]                 positions;
-    private List<Button>          buttons;
-    private RandomNumberGenerator generator;
-    private AscendingPlacement    placementValidator;
+    private static final int    DECIMAL_PLACES = 2;
+    private static final int    NO_GAMES_WON   = 0;
+    private static final int    MENU_FONT_SIZE = 16;
+    private static final int    FONT_SIZE      = 24;
+    private static final int    WINDOW_WIDTH   = 700;
+    private static final int    WINDOW_HEIGHT  = 600;
+    private static final int    GRID_PADDING   = 10;
+    private static final int    GRID_WIDTH     = 5;
+    private static final int    GRID_HEIGHT    = 4;
+    private static final int    BUTTON_WIDTH   = 200;
+    private static final int    BUTTON_HEIGHT  = 160;
+    private static final int    MIN_RAND_NUM   = 1;
+    private static final int    MAX_RAND_NUM   = 1001;
+    private static final int    MENU_PADDING   = 20;
+    private static final int    POPUP_WIDTH    = 400;
+    private static final int    POPUP_HEIGHT   = 200;
+    private static final int    NO_SLOT        = -1;
+    private static final int    EMPTY          = 0;
+    private static final int    PERCENT        = 100;
+    private static final String SOLVER_THREAD  = "number-game-solver";
+    private static final Font   FONT           = Font.font("Arial", FontWeight.BOLD, FONT_SIZE);
+    private static final Font   MENU_FONT      = Font.font("Arial", FontWeight.NORMAL, MENU_FONT_SIZE);
+
+    private int              gamesPlayed;
+    private int              gamesWon;
+    private int              allTimePlaced;
+    private Label            numberLabel;
+    private Button[]         buttons;
+    private NumberGameEngine engine;
+    private SeededRandom     random;
+    private NumberGameSolver solver;
+    private boolean          buildingSolver;
+    private Button           hintButton;
+    private int              hintedSlot;
+
+    /**
+     * init reads the optional --seed=N parameter
+     * so every game of this session can be replayed
+     */
+    @Override
+    public void init()
+    {
+        this.random = SeededRandom.fromSeedText(getParameters().getNamed().get("seed"));
+    }
 
     /**
      * start NumberGame GUI
@@ -71,31 +90,43 @@ public class NumberGame
     public void start(final Stage stage)
     {
         this.gamesPlayed++;
-        this.placementValidator = new AscendingPlacement();
-        this.generator          = new RandomNumberGenerator(MIN_RAND_NUM, MAX_RAND_NUM);
-        this.numbersPlaced      = STARTING_NUMBERS_PLACED;
-        this.currentNumber      = this.generator.generate();
-        this.positions          = new int[GRID_WIDTH * GRID_HEIGHT];
-        this.buttons            = new ArrayList<>();
-
-        this.numberLabel = new Label("Next number: " + this.currentNumber + " - Select a slot.");
+        this.engine  = new NumberGameEngine(
+            new RandomNumberGenerator(MIN_RAND_NUM, MAX_RAND_NUM, this.random),
+            new AscendingPlacement(),
+            GRID_WIDTH * GRID_HEIGHT
+        );
+        this.buttons    = new Button[GRID_WIDTH * GRID_HEIGHT];
+        this.hintedSlot = NO_SLOT;
+
+        this.numberLabel = new Label("Next number: " + this.engine.getCurrentNumber() + " - Select a slot.");
         this.numberLabel.setFont(FONT);
         this.numberLabel.setMaxWidth(Double.MAX_VALUE);
         this.numberLabel.setAlignment(Pos.CENTER);
 
+        final HBox     header;
         final VBox     root;
         final GridPane grid;
         final Scene    scene;
 
+        this.hintButton = new Button("Hint");
+        this.hintButton.setFont(MENU_FONT);
+        this.hintButton.setDisable(this.buildingSolver);
+        this.hintButton.setOnAction(e -> showHint());
+
+        header = new HBox(MENU_PADDING, this.numberLabel, this.hintButton);
+        header.setAlignment(Pos.CENTER);
+        header.setPadding(new Insets(GRID_PADDING));
+        HBox.setHgrow(this.numberLabel, Priority.ALWAYS);
+
         root = new VBox();
         grid = createGrid();
-        root.getChildren().add(this.numberLabel);
+        root.getChildren().add(header);
         root.getChildren().add(grid);
 
         scene = new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT);
 
         stage.setScene(scene);
-        stage.setTitle("20 Number Challenge");
+        stage.setTitle("20 Number Challenge (seed " + this.random.getSeed() + ")");
         stage.setResizable(false);
         stage.show();
     }
@@ -130,7 +161,7 @@ public class NumberGame
                 button.setOnAction(e -> handlePress(button, index));
 
                 grid.add(button, i, j);
-                buttons.add(button);
+                this.buttons[index] = button;
             }
         }
 
@@ -288,11 +319,105 @@ public class NumberGame
      */
     private void disableAllButtons()
     {
-        this.buttons.forEach(button -> {
+        for (final Button button : this.buttons)
+        {
             button.setMouseTransparent(true);
             button.setFocusTraversable(false);
             button.setStyle("-fx-background-color: #f78f8f; -fx-text-fill: black;");
-        });
+        }
+    }
+
+    /*
+     * showHint highlights the slot the solver would place
+     * the current number in, with its chance of winning
+     */
+    private void showHint()
+    {
+        if (this.engine.getStatus() != NumberGameEngine.Status.PLAYING)
+        {
+            return;
+        }
+
+        if (this.solver == null)
+        {
+            this.buildSolver();
+            return;
+        }
+
+        final int[] positions;
+        final int   slot;
+
+        positions = new int[this.engine.getSlotCount()];
+
+        for (int i = 0; i < positions.length; i++)
+        {
+            positions[i] = this.engine.getNumberAt(i);
+        }
+
+        slot = this.solver.bestSlot(positions, this.engine.getCurrentNumber());
+
+        if (slot == NO_SLOT)
+        {
+            return;
+        }
+
+        this.clearHint();
+        this.hintedSlot = slot;
+        this.buttons[slot].setStyle("-fx-background-color: #f5e695; -fx-text-fill: black;");
+        this.numberLabel.setText(String.format(
+            "Next number: %d - Hint wins %.4f%%",
+            this.engine.getCurrentNumber(),
+            this.solver.winChance(positions, this.engine.getCurrentNumber()) * PERCENT
+        ));
+    }
+
+    /*
+     * buildSolver works out the solver's tables on a background
+     * thread, as it takes every core for a moment, then shows
+     * the hint that was asked for. Hint stays disabled meanwhile.
+     */
+    private void buildSolver()
+    {
+        if (this.buildingSolver)
+        {
+            return;
+        }
+
+        final Thread builder;
+
+        this.buildingSolver = true;
+        this.hintButton.setDisable(true);
+        this.numberLabel.setText("Next number: " + this.engine.getCurrentNumber() + " - Working out hints...");
+
+        builder = new Thread(() -> {
+            final NumberGameSolver built;
+
+            built = new NumberGameSolver(MIN_RAND_NUM, MAX_RAND_NUM, GRID_WIDTH * GRID_HEIGHT);
+
+            Platform.runLater(() -> {
+                this.solver         = built;
+                this.buildingSolver = false;
+                this.hintButton.setDisable(false);
+                this.showHint();
+            });
+        }, SOLVER_THREAD);
+
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /*
+     * clearHint restores the highlighted slot if
+     * it is still empty
+     */
+    private void clearHint()
+    {
+        if (this.hintedSlot != NO_SLOT && this.engine.getNumberAt(this.hintedSlot) == EMPTY)
+        {
+            this.buttons[this.hintedSlot].setStyle("-fx-background-color: #c2c2c2; -fx-text-fill: black;");
+        }
+
+        this.hintedSlot = NO_SLOT;
     }
 
     /*
@@ -302,7 +427,7 @@ public class NumberGame
      */
     private void triggerFailed(final String message)
     {
-        this.numberLabel.setText("Next number: " + this.currentNumber + " - " + message);
+        this.numberLabel.setText("Next number: " + this.engine.getCurrentNumber() + " - " + message);
         disableAllButtons();
         showPopup("You Lost!", message);
     }
@@ -329,48 +454,29 @@ public class NumberGame
         final Button button,
         final int index
     ) {
-        button.setText("" + this.currentNumber);
+        button.setText("" + this.engine.getCurrentNumber());
         button.setMouseTransparent(true);
         button.setFocusTraversable(false);
         button.setStyle("-fx-background-color: #95f595; -fx-text-fill: black;");
 
-        this.numbersPlaced++;
         this.allTimePlaced++;
 
-        this.positions[index] = this.currentNumber;
-
-        // Detect bad placement
-        final boolean isValidPlacement;
-        isValidPlacement = this.placementValidator.isValidPlacement(
-                this.positions,
-                index,
-                this.currentNumber
-        );
-
-        if (!isValidPlacement)
+        if (this.hintedSlot != index)
         {
-            triggerFailed("Placed number incorrectly.");
-            return;
-        }
-
-        if (this.numbersPlaced >= TOTAL_NUMBERS)
-        {
-            triggerWin();
-            return;
+            this.clearHint();
         }
 
-        this.currentNumber = this.generator.generate();
-
-        final boolean canPlaceNext;
-        canPlaceNext = this.placementValidator.canPlaceNext(this.positions, this.currentNumber);
+        this.hintedSlot = NO_SLOT;
 
-        if (!canPlaceNext)
+        switch (this.engine.place(index))
         {
-            triggerFailed("Impossible to place next number.");
-            return;
+            case INVALID_PLACEMENT -> triggerFailed("Placed number incorrectly.");
+            case NO_VALID_SLOT     -> triggerFailed("Impossible to place next number.");
+            case WON               -> triggerWin();
+            case PLAYING           -> this.numberLabel.setText(
+                "Next number: " + this.engine.getCurrentNumber() + " - Select a slot."
+            );
         }
-
-        this.numberLabel.setText("Next number: " + this.currentNumber + " - Select a slot.");
     }
 
     /**
@@ -0,0 +1,219 @@
+package ca.bcit.comp2522.project;
+
+/**
+ * NumberGameEngine holds the rules of the 20 Number
+ * Challenge with no JavaFX, so the game can be played
+ * by NumberGame or simulated by NumberGameEvaluator.
+ *
+ * Numbers are drawn from a Generator one at a time and
+ * placed into empty slots, checked by a PlacementRule.
+ * The game is lost when a number is placed in a slot the
+ * rule rejects or when the next number has no valid slot
+ * left, and won once every slot is filled.
+ *
+ * An empty slot holds 0, as PlacementRule expects, so
+ * generated numbers must be above 0. The slots are kept in
+ * FilledSlots, filled only by the engine, so the rule checks
+ * them through an index that always matches them.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class NumberGameEngine
+{
+    /**
+     * Status of a game after a move
+     */
+    public enum Status
+    {
+        /** waiting for the current number to be placed */
+        PLAYING,
+
+        /** every slot was filled */
+        WON,
+
+        /** a number was placed in a slot the rule rejects */
+        INVALID_PLACEMENT,
+
+        /** the next number has no valid slot left */
+        NO_VALID_SLOT
+    }
+
+    public static final int DEFAULT_SLOTS = 20;
+
+    private static final int EMPTY = 0;
+
+    private final Generator     generator;
+    private final PlacementRule rule;
+    private final FilledSlots   slots;
+
+    private int    currentNumber;
+    private int    numbersPlaced;
+    private Status status;
+
+    /**
+     * NumberGameEngine constructor for the default 20 slots,
+     * the first number is drawn straight away
+     * @param generator drawing the numbers to place
+     * @param rule checking each placement
+     */
+    public NumberGameEngine(
+        final Generator     generator,
+        final PlacementRule rule
+    ) {
+        this(generator, rule, DEFAULT_SLOTS);
+    }
+
+    /**
+     * NumberGameEngine constructor, the first
+     * number is drawn straight away
+     * @param generator drawing the numbers to place
+     * @param rule checking each placement
+     * @param slots to fill to win
+     */
+    public NumberGameEngine(
+        final Generator     generator,
+        final PlacementRule rule,
+        final int           slots
+    ) {
+        this.generator = generator;
+        this.rule      = rule;
+        this.slots     = new FilledSlots(slots);
+
+        this.reset();
+    }
+
+    /**
+     * reset empties every slot and draws the first number
+     * of a new game, reusing the slots of the last one
+     */
+    public void reset()
+    {
+        this.slots.clear();
+
+        this.numbersPlaced = 0;
+        this.status        = Status.PLAYING;
+        this.currentNumber = this.draw();
+    }
+
+    /**
+     * place the current number in a slot, then draw the
+     * next number if the game goes on
+     * @param index of the empty slot
+     * @return status of the game after the move
+     * @throws IllegalStateException if the game is over
+     * @throws IllegalArgumentException if the slot is not empty
+     */
+    public Status place(final int index)
+    {
+        if (this.status != Status.PLAYING)
+        {
+            throw new IllegalStateException("Game is over");
+        }
+
+        this.slots.fill(index, this.currentNumber);
+        this.numbersPlaced++;
+
+        if (!this.rule.isValidPlacement(this.slots, index, this.currentNumber))
+        {
+            this.status = Status.INVALID_PLACEMENT;
+        }
+        else if (this.numbersPlaced >= this.slots.getLength())
+        {
+            this.status = Status.WON;
+        }
+        else
+        {
+            this.currentNumber = this.draw();
+
+            if (!this.rule.canPlaceNext(this.slots, this.currentNumber))
+            {
+                this.status = Status.NO_VALID_SLOT;
+            }
+        }
+
+        return this.status;
+    }
+
+    /**
+     * play a whole game with a strategy choosing every slot
+     * @param strategy choosing where each number goes
+     * @return status the game ended with
+     */
+    public Status play(final PlacementStrategy strategy)
+    {
+        while (this.status == Status.PLAYING)
+        {
+            this.place(strategy.chooseSlot(this.slots.positions(), this.currentNumber));
+        }
+
+        return this.status;
+    }
+
+    /*
+     * draw the next number, checking it cannot be
+     * mistaken for an empty slot
+     * @return next number to place
+     */
+    private int draw()
+    {
+        final int number;
+
+        number = this.generator.generate();
+
+        if (number <= EMPTY)
+        {
+            throw new IllegalStateException("Generated numbers must be above " + EMPTY);
+        }
+
+        return number;
+    }
+
+    /**
+     * getCurrentNumber to place, or the number that
+     * ended the game once it is lost
+     * @return current number
+     */
+    public int getCurrentNumber()
+    {
+        return this.currentNumber;
+    }
+
+    /**
+     * getNumbersPlaced this game, including a
+     * placement the rule rejected
+     * @return number of filled slots
+     */
+    public int getNumbersPlaced()
+    {
+        return this.numbersPlaced;
+    }
+
+    /**
+     * getSlotCount of the game
+     * @return number of slots to fill
+     */
+    public int getSlotCount()
+    {
+        return this.slots.getLength();
+    }
+
+    /**
+     * getNumberAt a slot
+     * @param index of the slot
+     * @return number in the slot, 0 if empty
+     */
+    public int getNumberAt(final int index)
+    {
+        return this.slots.get(index);
+    }
+
+    /**
+     * getStatus of the game
+     * @return current status
+     */
+    public Status getStatus()
+    {
+        return this.status;
+    }
+}
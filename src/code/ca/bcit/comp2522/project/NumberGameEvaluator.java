@@ -0,0 +1,296 @@
+package ca.bcit.comp2522.project;
+
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * NumberGameEvaluator scores a PlacementStrategy by playing
+ * it through NumberGameEngine for millions of games, spread
+ * across every core.
+ *
+ * The games are cut into chunks of a fixed size, each played
+ * on one thread with its own engine, PlacementRule and
+ * SeededRandom. Every chunk's generator is split from one
+ * seed before any game is played, so a seed gives the same
+ * result on any number of cores. The Report gives the win rate, the average
+ * numbers placed and the games played per second.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class NumberGameEvaluator
+{
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final int    CHUNK_GAMES      = 10_000;
+    private static final int    MIN_GAMES        = 1;
+    private static final int    MIN_NUMBER       = 1;
+    private static final int    EMPTY            = 0;
+    private static final int    WINS             = 0;
+    private static final int    PLACED           = 1;
+    private static final int    TOTALS_SIZE      = 2;
+
+    private static final int    DEFAULT_MIN      = 1;
+    private static final int    DEFAULT_MAX      = 1001;
+    private static final long   DEFAULT_GAMES    = 1_000_000;
+    private static final int    GAMES_ARG        = 0;
+    private static final int    SEED_ARG         = 1;
+
+    private final int                               min;
+    private final int                               max;
+    private final int                               slots;
+    private final Supplier<? extends PlacementRule> rules;
+
+    /**
+     * Report of an evaluation
+     * @param games played
+     * @param wins among the games played
+     * @param numbersPlaced over every game, including placements the rule rejected
+     * @param elapsedNanos taken by the evaluation
+     */
+    public record Report(
+        long games,
+        long wins,
+        long numbersPlaced,
+        long elapsedNanos
+    ) {
+        /**
+         * winRate of the strategy
+         * @return share of games won, from 0 to 1
+         */
+        public double winRate()
+        {
+            return (double) this.wins / this.games;
+        }
+
+        /**
+         * averagePlaced numbers per game
+         * @return average numbers placed
+         */
+        public double averagePlaced()
+        {
+            return (double) this.numbersPlaced / this.games;
+        }
+
+        /**
+         * gamesPerSecond played by the evaluation
+         * @return games per second
+         */
+        public double gamesPerSecond()
+        {
+            return this.games * NANOS_PER_SECOND / Math.max(1, this.elapsedNanos);
+        }
+
+        /**
+         * toString summarizes the evaluation on one line
+         * @return formatted report
+         */
+        @Override
+        public String toString()
+        {
+            return String.format(
+                "%d games, win rate %.4f%%, %.2f placed per game, %.0f games/s",
+                this.games,
+                this.winRate() * 100,
+                this.averagePlaced(),
+                this.gamesPerSecond()
+            );
+        }
+    }
+
+    /**
+     * NumberGameEvaluator constructor for the game NumberGame plays,
+     * 20 slots of numbers from 1 to 1000 in ascending order
+     */
+    public NumberGameEvaluator()
+    {
+        this(DEFAULT_MIN, DEFAULT_MAX, NumberGameEngine.DEFAULT_SLOTS, AscendingPlacement::new);
+    }
+
+    /**
+     * NumberGameEvaluator constructor
+     * @param min number that can be drawn
+     * @param max bound of the numbers drawn, as RandomNumberGenerator takes it
+     * @param slots to fill to win
+     * @param rules creating a PlacementRule for each thread
+     */
+    public NumberGameEvaluator(
+        final int                               min,
+        final int                               max,
+        final int                               slots,
+        final Supplier<? extends PlacementRule> rules
+    ) {
+        if (min < MIN_NUMBER || max <= min)
+        {
+            throw new IllegalArgumentException("Numbers must be above 0 with min below max");
+        }
+
+        this.min   = min;
+        this.max   = max;
+        this.slots = slots;
+        this.rules = rules;
+    }
+
+    /**
+     * evaluate a strategy over a number of games on every core
+     * @param strategy to evaluate, called from many threads
+     * @param games to play
+     * @param seed the games are drawn from
+     * @return report of the evaluation
+     */
+    public Report evaluate(
+        final PlacementStrategy strategy,
+        final long              games,
+        final long              seed
+    ) {
+        if (games < MIN_GAMES)
+        {
+            throw new IllegalArgumentException("At least one game must be played");
+        }
+
+        final long           chunks;
+        final SeededRandom[] randoms;
+        final SeededRandom   root;
+        final long           startNanos;
+        final long[]         totals;
+
+        chunks  = (games + CHUNK_GAMES - 1) / CHUNK_GAMES;
+        randoms = new SeededRandom[(int) chunks];
+        root    = new SeededRandom(seed);
+
+        for (int chunk = 0; chunk < randoms.length; chunk++)
+        {
+            randoms[chunk] = root.split();
+        }
+
+        startNanos = System.nanoTime();
+        totals     = IntStream.range(0, randoms.length)
+                              .parallel()
+                              .mapToObj(chunk -> this.playChunk(
+                                  strategy,
+                                  Math.min(CHUNK_GAMES, games - (long) chunk * CHUNK_GAMES),
+                                  randoms[chunk]
+                              ))
+                              .reduce(new long[TOTALS_SIZE], NumberGameEvaluator::add);
+
+        return new Report(games, totals[WINS], totals[PLACED], System.nanoTime() - startNanos);
+    }
+
+    /*
+     * playChunk plays games one after another on one engine
+     * @param strategy to play
+     * @param games to play
+     * @param random drawing the numbers of these games
+     * @return wins and numbers placed
+     */
+    private long[] playChunk(
+        final PlacementStrategy strategy,
+        final long              games,
+        final SeededRandom      random
+    ) {
+        final NumberGameEngine engine;
+        final long[]           totals;
+
+        engine = new NumberGameEngine(
+            new RandomNumberGenerator(this.min, this.max, random),
+            this.rules.get(),
+            this.slots
+        );
+        totals = new long[TOTALS_SIZE];
+
+        for (long game = 0; game < games; game++)
+        {
+            if (game > 0)
+            {
+                engine.reset();
+            }
+
+            if (engine.play(strategy) == NumberGameEngine.Status.WON)
+            {
+                totals[WINS]++;
+            }
+
+            totals[PLACED] += engine.getNumbersPlaced();
+        }
+
+        return totals;
+    }
+
+    /*
+     * add the totals of two chunks
+     * @param first totals
+     * @param second totals
+     * @return summed totals
+     */
+    private static long[] add(
+        final long[] first,
+        final long[] second
+    ) {
+        return new long[] {first[WINS] + second[WINS], first[PLACED] + second[PLACED]};
+    }
+
+    /*
+     * firstValidSlot places a number in the first empty slot
+     * that keeps the filled slots ascending, the baseline a
+     * strategy has to beat
+     * @param positions of the game, 0 for an empty slot
+     * @param value to place
+     * @return index of the first valid slot, or the first slot if none is
+     */
+    private static int firstValidSlot(
+        final int[] positions,
+        final int   value
+    ) {
+        int lastBelow;
+
+        lastBelow = -1;
+
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] != EMPTY && positions[i] < value)
+            {
+                lastBelow = i;
+            }
+        }
+
+        if (lastBelow + 1 < positions.length && positions[lastBelow + 1] == EMPTY)
+        {
+            return lastBelow + 1;
+        }
+
+        return 0;
+    }
+
+    /**
+     * main evaluates the proportional strategy against
+     * placing every number in the first valid slot and
+     * against optimal play by NumberGameSolver
+     * @param args optional: games seed, defaults to 1000000 games
+     */
+    public static void main(final String[] args)
+    {
+        final long                games;
+        final SeededRandom        random;
+        final NumberGameEvaluator evaluator;
+
+        games     = args.length > GAMES_ARG ? Long.parseLong(args[GAMES_ARG]) : DEFAULT_GAMES;
+        random    = SeededRandom.fromSeedText(args.length > SEED_ARG ? args[SEED_ARG] : null);
+        evaluator = new NumberGameEvaluator();
+
+        System.out.println("Seed: " + random.getSeed());
+        System.out.println("Proportional: " + evaluator.evaluate(
+            new ProportionalPlacementStrategy(DEFAULT_MIN, DEFAULT_MAX - 1),
+            games,
+            random.nextLong()
+        ));
+        System.out.println("First valid:  " + evaluator.evaluate(
+            NumberGameEvaluator::firstValidSlot,
+            games,
+            random.nextLong()
+        ));
+        System.out.println("Optimal:      " + evaluator.evaluate(
+            new NumberGameSolver(),
+            games,
+            random.nextLong()
+        ));
+    }
+}
@@ -0,0 +1,448 @@
+package ca.bcit.comp2522.project;
+
+import java.util.stream.IntStream;
+
+/**
+ * NumberGameSolver plays the 20 Number Challenge optimally,
+ * choosing the slot that gives the best chance of winning
+ * for the numbers RandomNumberGenerator draws.
+ *
+ * The filled slots cut the board into gaps, runs of empty
+ * slots between two filled neighbors. Each gap only takes
+ * numbers between its neighbors, so a gap is fully known by
+ * its count of empty slots k and count of numbers m that fit
+ * in it, and the gaps are played independently: the game is
+ * won when each gap receives exactly as many of the remaining
+ * draws as it has slots and fills them. The expectimax over
+ * the next draw is memoized on (k, m) alone, in a dense table
+ * filled once per solver, one row of k at a time, each row
+ * across every core. The table counts the sequences of k
+ * draws out of m numbers that fill a gap played optimally,
+ * rather than their chance, so filling it only adds and
+ * multiplies entries with no powers.
+ *
+ * Once built, a solver keeps no state between calls, so one
+ * solver can be shared by NumberGame and by the threads of
+ * NumberGameEvaluator.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class NumberGameSolver
+    implements PlacementStrategy
+{
+    private static final int    EMPTY       = 0;
+    private static final int    NO_SLOT     = -1;
+    private static final int    MIN_NUMBER  = 1;
+    private static final int    MIN_SLOTS   = 1;
+    private static final int    DEFAULT_MIN = 1;
+    private static final int    DEFAULT_MAX = 1001;
+
+    private final int        min;
+    private final int        max;
+    private final int        slots;
+    private final double[][] winningDraws;
+    private final double[][] choose;
+
+    /**
+     * NumberGameSolver constructor for the game NumberGame plays,
+     * 20 slots of numbers from 1 to 1000 in ascending order
+     */
+    public NumberGameSolver()
+    {
+        this(DEFAULT_MIN, DEFAULT_MAX, NumberGameEngine.DEFAULT_SLOTS);
+    }
+
+    /**
+     * NumberGameSolver constructor, the win chances of every
+     * gap are computed here
+     * @param min number that can be drawn
+     * @param max bound of the numbers drawn, as RandomNumberGenerator takes it
+     * @param slots of the game
+     */
+    public NumberGameSolver(
+        final int min,
+        final int max,
+        final int slots
+    ) {
+        if (min < MIN_NUMBER || max <= min)
+        {
+            throw new IllegalArgumentException("Numbers must be above 0 with min below max");
+        }
+
+        if (slots < MIN_SLOTS)
+        {
+            throw new IllegalArgumentException("A game needs at least one slot");
+        }
+
+        this.min          = min;
+        this.max          = max;
+        this.slots        = slots;
+        this.choose       = binomials(slots);
+        this.winningDraws = new double[slots + 1][max - min + 1];
+
+        for (int numbers = 0; numbers < this.winningDraws[EMPTY].length; numbers++)
+        {
+            this.winningDraws[EMPTY][numbers] = 1;
+        }
+
+        for (int gapSlots = 1; gapSlots <= slots; gapSlots++)
+        {
+            final int k;
+
+            k = gapSlots;
+
+            IntStream.range(0, this.winningDraws[k].length)
+                     .parallel()
+                     .forEach(numbers -> this.winningDraws[k][numbers] = this.countWinningDraws(k, numbers));
+        }
+    }
+
+    /*
+     * countWinningDraws of a gap played optimally, the sum over
+     * every number the gap can draw first of the best split of
+     * the gap around it, from the rows of fewer slots
+     * @param gapSlots empty slots in the gap
+     * @param numbers that fit in the gap
+     * @return count of the sequences of gapSlots draws that fill the gap
+     */
+    private double countWinningDraws(
+        final int gapSlots,
+        final int numbers
+    ) {
+        if (numbers < gapSlots)
+        {
+            return 0;
+        }
+
+        double total;
+
+        total = 0;
+
+        for (int drawn = 1; drawn <= numbers; drawn++)
+        {
+            final int below;
+            final int above;
+            double    best;
+
+            below = drawn - 1;
+            above = numbers - drawn;
+            best  = 0;
+
+            for (int left = firstLeft(gapSlots, above); left <= lastLeft(gapSlots, below); left++)
+            {
+                best = Math.max(best, this.splitDraws(gapSlots, below, above, left));
+            }
+
+            total += best;
+        }
+
+        return total;
+    }
+
+    /*
+     * bestLeft finds the best slot for a number inside a gap,
+     * as the count of the gap's slots left of it
+     * @param gapSlots empty slots in the gap
+     * @param below numbers of the gap below the number placed
+     * @param above numbers of the gap above the number placed
+     * @return slots of the gap left of the best slot
+     */
+    private int bestLeft(
+        final int gapSlots,
+        final int below,
+        final int above
+    ) {
+        double best;
+        int    bestLeft;
+
+        best     = 0;
+        bestLeft = Math.min(gapSlots - 1, (int) ((long) gapSlots * below / (below + above + 1)));
+
+        for (int left = firstLeft(gapSlots, above); left <= lastLeft(gapSlots, below); left++)
+        {
+            final double chance;
+
+            chance = this.splitDraws(gapSlots, below, above, left);
+
+            if (chance > best)
+            {
+                best     = chance;
+                bestLeft = left;
+            }
+        }
+
+        return bestLeft;
+    }
+
+    /*
+     * splitDraws counts the sequences of the rest of the draws
+     * that fill a gap after placing a number in it, the ways to
+     * interleave the draws of each side times the winning draws
+     * of each side
+     * @param gapSlots empty slots in the gap
+     * @param below numbers of the gap below the number placed
+     * @param above numbers of the gap above the number placed
+     * @param left slots of the gap left of the number placed
+     * @return count of winning sequences of the rest of the draws
+     */
+    private double splitDraws(
+        final int gapSlots,
+        final int below,
+        final int above,
+        final int left
+    ) {
+        final int rest;
+
+        rest = gapSlots - 1;
+
+        return this.choose[rest][left] *
+               this.winningDraws[left][below] *
+               this.winningDraws[rest - left][above];
+    }
+
+    /*
+     * firstLeft slot count worth trying, the right side
+     * cannot hold more slots than it has numbers
+     * @param gapSlots empty slots in the gap
+     * @param above numbers of the gap above the number placed
+     * @return least slots left of the number
+     */
+    private static int firstLeft(
+        final int gapSlots,
+        final int above
+    ) {
+        return Math.max(0, gapSlots - 1 - above);
+    }
+
+    /*
+     * lastLeft slot count worth trying, the left side
+     * cannot hold more slots than it has numbers
+     * @param gapSlots empty slots in the gap
+     * @param below numbers of the gap below the number placed
+     * @return most slots left of the number
+     */
+    private static int lastLeft(
+        final int gapSlots,
+        final int below
+    ) {
+        return Math.min(gapSlots - 1, below);
+    }
+
+    /**
+     * chooseSlot picks the slot with the best chance of
+     * winning, or the first empty slot if the number fits
+     * nowhere
+     * @param positions of the game, 0 for an empty slot, not to be changed
+     * @param value to place
+     * @return index of an empty slot
+     */
+    @Override
+    public int chooseSlot(
+        final int[] positions,
+        final int   value
+    ) {
+        final int slot;
+
+        slot = this.bestSlot(positions, value);
+
+        if (slot != NO_SLOT)
+        {
+            return slot;
+        }
+
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] == EMPTY)
+            {
+                return i;
+            }
+        }
+
+        return NO_SLOT;
+    }
+
+    /**
+     * bestSlot for a number, the slot with the best
+     * chance of winning the game
+     * @param positions of the game, 0 for an empty slot
+     * @param value to place
+     * @return index of the best slot, or -1 if the number fits nowhere
+     */
+    public int bestSlot(
+        final int[] positions,
+        final int   value
+    ) {
+        this.checkSlots(positions);
+
+        int below;
+        int gapStart;
+
+        below    = this.min - 1;
+        gapStart = 0;
+
+        for (int i = 0; i <= positions.length; i++)
+        {
+            if (i < positions.length && positions[i] == EMPTY)
+            {
+                continue;
+            }
+
+            final int above;
+
+            above = i < positions.length ? positions[i] : this.max;
+
+            if (i > gapStart && below < value && value < above)
+            {
+                return gapStart + this.bestLeft(i - gapStart, value - below - 1, above - value - 1);
+            }
+
+            below    = above;
+            gapStart = i + 1;
+        }
+
+        return NO_SLOT;
+    }
+
+    /**
+     * winChance of a game before the next number is drawn,
+     * if every number from now on is placed by the solver
+     * @param positions of the game, 0 for an empty slot
+     * @return chance of winning, 0 if the filled slots do not ascend
+     */
+    public double winChance(final int[] positions)
+    {
+        this.checkSlots(positions);
+
+        final double drawable;
+        double       chance;
+        int          remaining;
+        int          below;
+        int          gapStart;
+
+        drawable  = this.max - this.min;
+        chance    = 1;
+        remaining = 0;
+        below     = this.min - 1;
+        gapStart  = 0;
+
+        for (int i = 0; i <= positions.length; i++)
+        {
+            if (i < positions.length && positions[i] == EMPTY)
+            {
+                continue;
+            }
+
+            final int above;
+            final int gapSlots;
+            final int numbers;
+
+            above    = i < positions.length ? positions[i] : this.max;
+            gapSlots = i - gapStart;
+            numbers  = above - below - 1;
+
+            if (numbers < 0)
+            {
+                return 0;
+            }
+
+            // The multinomial chance the draws divide between the gaps as their slots do
+            remaining += gapSlots;
+            chance    *= this.choose[remaining][gapSlots] *
+                         this.winningDraws[gapSlots][numbers] /
+                         Math.pow(drawable, gapSlots);
+
+            below    = above;
+            gapStart = i + 1;
+        }
+
+        return chance;
+    }
+
+    /**
+     * winChance of a game with a number drawn, if the solver
+     * places it and every number after it
+     * @param positions of the game, 0 for an empty slot
+     * @param value drawn
+     * @return chance of winning, 0 if the number fits nowhere
+     */
+    public double winChance(
+        final int[] positions,
+        final int   value
+    ) {
+        final int slot;
+
+        slot = this.bestSlot(positions, value);
+
+        if (slot == NO_SLOT)
+        {
+            return 0;
+        }
+
+        final int[] placed;
+
+        placed       = positions.clone();
+        placed[slot] = value;
+
+        return this.winChance(placed);
+    }
+
+    /*
+     * checkSlots ensures a game fits the table of the solver
+     * @param positions of the game
+     */
+    private void checkSlots(final int[] positions)
+    {
+        if (positions.length > this.slots)
+        {
+            throw new IllegalArgumentException(
+                "Solver built for " + this.slots + " slots, not " + positions.length
+            );
+        }
+    }
+
+    /*
+     * binomials builds Pascal's triangle up to a row
+     * @param rows of the triangle
+     * @return n choose k at [n][k]
+     */
+    private static double[][] binomials(final int rows)
+    {
+        final double[][] choose;
+
+        choose = new double[rows + 1][rows + 1];
+
+        for (int n = 0; n <= rows; n++)
+        {
+            choose[n][0] = 1;
+
+            for (int k = 1; k <= n; k++)
+            {
+                choose[n][k] = choose[n - 1][k - 1] + choose[n - 1][k];
+            }
+        }
+
+        return choose;
+    }
+
+    /**
+     * main prints the chance of winning an empty game played
+     * optimally, for every slot count up to 20
+     * @param args unused
+     */
+    public static void main(final String[] args)
+    {
+        final long             startNanos;
+        final NumberGameSolver solver;
+
+        startNanos = System.nanoTime();
+        solver     = new NumberGameSolver();
+
+        System.out.printf("Table built in %.0f ms%n", (System.nanoTime() - startNanos) / 1_000_000.0);
+
+        for (int gameSlots = MIN_SLOTS; gameSlots <= solver.slots; gameSlots++)
+        {
+            System.out.printf("%2d slots: %.6f%%%n", gameSlots, solver.winChance(new int[gameSlots]) * 100);
+        }
+    }
+}
@@ -5,6 +5,10 @@ package ca.bcit.comp2522.project;
  * that must be implemented to validate positions
  * in a number game.
  *
+ * A rule is stateless. The checks on FilledSlots let a
+ * rule use the index of the filled slots kept by the
+ * game, by default they check its positions array.
+ *
  * @author Braeden Sowinski
  * @version 1.0.0
  */
@@ -33,4 +37,32 @@ public abstract class PlacementRule
         final int[] positions,
         final int   nextValue
     );
+
+    /**
+     * isValidPlacement of a value placed in indexed slots
+     * @param slots of the game, with the value already placed
+     * @param index to check if value can be placed here
+     * @param value to be placed
+     * @return if value can be placed at index
+     */
+    public boolean isValidPlacement(
+        final FilledSlots slots,
+        final int         index,
+        final int         value
+    ) {
+        return this.isValidPlacement(slots.positions(), index, value);
+    }
+
+    /**
+     * canPlaceNext on indexed slots
+     * @param slots of the game
+     * @param nextValue to place
+     * @return if next value to place can be placed at all
+     */
+    public boolean canPlaceNext(
+        final FilledSlots slots,
+        final int         nextValue
+    ) {
+        return this.canPlaceNext(slots.positions(), nextValue);
+    }
 }
@@ -0,0 +1,27 @@
+package ca.bcit.comp2522.project;
+
+/**
+ * PlacementStrategy chooses where a number goes in the
+ * 20 Number Challenge, so NumberGameEngine can play a
+ * game without a person picking the slots.
+ *
+ * Strategies shared by NumberGameEvaluator are called
+ * from many threads and must keep no state between calls.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface PlacementStrategy
+{
+    /**
+     * chooseSlot picks an empty slot for a number
+     * @param positions of the game, 0 for an empty slot, not to be changed
+     * @param value to place
+     * @return index of an empty slot
+     */
+    int chooseSlot(
+        final int[] positions,
+        final int   value
+    );
+}
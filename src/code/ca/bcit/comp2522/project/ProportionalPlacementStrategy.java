@@ -0,0 +1,121 @@
+package ca.bcit.comp2522.project;
+
+/**
+ * ProportionalPlacementStrategy places a number among the
+ * empty slots between its nearest smaller and larger
+ * neighbors, at the point matching where the number falls
+ * between them, keeping room on both sides for the numbers
+ * still to come.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class ProportionalPlacementStrategy
+    implements PlacementStrategy
+{
+    private static final int EMPTY     = 0;
+    private static final int NOT_FOUND = -1;
+
+    private final int min;
+    private final int max;
+
+    /**
+     * ProportionalPlacementStrategy constructor for
+     * the range the numbers are drawn from
+     * @param min number that can be drawn
+     * @param max number that can be drawn
+     */
+    public ProportionalPlacementStrategy(
+        final int min,
+        final int max
+    ) {
+        if (min > max)
+        {
+            throw new IllegalArgumentException("Min cannot be above max");
+        }
+
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * chooseSlot finds the run of empty slots the value
+     * fits in and picks the slot in proportion to the
+     * value's place between the numbers bounding the run
+     * @param positions of the game, 0 for an empty slot
+     * @param value to place
+     * @return index of an empty slot, the first empty slot if none is valid
+     */
+    @Override
+    public int chooseSlot(
+        final int[] positions,
+        final int   value
+    ) {
+        int lowIndex;
+        int lowValue;
+
+        lowIndex = NOT_FOUND;
+        lowValue = this.min - 1;
+
+        // Last filled slot holding a number not above the value
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] != EMPTY && positions[i] <= value)
+            {
+                lowIndex = i;
+                lowValue = positions[i];
+            }
+        }
+
+        int highIndex;
+        int highValue;
+
+        highIndex = positions.length;
+        highValue = this.max + 1;
+
+        for (int i = lowIndex + 1; i < positions.length; i++)
+        {
+            if (positions[i] != EMPTY)
+            {
+                highIndex = i;
+                highValue = positions[i];
+                break;
+            }
+        }
+
+        final int runStart;
+        final int runLength;
+
+        runStart  = lowIndex + 1;
+        runLength = highIndex - runStart;
+
+        if (runLength <= 0)
+        {
+            return firstEmpty(positions);
+        }
+
+        final double share;
+
+        share = (double) (value - lowValue) / (highValue - lowValue);
+
+        return runStart + Math.min(runLength - 1, (int) (share * runLength));
+    }
+
+    /*
+     * firstEmpty slot of the game
+     * @param positions of the game
+     * @return index of the first empty slot
+     */
+    private static int firstEmpty(final int[] positions)
+    {
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] == EMPTY)
+            {
+                return i;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+}
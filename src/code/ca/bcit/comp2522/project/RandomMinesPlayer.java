@@ -0,0 +1,86 @@
+package ca.bcit.comp2522.project;
+
+/**
+ * RandomMinesPlayer reveals hidden cells at random,
+ * the simplest load a simulation can put on the board,
+ * and the baseline any smarter player should beat.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class RandomMinesPlayer
+    implements MinesPlayer
+{
+    private static final int NOT_FOUND = -1;
+    private static final int MAX_DRAWS = 8;
+
+    private final SeededRandom random;
+
+    /**
+     * RandomMinesPlayer constructor
+     * @param random service the cells are drawn from
+     */
+    public RandomMinesPlayer(final SeededRandom random)
+    {
+        this.random = random;
+    }
+
+    /**
+     * chooseCell draws random cells until one is hidden,
+     * then falls back to the next hidden cell after a
+     * random start, so a nearly cleared board does not
+     * keep drawing revealed cells
+     * @param game being played
+     * @return index of a hidden, unflagged cell
+     */
+    @Override
+    public int chooseCell(final Mines game)
+    {
+        final int totalCells;
+
+        totalCells = game.getWidth() * game.getHeight();
+
+        for (int draw = 0; draw < MAX_DRAWS; draw++)
+        {
+            final int cell;
+
+            cell = this.random.nextInt(totalCells);
+
+            if (isHidden(game, cell))
+            {
+                return cell;
+            }
+        }
+
+        final int start;
+
+        start = this.random.nextInt(totalCells);
+
+        for (int offset = 0; offset < totalCells; offset++)
+        {
+            final int cell;
+
+            cell = (start + offset) % totalCells;
+
+            if (isHidden(game, cell))
+            {
+                return cell;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    /*
+     * isHidden checks if a cell can be revealed
+     * @param game being played
+     * @param cell to check
+     * @return true if the cell is not revealed or flagged
+     */
+    private static boolean isHidden(
+        final Mines game,
+        final int   cell
+    ) {
+        return !game.isRevealed(cell) && !game.isFlagged(cell);
+    }
+}
@@ -1,7 +1,5 @@
 package ca.bcit.comp2522.project;
 
-import java.util.Random;
-
 /**
  * RandomNumberGenerator is a helper class
  * that generates random numbers within a
@@ -13,9 +11,9 @@ import java.util.Random;
 public class RandomNumberGenerator
     implements Generator
 {
-    private final Random random;
-    private final int min;
-    private final int max;
+    private final SeededRandom random;
+    private final int          min;
+    private final int          max;
 
     /**
      * RandomNumberGenerator constructor
@@ -26,7 +24,22 @@ public class RandomNumberGenerator
         final int min,
         final int max
     ) {
-        this.random = new Random();
+        this(min, max, new SeededRandom());
+    }
+
+    /**
+     * RandomNumberGenerator constructor drawing
+     * from a shared random number service
+     * @param min number that can be randomly generated inclusive
+     * @param max number that can be randomly generated inclusive
+     * @param random service to draw numbers from
+     */
+    public RandomNumberGenerator(
+        final int          min,
+        final int          max,
+        final SeededRandom random
+    ) {
+        this.random = random;
 
         this.min = min;
         this.max = max;
@@ -1,15 +1,17 @@
 package ca.bcit.comp2522.project;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Score manager for WordGame, writes and reads
@@ -22,22 +24,33 @@ import java.util.List;
  */
 public class Score
 {
-    private static final String DATE_PATTERN        = "yyyy-MM-dd HH:mm:ss";
     private static final int    FIRST_GUESS_POINTS  = 2;
     private static final int    SECOND_GUESS_POINTS = 1;
-    private static final int    SPLIT_VALUE         = 1;
-
-    private final String dateTimePlayed;
-    private final int    numGamesPlayed;
-    private final int    numCorrectFirstAttempt;
-    private final int    numCorrectSecondAttempt;
-    private final int    numIncorrectTwoAttempts;
-    private final int    score;
+    private static final int    RECORD_FIELDS       = 5;
+    private static final int    DATE_FIELD          = 0;
+    private static final int    GAMES_FIELD         = 1;
+    private static final int    FIRST_FIELD         = 2;
+    private static final int    SECOND_FIELD        = 3;
+    private static final int    INCORRECT_FIELD     = 4;
+    private static final int    TOTALS_SIZE         = 2;
+    private static final int    TOTAL_POINTS        = 0;
+    private static final int    TOTAL_GAMES         = 1;
+    private static final int    SECONDS_PER_DAY     = 86_400;
+    private static final int    TEXT_CAPACITY       = 160;
+
+    private final long epochSecond;
+    private final int  numGamesPlayed;
+    private final int  numCorrectFirstAttempt;
+    private final int  numCorrectSecondAttempt;
+    private final int  numIncorrectTwoAttempts;
+    private final int  score;
 
     /**
      * appendScoreToFile takes in a Score object
      * and filepath, appends Score values to file
-     * accordingly.
+     * accordingly. The write is batched with other
+     * appends by the shared ScoreWriter of the file,
+     * this returns once the Score is committed.
      * @param score to append to filepath
      * @param scoreFilePath filepath to append Score to
      */
@@ -47,16 +60,11 @@ public class Score
     ) {
         try
         {
-            final BufferedWriter writer;
-
-            writer = new BufferedWriter(new FileWriter(scoreFilePath, true));
-
-            writer.write(score.toString());
-            writer.newLine();
-
-            writer.close();
+            ScoreWriter.forFile(scoreFilePath)
+                       .append(score.toString() + System.lineSeparator())
+                       .join();
         }
-        catch (final IOException e)
+        catch (final CompletionException e)
         {
             System.err.println("Failed to write score.txt");
         }
@@ -70,60 +78,53 @@ public class Score
      */
     public static List<Score> readScoresFromFile(final String scoreFilePath)
     {
-        final List<Score> scores;
-
-        scores = new ArrayList<>();
+        try (final Stream<Score> scores = streamScoresFromFile(scoreFilePath))
+        {
+            return scores.collect(Collectors.toCollection(ArrayList::new));
+        }
+        catch (final UncheckedIOException e)
+        {
+            System.err.println("Failed to read score log file.");
+            return new ArrayList<>();
+        }
+    }
 
+    /**
+     * streamScoresFromFile reads Scores from the given
+     * filepath one at a time as the stream is consumed.
+     * Call parallel on the stream to split the file
+     * across cores, the stream must be closed to close
+     * the file.
+     * @param scoreFilePath to read scores from
+     * @return ordered stream of Scores, empty if the file cannot be opened
+     */
+    public static Stream<Score> streamScoresFromFile(final String scoreFilePath)
+    {
         try
         {
-            final BufferedReader reader;
-
-            reader = new BufferedReader(new FileReader(scoreFilePath));
-
-            String line;
-            while ((line = reader.readLine()) != null)
-            {
-
-                if (!line.isBlank() && line.contains("Date and Time: "))
-                {
-                    final DateTimeFormatter formatter;
-                    final String            dateTime;
-                    final Score             score;
-                    final String            games;
-                    final String            correctFirst;
-                    final String            correctSecond;
-                    final String            incorrect;
-
-                    formatter = DateTimeFormatter.ofPattern(DATE_PATTERN);
-
-                    dateTime      = line.split(": ")[SPLIT_VALUE];
-                    games         = reader.readLine().split(": ")[SPLIT_VALUE];
-                    correctFirst  = reader.readLine().split(": ")[SPLIT_VALUE];
-                    correctSecond = reader.readLine().split(": ")[SPLIT_VALUE];
-                    incorrect     = reader.readLine().split(": ")[SPLIT_VALUE];
-
-                    reader.readLine(); // Skip over score line
-
-                    score = new Score(
-                        LocalDateTime.parse(dateTime, formatter),
-                        Integer.parseInt(games),
-                        Integer.parseInt(correctFirst),
-                        Integer.parseInt(correctSecond),
-                        Integer.parseInt(incorrect)
-                    );
-
-                    scores.add(score);
-                }
-            }
-
-            reader.close();
+            return ScoreLogSpliterator.stream(scoreFilePath, RECORD_FIELDS, Score::parseRecord);
         }
         catch (final IOException e)
         {
             System.err.println("Failed to open score log file.");
+            return Stream.empty();
         }
+    }
 
-        return scores;
+    /*
+     * parseRecord builds a Score from the values of a score log record
+     * @param fields date, games, first, second, and incorrect values
+     * @return parsed Score
+     */
+    private static Score parseRecord(final String[] fields)
+    {
+        return new Score(
+            DateTimes.parseEpochSecond(fields[DATE_FIELD]),
+            Integer.parseInt(fields[GAMES_FIELD]),
+            Integer.parseInt(fields[FIRST_FIELD]),
+            Integer.parseInt(fields[SECOND_FIELD]),
+            Integer.parseInt(fields[INCORRECT_FIELD])
+        );
     }
 
     /**
@@ -133,11 +134,64 @@ public class Score
      */
     public static Score getHighScore(final List<Score> scores)
     {
-        return scores.stream()
+        return getHighScore(scores.stream());
+    }
+
+    /**
+     * getHighScore from a stream of Scores, holding
+     * only the best Score so far in memory
+     * @param scores stream to find high-score from
+     * @return high Score from the stream, or null if empty
+     */
+    public static Score getHighScore(final Stream<Score> scores)
+    {
+        return scores
                 .min(Comparator.comparingInt(Score::getScore))
                 .orElse(null);
     }
 
+    /**
+     * calculateAverage points per game over a stream of
+     * Scores, weighting each Score by its games played.
+     * Safe to call on a parallel stream, each thread sums
+     * its own totals and the totals are combined after.
+     * @param scores stream to average
+     * @return average points per game, 0 if no games were played
+     */
+    public static float calculateAverage(final Stream<Score> scores)
+    {
+        final long[] totals;
+
+        totals = scores.collect(
+            () -> new long[TOTALS_SIZE],
+            (sums, score) -> {
+                sums[TOTAL_POINTS] += score.getScore();
+                sums[TOTAL_GAMES]  += score.getNumGamesPlayed();
+            },
+            (sums, other) -> {
+                sums[TOTAL_POINTS] += other[TOTAL_POINTS];
+                sums[TOTAL_GAMES]  += other[TOTAL_GAMES];
+            }
+        );
+
+        return totals[TOTAL_GAMES] == 0 ? 0 : (float) totals[TOTAL_POINTS] / totals[TOTAL_GAMES];
+    }
+
+    /**
+     * countByDay counts the Scores recorded on each day,
+     * holding one count per day rather than every Score
+     * @param scores stream to count
+     * @return number of Scores per day, oldest day first
+     */
+    public static SortedMap<LocalDate, Long> countByDay(final Stream<Score> scores)
+    {
+        return scores.collect(Collectors.groupingBy(
+            score -> LocalDate.ofEpochDay(Math.floorDiv(score.getEpochSecond(), SECONDS_PER_DAY)),
+            TreeMap::new,
+            Collectors.counting()
+        ));
+    }
+
     /**
      * isHighScore takes a List of Scores and
      * new Score to check if the new Score is
@@ -176,11 +230,32 @@ public class Score
         final int numCorrectSecondAttempt,
         final int numIncorrectTwoAttempts
     ) {
-        final DateTimeFormatter formatter;
-
-        formatter = DateTimeFormatter.ofPattern(DATE_PATTERN);
+        this(
+            DateTimes.toEpochSecond(dateTime),
+            numGamesPlayed,
+            numCorrectFirstAttempt,
+            numCorrectSecondAttempt,
+            numIncorrectTwoAttempts
+        );
+    }
 
-        this.dateTimePlayed = dateTime.format(formatter);
+    /**
+     * Score constructor for a date already counted in
+     * epoch seconds, as read back from a score file
+     * @param epochSecond the score was recorded, see DateTimes
+     * @param numGamesPlayed is the number of WordGames played
+     * @param numCorrectFirstAttempt is the number of times a guess was correct first try
+     * @param numCorrectSecondAttempt is the number of times a guess was correct on second try
+     * @param numIncorrectTwoAttempts is the number of times both guesses were incorrect
+     */
+    Score(
+        final long epochSecond,
+        final int numGamesPlayed,
+        final int numCorrectFirstAttempt,
+        final int numCorrectSecondAttempt,
+        final int numIncorrectTwoAttempts
+    ) {
+        this.epochSecond = epochSecond;
 
         this.numGamesPlayed          = numGamesPlayed;
         this.numCorrectFirstAttempt  = numCorrectFirstAttempt;
@@ -192,12 +267,66 @@ public class Score
     }
 
     /**
-     * getDateTimePlayed of Score
+     * getDateTimePlayed of Score, formatted when asked
      * @return dateTimePlayed as a String
      */
     public String getDateTimePlayed()
     {
-        return this.dateTimePlayed;
+        return DateTimes.format(this.epochSecond);
+    }
+
+    /**
+     * getDateTime the Score was recorded, to the second
+     * @return dateTime of the Score
+     */
+    LocalDateTime getDateTime()
+    {
+        return DateTimes.toLocalDateTime(this.epochSecond);
+    }
+
+    /**
+     * getEpochSecond the Score was recorded
+     * @return seconds since 1970-01-01 00:00:00, see DateTimes
+     */
+    long getEpochSecond()
+    {
+        return this.epochSecond;
+    }
+
+    /**
+     * getNumGamesPlayed for this Score
+     * @return number of WordGames played
+     */
+    int getNumGamesPlayed()
+    {
+        return this.numGamesPlayed;
+    }
+
+    /**
+     * getNumCorrectFirstAttempt for this Score
+     * @return number of guesses correct first try
+     */
+    int getNumCorrectFirstAttempt()
+    {
+        return this.numCorrectFirstAttempt;
+    }
+
+    /**
+     * getNumCorrectSecondAttempt for this Score
+     * @return number of guesses correct on second try
+     */
+    int getNumCorrectSecondAttempt()
+    {
+        return this.numCorrectSecondAttempt;
+    }
+
+    /**
+     * getNumIncorrectTwoAttempts for this Score
+     * @return number of times both guesses were incorrect
+     */
+    int getNumIncorrectTwoAttempts()
+    {
+        return this.numIncorrectTwoAttempts;
     }
 
     /**
@@ -210,10 +339,10 @@ public class Score
     {
         final StringBuilder log;
 
-        log = new StringBuilder();
+        log = new StringBuilder(TEXT_CAPACITY);
 
         log.append("Date and Time: ");
-        log.append(this.dateTimePlayed);
+        DateTimes.appendTo(log, this.epochSecond);
         log.append("\n");
         log.append("Games Played: ");
         log.append(this.numGamesPlayed);
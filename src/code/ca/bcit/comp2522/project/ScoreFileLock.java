@@ -0,0 +1,96 @@
+package ca.bcit.comp2522.project;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ScoreFileLock gives one writer at a time, across every
+ * thread and every game process, the right to change a
+ * score file.
+ *
+ * A FileChannel lock only keeps other processes out, two
+ * threads of one process asking for it would fail instead
+ * of waiting, so threads first queue on a lock kept per
+ * file. Readers never take the lock, writers keep each
+ * change readable at every point instead.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public final class ScoreFileLock
+{
+    private static final Map<Path, ReentrantLock> THREAD_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * LockedWrite is the change made to a score
+     * file while its lock is held
+     */
+    public interface LockedWrite
+    {
+        /**
+         * write changes the file, no other writer runs meanwhile
+         * @throws IOException if the file cannot be written
+         */
+        void write()
+            throws IOException;
+    }
+
+    /*
+     * ScoreFileLock is not constructed, locks are held
+     * only for the length of a write
+     */
+    private ScoreFileLock()
+    {
+    }
+
+    /**
+     * writeLocked waits until no other thread or process
+     * is writing the file, then makes the write holding
+     * the lock, releasing it once the write returns or throws
+     * @param file being locked, used to find the thread lock
+     * @param channel open for writing on the file
+     * @param write change to make while the file is locked
+     * @throws IOException if the file cannot be locked or written
+     */
+    public static void writeLocked(
+        final Path        file,
+        final FileChannel channel,
+        final LockedWrite write
+    )
+        throws IOException
+    {
+        final ReentrantLock threadLock;
+
+        threadLock = THREAD_LOCKS.computeIfAbsent(
+            file.toAbsolutePath().normalize(),
+            path -> new ReentrantLock()
+        );
+
+        threadLock.lock();
+
+        try
+        {
+            final FileLock fileLock;
+
+            fileLock = channel.lock();
+
+            try
+            {
+                write.write();
+            }
+            finally
+            {
+                fileLock.release();
+            }
+        }
+        finally
+        {
+            threadLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package ca.bcit.comp2522.project;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * ScoreLogReader reads the records of a score log one at a
+ * time, so a log of any size is read in constant memory and
+ * reading can stop as soon as the caller has what it needs.
+ *
+ * Both score logs write a record as lines of "Name: value",
+ * starting with a "Date and Time: " line. The reader collects
+ * the values of a fixed number of lines from that marker and
+ * hands them to a parser. A record cut short, such as the
+ * last record of a log whose write was interrupted, or one
+ * the parser rejects, is skipped.
+ *
+ * Lines come from a LineSource, a BufferedReader for a
+ * sequential read, or a memory mapped range of the file
+ * when ScoreLogSpliterator splits a log across threads.
+ *
+ * @param <T> type of score the records are parsed into
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class ScoreLogReader<T>
+    implements Iterator<T>, Closeable
+{
+    public static final String RECORD_MARKER = "Date and Time: ";
+
+    private static final String FIELD_SEPARATOR = ": ";
+    private static final int    NOT_FOUND       = -1;
+
+    private final LineSource            lines;
+    private final int                   fieldCount;
+    private final Function<String[], T> parser;
+
+    private String pendingLine;
+    private T      next;
+
+    /**
+     * LineSource supplies the lines of a score log,
+     * returning null once there are no more to read
+     */
+    public interface LineSource
+        extends Closeable
+    {
+        /**
+         * readLine returns the next line without its line ending
+         * @return next line, or null at the end
+         * @throws IOException if the log cannot be read
+         */
+        String readLine()
+            throws IOException;
+    }
+
+    /**
+     * ScoreLogReader constructor over an open reader
+     * @param reader of the score log, closed by close
+     * @param fieldCount number of lines in a record, marker included
+     * @param parser building a score from the values of a record
+     */
+    public ScoreLogReader(
+        final BufferedReader        reader,
+        final int                   fieldCount,
+        final Function<String[], T> parser
+    ) {
+        this(
+            new LineSource()
+            {
+                @Override
+                public String readLine()
+                    throws IOException
+                {
+                    return reader.readLine();
+                }
+
+                @Override
+                public void close()
+                    throws IOException
+                {
+                    reader.close();
+                }
+            },
+            fieldCount,
+            parser
+        );
+    }
+
+    /**
+     * ScoreLogReader constructor over a source of lines
+     * @param lines of the score log, closed by close
+     * @param fieldCount number of lines in a record, marker included
+     * @param parser building a score from the values of a record
+     */
+    public ScoreLogReader(
+        final LineSource            lines,
+        final int                   fieldCount,
+        final Function<String[], T> parser
+    ) {
+        if (fieldCount < 1)
+        {
+            throw new IllegalArgumentException("A record has at least one field");
+        }
+
+        this.lines      = lines;
+        this.fieldCount = fieldCount;
+        this.parser     = parser;
+    }
+
+    /**
+     * hasNext reads ahead to the next complete record
+     * @return true if there is another record
+     * @throws UncheckedIOException if the log cannot be read
+     */
+    @Override
+    public boolean hasNext()
+    {
+        while (this.next == null)
+        {
+            final String[] fields;
+
+            fields = this.readRecord();
+
+            if (fields == null)
+            {
+                return false;
+            }
+
+            try
+            {
+                this.next = this.parser.apply(fields);
+            }
+            catch (final DateTimeException | IllegalArgumentException e)
+            {
+                // Damaged record, skip to the next one
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * next record of the log
+     * @return parsed score
+     * @throws NoSuchElementException if there are no more records
+     */
+    @Override
+    public T next()
+    {
+        if (!this.hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        final T record;
+
+        record    = this.next;
+        this.next = null;
+
+        return record;
+    }
+
+    /**
+     * close the score log
+     * @throws IOException if the log fails to close
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        this.lines.close();
+    }
+
+    /*
+     * readRecord finds the next marker line and collects the
+     * values of the record, a marker met early starts over
+     * @return values of the record, or null at the end of the log
+     */
+    private String[] readRecord()
+    {
+        final String[] fields;
+
+        fields = new String[this.fieldCount];
+
+        String line;
+
+        while ((line = this.readLine()) != null)
+        {
+            if (!line.startsWith(RECORD_MARKER))
+            {
+                continue;
+            }
+
+            fields[0] = line.substring(RECORD_MARKER.length());
+
+            int field;
+
+            for (field = 1; field < this.fieldCount; field++)
+            {
+                line = this.readLine();
+
+                if (line == null || line.startsWith(RECORD_MARKER))
+                {
+                    this.pendingLine = line;
+                    break;
+                }
+
+                final int separator;
+
+                separator = line.indexOf(FIELD_SEPARATOR);
+
+                if (separator == NOT_FOUND)
+                {
+                    break;
+                }
+
+                fields[field] = line.substring(separator + FIELD_SEPARATOR.length());
+            }
+
+            if (field == this.fieldCount)
+            {
+                return fields;
+            }
+        }
+
+        return null;
+    }
+
+    /*
+     * readLine returns a line put back by readRecord
+     * before reading a new one
+     * @return next line, or null at the end of the log
+     */
+    private String readLine()
+    {
+        if (this.pendingLine != null)
+        {
+            final String line;
+
+            line             = this.pendingLine;
+            this.pendingLine = null;
+
+            return line;
+        }
+
+        try
+        {
+            return this.lines.readLine();
+        }
+        catch (final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
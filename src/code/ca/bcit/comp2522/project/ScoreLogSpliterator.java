@@ -0,0 +1,436 @@
+package ca.bcit.comp2522.project;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ScoreLogSpliterator reads a score log through memory
+ * mapped windows and splits it into byte ranges that can
+ * be parsed on different threads, so a parallel stream
+ * over a multi-gigabyte history uses every core.
+ *
+ * A range owns every record whose "Date and Time: " marker
+ * starts inside it. Splitting picks the middle of a range
+ * and moves forward to the next line starting with the
+ * marker, so no record is cut in two. While parsing, the
+ * last record of a range is read past the range's end,
+ * and a marker line past the end stops the range.
+ *
+ * Records are parsed by a ScoreLogReader, so damaged or
+ * truncated records are skipped the same way. A last line
+ * with no line ending is being written by another game and
+ * is left out, so a reader never waits on a writer.
+ *
+ * @param <T> type of score the records are parsed into
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class ScoreLogSpliterator<T>
+    implements Spliterator<T>
+{
+    private static final byte[] MARKER_BYTES           = ScoreLogReader.RECORD_MARKER.getBytes(StandardCharsets.UTF_8);
+    private static final int    WINDOW_BYTES           = 1 << 24;
+    private static final long   MIN_SPLIT_BYTES        = 1 << 16;
+    private static final int    ESTIMATED_RECORD_BYTES = 128;
+    private static final int    END_OF_FILE            = -1;
+    private static final int    HALF                   = 2;
+
+    private final FileChannel           channel;
+    private final long                  fileSize;
+    private final long                  end;
+    private final int                   fieldCount;
+    private final Function<String[], T> parser;
+    private final MappedWindow          window;
+
+    private long              start;
+    private ScoreLogReader<T> records;
+
+    /*
+     * ScoreLogSpliterator constructor over a byte range of a log
+     * @param channel open on the score log, shared by every split
+     * @param fileSize of the log when it was opened
+     * @param start of the range, 0 or the start of a marker line
+     * @param end of the range, exclusive
+     * @param fieldCount number of lines in a record, marker included
+     * @param parser building a score from the values of a record
+     */
+    private ScoreLogSpliterator(
+        final FileChannel           channel,
+        final long                  fileSize,
+        final long                  start,
+        final long                  end,
+        final int                   fieldCount,
+        final Function<String[], T> parser
+    ) {
+        this.channel    = channel;
+        this.fileSize   = fileSize;
+        this.start      = start;
+        this.end        = end;
+        this.fieldCount = fieldCount;
+        this.parser     = parser;
+        this.window     = new MappedWindow(channel, fileSize);
+    }
+
+    /**
+     * stream the records of a score log lazily, the stream
+     * can be made parallel and must be closed to close the file
+     * @param scoreFilePath to read
+     * @param fieldCount number of lines in a record, marker included
+     * @param parser building a score from the values of a record
+     * @param <T> type of score the records are parsed into
+     * @return ordered stream of the parsed records
+     * @throws IOException if the file cannot be opened
+     */
+    public static <T> Stream<T> stream(
+        final String                scoreFilePath,
+        final int                   fieldCount,
+        final Function<String[], T> parser
+    )
+        throws IOException
+    {
+        if (fieldCount < 1)
+        {
+            throw new IllegalArgumentException("A record has at least one field");
+        }
+
+        final FileChannel channel;
+        final long        fileSize;
+
+        channel = FileChannel.open(Paths.get(scoreFilePath), StandardOpenOption.READ);
+
+        try
+        {
+            fileSize = channel.size();
+        }
+        catch (final IOException e)
+        {
+            channel.close();
+            throw e;
+        }
+
+        return StreamSupport
+               .stream(new ScoreLogSpliterator<>(channel, fileSize, 0, fileSize, fieldCount, parser), false)
+               .onClose(() -> {
+                   try
+                   {
+                       channel.close();
+                   }
+                   catch (final IOException e)
+                   {
+                       throw new UncheckedIOException(e);
+                   }
+               });
+    }
+
+    /**
+     * tryAdvance parses the next record of this range
+     * @param action to run on the record
+     * @return false if the range has no more records
+     */
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action)
+    {
+        if (this.records == null)
+        {
+            this.records = new ScoreLogReader<>(new RangeLines(), this.fieldCount, this.parser);
+        }
+
+        if (!this.records.hasNext())
+        {
+            return false;
+        }
+
+        action.accept(this.records.next());
+
+        return true;
+    }
+
+    /**
+     * trySplit hands the first half of this range, up to
+     * the record nearest the middle, to a new spliterator
+     * @return spliterator of the first half, or null if too small to split
+     */
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        if (this.records != null || this.end - this.start < MIN_SPLIT_BYTES)
+        {
+            return null;
+        }
+
+        final long boundary;
+
+        boundary = this.nextRecordStart(this.start + (this.end - this.start) / HALF);
+
+        if (boundary >= this.end)
+        {
+            return null;
+        }
+
+        final Spliterator<T> prefix;
+
+        prefix = new ScoreLogSpliterator<>(
+            this.channel,
+            this.fileSize,
+            this.start,
+            boundary,
+            this.fieldCount,
+            this.parser
+        );
+
+        this.start = boundary;
+
+        return prefix;
+    }
+
+    /**
+     * estimateSize of the records left in this range
+     * @return estimated number of records
+     */
+    @Override
+    public long estimateSize()
+    {
+        return (this.end - this.start) / ESTIMATED_RECORD_BYTES;
+    }
+
+    /**
+     * characteristics of the records of a score log
+     * @return ORDERED, NONNULL, and IMMUTABLE
+     */
+    @Override
+    public int characteristics()
+    {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    /*
+     * nextRecordStart finds the first marker line starting
+     * at or after a position, the position must be above 0
+     * @param from position to search from
+     * @return start of the marker line, or end if there is none
+     */
+    private long nextRecordStart(final long from)
+    {
+        for (long position = from; position < this.end; position++)
+        {
+            if (this.window.byteAt(position - 1) == '\n' && this.startsWithMarker(position))
+            {
+                return position;
+            }
+        }
+
+        return this.end;
+    }
+
+    /*
+     * startsWithMarker checks for the record marker at a position
+     * @param position to check
+     * @return true if the marker starts there
+     */
+    private boolean startsWithMarker(final long position)
+    {
+        for (int i = 0; i < MARKER_BYTES.length; i++)
+        {
+            if (this.window.byteAt(position + i) != MARKER_BYTES[i])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * RangeLines reads the lines of this range, and any line
+     * after it up to the next marker line, so the last record
+     * of the range is read whole
+     */
+    private final class RangeLines
+        implements ScoreLogReader.LineSource
+    {
+        private long    position;
+        private boolean finished;
+
+        /*
+         * RangeLines constructor starting at the start of the range
+         */
+        private RangeLines()
+        {
+            this.position = ScoreLogSpliterator.this.start;
+            this.finished = false;
+        }
+
+        /*
+         * readLine decodes the next complete line of the log
+         * @return line without its line ending, or null at the end of the range
+         */
+        @Override
+        public String readLine()
+        {
+            final ScoreLogSpliterator<T> range;
+
+            range = ScoreLogSpliterator.this;
+
+            if (this.finished || this.position >= range.fileSize ||
+                (this.position >= range.end && range.startsWithMarker(this.position)))
+            {
+                this.finished = true;
+                return null;
+            }
+
+            final long lineStart;
+            long       lineEnd;
+
+            lineStart = this.position;
+            lineEnd   = lineStart;
+
+            while (lineEnd < range.fileSize && range.window.byteAt(lineEnd) != '\n')
+            {
+                lineEnd++;
+            }
+
+            if (lineEnd == range.fileSize)
+            {
+                // No line ending yet, a writer is part way through this line
+                this.finished = true;
+                return null;
+            }
+
+            this.position = lineEnd + 1;
+
+            if (lineEnd > lineStart && range.window.byteAt(lineEnd - 1) == '\r')
+            {
+                lineEnd--;
+            }
+
+            return range.window.readString(lineStart, lineEnd);
+        }
+
+        /*
+         * close does nothing, the channel is closed with the stream
+         */
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    /*
+     * MappedWindow maps the part of the log being read,
+     * moving the mapping when a read falls outside it
+     */
+    private static final class MappedWindow
+    {
+        private final FileChannel channel;
+        private final long        fileSize;
+
+        private MappedByteBuffer buffer;
+        private long             bufferStart;
+
+        /*
+         * MappedWindow constructor, nothing is mapped until read
+         * @param channel open on the score log
+         * @param fileSize of the log when it was opened
+         */
+        private MappedWindow(
+            final FileChannel channel,
+            final long        fileSize
+        ) {
+            this.channel  = channel;
+            this.fileSize = fileSize;
+        }
+
+        /*
+         * byteAt reads one byte of the log
+         * @param position of the byte
+         * @return byte at the position, or END_OF_FILE past the end
+         */
+        private int byteAt(final long position)
+        {
+            if (position < 0 || position >= this.fileSize)
+            {
+                return END_OF_FILE;
+            }
+
+            if (!this.contains(position, position + 1))
+            {
+                this.map(position, WINDOW_BYTES);
+            }
+
+            return this.buffer.get((int) (position - this.bufferStart));
+        }
+
+        /*
+         * readString decodes a run of bytes of the log as UTF-8
+         * @param from first byte
+         * @param to end of the run, exclusive
+         * @return decoded string
+         */
+        private String readString(
+            final long from,
+            final long to
+        ) {
+            final byte[] bytes;
+
+            bytes = new byte[(int) (to - from)];
+
+            if (!this.contains(from, to))
+            {
+                this.map(from, Math.max(WINDOW_BYTES, bytes.length));
+            }
+
+            this.buffer.get((int) (from - this.bufferStart), bytes);
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /*
+         * contains checks if a run of bytes is inside the mapping
+         * @param from first byte
+         * @param to end of the run, exclusive
+         * @return true if the run is mapped
+         */
+        private boolean contains(
+            final long from,
+            final long to
+        ) {
+            return this.buffer != null &&
+                   from >= this.bufferStart &&
+                   to <= this.bufferStart + this.buffer.limit();
+        }
+
+        /*
+         * map the log starting at a position
+         * @param from first byte to map
+         * @param length wanted, cut short at the end of the file
+         */
+        private void map(
+            final long from,
+            final int  length
+        ) {
+            try
+            {
+                this.buffer      = this.channel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    from,
+                    Math.min(length, this.fileSize - from)
+                );
+                this.bufferStart = from;
+            }
+            catch (final IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package ca.bcit.comp2522.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * ScoreStore keeps the WordGame Score history in a binary
+ * log of fixed width records, so a Score is found by its
+ * position without reading the records before it.
+ *
+ * A small header at the start of the file holds the number
+ * of records, the position of the high score, and whether
+ * the text score log has been imported, kept up to date on
+ * every append, so appending a Score and
+ * finding the high score each cost O(1) however long the
+ * history grows. The high score follows Score.getHighScore,
+ * the earliest Score with the fewest points.
+ *
+ * A record is written and forced to disk before the header
+ * that counts it, so a crash mid append leaves the history
+ * as it was, and a reader never needs to wait for a writer. Writers from any
+ * thread or game process take turns through ScoreFileLock.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class ScoreStore
+{
+    private static final int  MAGIC        = 0x53434F52;
+    private static final int  VERSION      = 2;
+    private static final int  HEADER_BYTES = 28;
+    private static final int  RECORD_BYTES = 24;
+    private static final int  COUNT_OFFSET = 8;
+    private static final int  FLAGS_OFFSET = 24;
+    private static final int  NO_FLAGS     = 0;
+    private static final int  IMPORTED     = 1;
+    private static final long NO_RECORD    = -1;
+
+    private final Path storeFile;
+
+    /**
+     * ScoreStore constructor for a store file, which
+     * is created on the first append
+     * @param storeFile binary file holding the history
+     */
+    public ScoreStore(final Path storeFile)
+    {
+        this.storeFile = storeFile;
+    }
+
+    /**
+     * ScoreStore constructor for a store file that is
+     * seeded from the text score log the first time it is
+     * opened, so scores saved before the store existed are
+     * kept. The caller keeps appending to the text log as
+     * well, it is only imported once. A store written in an
+     * older format is rebuilt from the text log.
+     * @param storeFile binary file holding the history
+     * @param textLogPath text log read by Score.readScoresFromFile
+     * @throws IOException if the store cannot be written
+     */
+    public ScoreStore(
+        final Path   storeFile,
+        final String textLogPath
+    )
+        throws IOException
+    {
+        this(storeFile);
+
+        try (final FileChannel channel = this.openForWriting())
+        {
+            ScoreFileLock.writeLocked(this.storeFile, channel, () -> {
+                // Checked under the lock, another game may have imported it while this one waited
+                if (!isImported(channel))
+                {
+                    appendLocked(channel, readTextLog(textLogPath), IMPORTED);
+                }
+            });
+        }
+    }
+
+    /**
+     * append a Score to the end of the history,
+     * updating the high score if it is a new one
+     * @param score to append
+     * @throws IOException if the store cannot be written
+     */
+    public void append(final Score score)
+        throws IOException
+    {
+        this.appendAll(List.of(score));
+    }
+
+    /**
+     * appendAll adds Scores to the end of the history in
+     * order, writing the header once for the whole batch
+     * @param scores to append
+     * @throws IOException if the store cannot be written
+     */
+    public void appendAll(final List<Score> scores)
+        throws IOException
+    {
+        try (final FileChannel channel = this.openForWriting())
+        {
+            ScoreFileLock.writeLocked(this.storeFile, channel, () -> appendLocked(channel, scores, NO_FLAGS));
+        }
+    }
+
+    /*
+     * openForWriting opens the store file, creating it if missing
+     * @return channel open for reading and writing
+     * @throws IOException if the file cannot be opened
+     */
+    private FileChannel openForWriting()
+        throws IOException
+    {
+        return FileChannel.open(
+            this.storeFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+    }
+
+    /*
+     * isImported checks the header for the imported flag, the
+     * caller holds the ScoreFileLock. A store in an older format
+     * has no flag, it is emptied to be rebuilt from the text log.
+     * @param channel open for writing on the store file
+     * @return true if the text log has been imported
+     * @throws IOException if the file is not a score store
+     */
+    private static boolean isImported(final FileChannel channel)
+        throws IOException
+    {
+        if (channel.size() >= Integer.BYTES * 2)
+        {
+            final ByteBuffer start;
+
+            start = ByteBuffer.allocate(Integer.BYTES * 2);
+
+            readFully(channel, start, 0);
+
+            if (start.getInt(0) == MAGIC && start.getInt(Integer.BYTES) < VERSION)
+            {
+                channel.truncate(0);
+                return false;
+            }
+        }
+
+        return (readHeader(channel).getInt(FLAGS_OFFSET) & IMPORTED) != 0;
+    }
+
+    /*
+     * readTextLog reads the Scores of the text score log
+     * @param textLogPath text log read by Score.readScoresFromFile
+     * @return Scores of the log, empty if there is no log yet
+     */
+    private static List<Score> readTextLog(final String textLogPath)
+    {
+        if (!Files.exists(Path.of(textLogPath)))
+        {
+            return List.of();
+        }
+
+        return Score.readScoresFromFile(textLogPath);
+    }
+
+    /*
+     * appendLocked adds Scores to the history, the caller holds
+     * the ScoreFileLock. A new file gets its empty header first,
+     * then the records, forced to disk, then the header counting
+     * them, so a reader sees a whole history at every point.
+     * @param channel open for writing on the store file
+     * @param scores to append
+     * @param flags to set in the header with the records
+     * @throws IOException if the store cannot be written
+     */
+    private static void appendLocked(
+        final FileChannel channel,
+        final List<Score> scores,
+        final int         flags
+    )
+        throws IOException
+    {
+        final ByteBuffer header;
+        final ByteBuffer records;
+        long             count;
+        long             best;
+        int              bestPoints;
+
+        header = readHeader(channel);
+        count  = header.getLong(COUNT_OFFSET);
+        best   = header.getLong(COUNT_OFFSET + Long.BYTES);
+
+        if (channel.size() < HEADER_BYTES)
+        {
+            writeFully(channel, header.duplicate(), 0);
+        }
+
+        bestPoints = best == NO_RECORD ? Integer.MAX_VALUE : readRecord(channel, best).getScore();
+        records    = ByteBuffer.allocate(scores.size() * RECORD_BYTES);
+
+        for (final Score score : scores)
+        {
+            putRecord(records, score);
+
+            if (score.getScore() < bestPoints)
+            {
+                best       = count;
+                bestPoints = score.getScore();
+            }
+
+            count++;
+        }
+
+        records.flip();
+        writeFully(channel, records, recordPosition(count - scores.size()));
+        channel.force(false);
+
+        header.putLong(COUNT_OFFSET, count);
+        header.putLong(COUNT_OFFSET + Long.BYTES, best);
+        header.putInt(FLAGS_OFFSET, header.getInt(FLAGS_OFFSET) | flags);
+        header.rewind();
+        writeFully(channel, header, 0);
+    }
+
+    /**
+     * size of the history
+     * @return number of Scores stored
+     * @throws IOException if the store cannot be read
+     */
+    public long size()
+        throws IOException
+    {
+        if (!Files.exists(this.storeFile))
+        {
+            return 0;
+        }
+
+        try (final FileChannel channel = FileChannel.open(this.storeFile, StandardOpenOption.READ))
+        {
+            return readHeader(channel).getLong(COUNT_OFFSET);
+        }
+    }
+
+    /**
+     * get a Score by its position in the history
+     * @param index of the Score, 0 for the oldest
+     * @return Score at the position
+     * @throws IOException if the store cannot be read
+     */
+    public Score get(final long index)
+        throws IOException
+    {
+        try (final FileChannel channel = FileChannel.open(this.storeFile, StandardOpenOption.READ))
+        {
+            final long count;
+
+            count = readHeader(channel).getLong(COUNT_OFFSET);
+
+            if (index < 0 || index >= count)
+            {
+                throw new IndexOutOfBoundsException("No score at " + index);
+            }
+
+            return readRecord(channel, index);
+        }
+    }
+
+    /**
+     * getHighScore of the history, read straight
+     * from the position kept in the header
+     * @return high Score, or null if the history is empty
+     * @throws IOException if the store cannot be read
+     */
+    public Score getHighScore()
+        throws IOException
+    {
+        if (!Files.exists(this.storeFile))
+        {
+            return null;
+        }
+
+        try (final FileChannel channel = FileChannel.open(this.storeFile, StandardOpenOption.READ))
+        {
+            final long best;
+
+            best = readHeader(channel).getLong(COUNT_OFFSET + Long.BYTES);
+
+            return best == NO_RECORD ? null : readRecord(channel, best);
+        }
+    }
+
+    /**
+     * isHighScore checks a new Score against the
+     * high score of the history, as Score.isHighScore does
+     * @param score to check if is high score
+     * @return if score is a new high-score in the history
+     * @throws IOException if the store cannot be read
+     */
+    public boolean isHighScore(final Score score)
+        throws IOException
+    {
+        final Score highScore;
+
+        highScore = this.getHighScore();
+
+        return (highScore == null ||
+                highScore.getScore() < score.getScore());
+    }
+
+    /*
+     * readHeader of the store, a new empty header if the
+     * file has just been created and its header is not
+     * written yet
+     * @param channel open on the store file
+     * @return header positioned at 0
+     * @throws IOException if the file is not a score store
+     */
+    private static ByteBuffer readHeader(final FileChannel channel)
+        throws IOException
+    {
+        final ByteBuffer header;
+
+        header = ByteBuffer.allocate(HEADER_BYTES);
+
+        if (channel.size() < HEADER_BYTES)
+        {
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putLong(0);
+            header.putLong(NO_RECORD);
+            header.putInt(NO_FLAGS);
+            header.rewind();
+
+            return header;
+        }
+
+        readFully(channel, header, 0);
+
+        if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION)
+        {
+            throw new IOException("Not a score store");
+        }
+
+        return header;
+    }
+
+    /*
+     * readRecord decodes the Score at a position
+     * @param channel open on the store file
+     * @param index of the record
+     * @return decoded Score
+     * @throws IOException if the record cannot be read
+     */
+    private static Score readRecord(
+        final FileChannel channel,
+        final long        index
+    )
+        throws IOException
+    {
+        final ByteBuffer record;
+
+        record = ByteBuffer.allocate(RECORD_BYTES);
+
+        readFully(channel, record, recordPosition(index));
+
+        return new Score(
+            record.getLong(),
+            record.getInt(),
+            record.getInt(),
+            record.getInt(),
+            record.getInt()
+        );
+    }
+
+    /*
+     * putRecord encodes a Score as a fixed width record
+     * @param buffer to write into
+     * @param score to encode
+     */
+    private static void putRecord(
+        final ByteBuffer buffer,
+        final Score      score
+    ) {
+        buffer.putLong(score.getEpochSecond());
+        buffer.putInt(score.getNumGamesPlayed());
+        buffer.putInt(score.getNumCorrectFirstAttempt());
+        buffer.putInt(score.getNumCorrectSecondAttempt());
+        buffer.putInt(score.getNumIncorrectTwoAttempts());
+    }
+
+    /*
+     * recordPosition in the file of a record
+     * @param index of the record
+     * @return byte offset of the record
+     */
+    private static long recordPosition(final long index)
+    {
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+
+    /*
+     * readFully fills a buffer from a position in the file
+     * @param channel to read
+     * @param buffer to fill
+     * @param position to read from
+     * @throws IOException if the file ends first
+     */
+    private static void readFully(
+        final FileChannel channel,
+        final ByteBuffer  buffer,
+        final long        position
+    )
+        throws IOException
+    {
+        long offset;
+
+        offset = position;
+
+        while (buffer.hasRemaining())
+        {
+            final int read;
+
+            read = channel.read(buffer, offset);
+
+            if (read < 0)
+            {
+                throw new IOException("Score store is truncated");
+            }
+
+            offset += read;
+        }
+
+        buffer.flip();
+    }
+
+    /*
+     * writeFully writes a whole buffer at a position in the file
+     * @param channel to write
+     * @param buffer to write
+     * @param position to write at
+     * @throws IOException if the write fails
+     */
+    private static void writeFully(
+        final FileChannel channel,
+        final ByteBuffer  buffer,
+        final long        position
+    )
+        throws IOException
+    {
+        long offset;
+
+        offset = position;
+
+        while (buffer.hasRemaining())
+        {
+            offset += channel.write(buffer, offset);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package ca.bcit.comp2522.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * ScoreWriter appends records to a score log from a single
+ * background thread, so many game sessions appending at
+ * once share one write per batch instead of opening and
+ * closing the file for every record.
+ *
+ * Producers queue a record and get a future that completes
+ * once the batch holding it is committed. The writer takes
+ * every queued record, optionally waits the group commit
+ * interval for more to arrive, then writes them with a
+ * single FileChannel write. The channel stays open for the
+ * life of the writer, a batch costs one check of the log's
+ * file key, and the log is reopened only if it was moved
+ * or replaced since the last batch.
+ *
+ * Each batch is written holding a ScoreFileLock, so the
+ * writers of several game processes never interleave their
+ * records. Readers do not lock, a record is only read once
+ * its last line ending is written.
+ *
+ * The durability mode decides when a batch counts as
+ * committed, WRITE once the operating system has the
+ * bytes, FSYNC once they are forced to storage and
+ * survive a power failure.
+ *
+ * One shared writer per file is kept by forFile. Its
+ * settings come from the score.writer.interval.ms and
+ * score.writer.durability system properties, read once
+ * when the class loads. An invalid value is reported and
+ * the default is used instead.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class ScoreWriter
+{
+    /**
+     * Durability of a committed batch
+     */
+    public enum Durability
+    {
+        /** written to the file, may be lost if the machine crashes */
+        WRITE,
+
+        /** forced to storage before producers are told */
+        FSYNC
+    }
+
+    public static final String INTERVAL_PROPERTY   = "score.writer.interval.ms";
+    public static final String DURABILITY_PROPERTY = "score.writer.durability";
+
+    private static final long   DEFAULT_INTERVAL_MS = 0;
+    private static final int    MAX_BATCH           = 4096;
+    private static final String THREAD_NAME         = "score-writer-";
+
+    private static final PendingRecord          STOP = new PendingRecord(null, null);
+    private static final Map<Path, ScoreWriter> SHARED;
+    private static final Duration               CONFIGURED_INTERVAL;
+    private static final Durability             CONFIGURED_DURABILITY;
+
+    static
+    {
+        SHARED                = new ConcurrentHashMap<>();
+        CONFIGURED_INTERVAL   = readInterval();
+        CONFIGURED_DURABILITY = readDurability();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (final ScoreWriter writer : SHARED.values())
+            {
+                writer.close();
+            }
+        }));
+    }
+
+    /*
+     * PendingRecord is a queued record and the future
+     * completed once it is committed, a null record
+     * tells the worker to stop
+     */
+    private record PendingRecord(
+        byte[]                  bytes,
+        CompletableFuture<Void> committed
+    ) {
+    }
+
+    private final Path                         scoreFile;
+    private final Duration                     commitInterval;
+    private final Durability                   durability;
+    private final BlockingQueue<PendingRecord> queue;
+    private final Thread                       worker;
+
+    private volatile boolean closed;
+
+    // Only used by the worker thread
+    private FileChannel channel;
+    private Object      channelFileKey;
+
+    /**
+     * ScoreWriter constructor starts the background
+     * thread writing to a score log
+     * @param scoreFile log to append to, created if missing
+     * @param commitInterval time to wait for more records after the first of a batch
+     * @param durability of a committed batch
+     */
+    public ScoreWriter(
+        final Path       scoreFile,
+        final Duration   commitInterval,
+        final Durability durability
+    ) {
+        if (commitInterval.isNegative())
+        {
+            throw new IllegalArgumentException("Commit interval cannot be negative");
+        }
+
+        this.scoreFile      = scoreFile;
+        this.commitInterval = commitInterval;
+        this.durability     = durability;
+        this.queue          = new LinkedBlockingQueue<>();
+        this.closed         = false;
+        this.worker         = new Thread(this::run, THREAD_NAME + scoreFile.getFileName());
+
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * forFile returns the shared writer of a score log,
+     * starting it on first use with the configured settings
+     * @param scoreFilePath log to append to
+     * @return shared writer of the log
+     */
+    public static ScoreWriter forFile(final String scoreFilePath)
+    {
+        return SHARED.computeIfAbsent(
+            Paths.get(scoreFilePath).toAbsolutePath().normalize(),
+            path -> new ScoreWriter(path, CONFIGURED_INTERVAL, CONFIGURED_DURABILITY)
+        );
+    }
+
+    /*
+     * readInterval reads the group commit interval property
+     * @return configured interval, the default if missing or invalid
+     */
+    private static Duration readInterval()
+    {
+        final String value;
+
+        value = System.getProperty(INTERVAL_PROPERTY);
+
+        if (value == null)
+        {
+            return Duration.ofMillis(DEFAULT_INTERVAL_MS);
+        }
+
+        try
+        {
+            final long millis;
+
+            millis = Long.parseLong(value.trim());
+
+            if (millis >= 0)
+            {
+                return Duration.ofMillis(millis);
+            }
+        }
+        catch (final NumberFormatException e)
+        {
+            // Reported below with the negative case
+        }
+
+        System.err.printf(
+            "Invalid %s \"%s\", expected milliseconds of 0 or more, using %d%n",
+            INTERVAL_PROPERTY,
+            value,
+            DEFAULT_INTERVAL_MS
+        );
+
+        return Duration.ofMillis(DEFAULT_INTERVAL_MS);
+    }
+
+    /*
+     * readDurability reads the durability property
+     * @return configured durability, WRITE if missing or invalid
+     */
+    private static Durability readDurability()
+    {
+        final String value;
+
+        value = System.getProperty(DURABILITY_PROPERTY);
+
+        if (value == null)
+        {
+            return Durability.WRITE;
+        }
+
+        try
+        {
+            return Durability.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+        catch (final IllegalArgumentException e)
+        {
+            System.err.printf(
+                "Invalid %s \"%s\", expected one of %s, using %s%n",
+                DURABILITY_PROPERTY,
+                value,
+                Arrays.toString(Durability.values()),
+                Durability.WRITE
+            );
+
+            return Durability.WRITE;
+        }
+    }
+
+    /**
+     * append queues a record to be written
+     * @param record text to append, written as is
+     * @return future completed once the record is committed,
+     *         or failed with the IOException of its batch
+     */
+    public CompletableFuture<Void> append(final String record)
+    {
+        final CompletableFuture<Void> committed;
+
+        committed = new CompletableFuture<>();
+
+        synchronized (this.queue)
+        {
+            if (this.closed)
+            {
+                committed.completeExceptionally(new IllegalStateException("Score writer is closed"));
+                return committed;
+            }
+
+            this.queue.add(new PendingRecord(record.getBytes(StandardCharsets.UTF_8), committed));
+        }
+
+        return committed;
+    }
+
+    /**
+     * close commits every queued record and stops the
+     * background thread, later appends fail
+     */
+    public void close()
+    {
+        synchronized (this.queue)
+        {
+            if (this.closed)
+            {
+                return;
+            }
+
+            this.closed = true;
+            this.queue.add(STOP);
+        }
+
+        try
+        {
+            this.worker.join();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * run takes batches off the queue until told to stop
+     */
+    private void run()
+    {
+        final List<PendingRecord> batch;
+        boolean                   stopping;
+
+        batch    = new ArrayList<>();
+        stopping = false;
+
+        while (!stopping)
+        {
+            try
+            {
+                batch.add(this.queue.take());
+
+                if (!this.commitInterval.isZero())
+                {
+                    Thread.sleep(this.commitInterval.toMillis());
+                }
+            }
+            catch (final InterruptedException e)
+            {
+                stopping = true;
+            }
+
+            this.queue.drainTo(batch, MAX_BATCH);
+
+            stopping |= batch.remove(STOP);
+
+            if (!batch.isEmpty())
+            {
+                this.commit(batch);
+                batch.clear();
+            }
+        }
+
+        this.closeChannel();
+    }
+
+    /*
+     * commit writes a batch with one write and completes
+     * its futures, failing them all if the write fails
+     * @param batch records to write, in queue order
+     */
+    private void commit(final List<PendingRecord> batch)
+    {
+        final ByteBuffer buffer;
+        int              size;
+
+        size = 0;
+
+        for (final PendingRecord pending : batch)
+        {
+            size += pending.bytes().length;
+        }
+
+        buffer = ByteBuffer.allocate(size);
+
+        for (final PendingRecord pending : batch)
+        {
+            buffer.put(pending.bytes());
+        }
+
+        buffer.flip();
+
+        try
+        {
+            final FileChannel channel;
+
+            channel = this.openChannel();
+
+            ScoreFileLock.writeLocked(this.scoreFile, channel, () -> {
+                while (buffer.hasRemaining())
+                {
+                    channel.write(buffer);
+                }
+
+                if (this.durability == Durability.FSYNC)
+                {
+                    channel.force(false);
+                }
+            });
+        }
+        catch (final IOException e)
+        {
+            // Reopened for the next batch, in case the channel is what failed
+            this.closeChannel();
+
+            for (final PendingRecord pending : batch)
+            {
+                pending.committed().completeExceptionally(e);
+            }
+
+            return;
+        }
+
+        for (final PendingRecord pending : batch)
+        {
+            pending.committed().complete(null);
+        }
+    }
+
+    /*
+     * openChannel returns the channel kept open on the log,
+     * opening it again if the log was moved or replaced
+     * since the last batch
+     * @return channel appending to the log
+     * @throws IOException if the log cannot be opened
+     */
+    private FileChannel openChannel()
+        throws IOException
+    {
+        if (this.channel != null && this.isLogUnchanged())
+        {
+            return this.channel;
+        }
+
+        this.closeChannel();
+
+        this.channel        = FileChannel.open(
+            this.scoreFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND
+        );
+        this.channelFileKey = Files.readAttributes(this.scoreFile, BasicFileAttributes.class).fileKey();
+
+        return this.channel;
+    }
+
+    /*
+     * isLogUnchanged checks the log is still the file the
+     * channel was opened on. Without file keys on this system
+     * it is never sure, so the log is reopened every batch.
+     * @return true if the open channel still writes to the log
+     */
+    private boolean isLogUnchanged()
+    {
+        try
+        {
+            final Object fileKey;
+
+            fileKey = Files.readAttributes(this.scoreFile, BasicFileAttributes.class).fileKey();
+
+            return fileKey != null && fileKey.equals(this.channelFileKey);
+        }
+        catch (final IOException e)
+        {
+            return false;
+        }
+    }
+
+    /*
+     * closeChannel closes the channel kept open on the log, if any
+     */
+    private void closeChannel()
+    {
+        if (this.channel == null)
+        {
+            return;
+        }
+
+        try
+        {
+            this.channel.close();
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed to close " + this.scoreFile);
+        }
+
+        this.channel        = null;
+        this.channelFileKey = null;
+    }
+}
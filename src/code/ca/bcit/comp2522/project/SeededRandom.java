@@ -0,0 +1,119 @@
+package ca.bcit.comp2522.project;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SeededRandom is the random number service shared
+ * by all games. Every instance is built from a seed,
+ * so a game driven by one can be replayed exactly by
+ * building a new SeededRandom with the same seed.
+ *
+ * Backed by a SplittableRandom, an instance is not
+ * thread safe, use split to hand each thread or
+ * component its own independent generator.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class SeededRandom
+    implements Generator
+{
+    private final long             seed;
+    private final SplittableRandom random;
+
+    /**
+     * newSeed picks a fresh seed for a
+     * generator that does not need replaying
+     * @return random seed
+     */
+    public static long newSeed()
+    {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * fromSeedText builds a generator from a seed given
+     * as text, such as a command line argument
+     * @param seedText to parse, null or blank for a fresh seed
+     * @return generator for the seed
+     * @throws NumberFormatException if the seed is not a number
+     */
+    public static SeededRandom fromSeedText(final String seedText)
+    {
+        if (seedText == null || seedText.isBlank())
+        {
+            return new SeededRandom();
+        }
+
+        return new SeededRandom(Long.parseLong(seedText.trim()));
+    }
+
+    /**
+     * SeededRandom constructor with a fresh seed
+     */
+    public SeededRandom()
+    {
+        this(newSeed());
+    }
+
+    /**
+     * SeededRandom constructor with a given seed
+     * @param seed to generate numbers from
+     */
+    public SeededRandom(final long seed)
+    {
+        this.seed   = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * getSeed this generator was built from
+     * @return seed of the generator
+     */
+    public long getSeed()
+    {
+        return this.seed;
+    }
+
+    /**
+     * generate a random integer value
+     * @return random integer
+     */
+    @Override
+    public int generate()
+    {
+        return this.random.nextInt();
+    }
+
+    /**
+     * nextInt generates a random number between
+     * 0 inclusive and bound exclusive
+     * @param bound exclusive upper bound, must be positive
+     * @return random number in [0, bound)
+     */
+    public int nextInt(final int bound)
+    {
+        return this.random.nextInt(bound);
+    }
+
+    /**
+     * nextLong generates a random long value
+     * @return random long
+     */
+    public long nextLong()
+    {
+        return this.random.nextLong();
+    }
+
+    /**
+     * split creates an independent generator seeded
+     * from this one, so the child is replayed along
+     * with its parent
+     * @return new generator with a seed drawn from this one
+     */
+    public SeededRandom split()
+    {
+        return new SeededRandom(this.random.nextLong());
+    }
+}
@@ -1,9 +1,8 @@
 package ca.bcit.comp2522.project;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
 
 /**
@@ -19,6 +18,7 @@ import java.util.Scanner;
 public class WordGame
 {
     private static final String SCORE_PATH           = "./data/score.txt";
+    private static final String SCORE_STORE_PATH     = "./data/score.bin";
     private static final int    NUMBER_OF_QUESTIONS  = 10;
     private static final int    QUESTION_NUM_OFFSET  = 1;
     private static final int    QUEST_ASK_CAPITAL    = 0;
@@ -34,7 +34,8 @@ public class WordGame
     private static final int    INCORRECT_SCORE      = 2;
     private static final int    DEFAULT_SCORE        = 0;
 
-    private final World world;
+    private final World        world;
+    private final SeededRandom random;
 
     /**
      * WordGame constructor creates a World class to
@@ -44,7 +45,22 @@ public class WordGame
     public WordGame()
         throws IOException
     {
-        this.world = new World();
+        this(new SeededRandom());
+    }
+
+    /**
+     * WordGame constructor creates a World class to
+     * access Countries and their details, with every
+     * question picked from the given random number
+     * service so a session can be replayed from its seed.
+     * @param random service to pick questions with
+     * @throws IOException if World failed to read countries
+     */
+    public WordGame(final SeededRandom random)
+        throws IOException
+    {
+        this.random = random;
+        this.world  = new World(random.split());
     }
 
     /*
@@ -90,7 +106,8 @@ public class WordGame
 
     /*
      * startTrivia starts the game and asks NUMBER_OF_QUESTIONS,
-     * randomly chooses a Country and randomly chooses which
+     * randomly chooses a distinct Country for each question
+     * and randomly chooses which
      * kind of question to ask:
      * country by capital,
      * capital by country, or
@@ -102,18 +119,19 @@ public class WordGame
         final Scanner scanner,
         final int[]   scores
     ) {
+        final Country[] round;
+
+        round = this.world.sampleCountries(NUMBER_OF_QUESTIONS);
+
         for (int i = 0; i < NUMBER_OF_QUESTIONS; i++)
         {
             System.out.printf("Question %d:\n", i + QUESTION_NUM_OFFSET);
 
-            final Random rand;
             final Country      country;
             final int          questionType;
 
-            rand = new Random();
-
-            country = this.world.getRandomCountry();
-            questionType = rand.nextInt(QUESTION_TYPES);
+            country = round[i];
+            questionType = this.random.nextInt(QUESTION_TYPES);
 
             switch (questionType)
             {
@@ -133,7 +151,7 @@ public class WordGame
 
                 case QUEST_ASK_FACT:
                     System.out.println("What is the country of the following fact?");
-                    System.out.println(country.getRandomFact());
+                    System.out.println(country.getRandomFact(this.random));
 
                     checkAnswer(country.getName(), scanner, scores);
                     break;
@@ -147,7 +165,8 @@ public class WordGame
      * a round is completed.
      *
      * Once a user is done playing, score from all rounds is
-     * saved and high-scores are calculated.
+     * saved to both the score store and the text score log,
+     * and high-scores are calculated from the store.
      *
      * @param scanner to receive input
      */
@@ -164,6 +183,8 @@ public class WordGame
         scores      = new int[]{DEFAULT_SCORE,DEFAULT_SCORE,DEFAULT_SCORE};
         gamesPlayed = DEFAULT_SCORE;
 
+        System.out.printf("Game seed: %d\n", this.random.getSeed());
+
         do
         {
             gamesPlayed++;
@@ -206,21 +227,39 @@ public class WordGame
 
         } while (continuePlaying);
 
-        final List<Score> history;
+        final Score   prevHighScore;
+        final boolean isHighScore;
 
-        history = Score.readScoresFromFile(SCORE_PATH);
-        Score.appendScoreToFile(score, SCORE_PATH);
+        try
+        {
+            final ScoreStore store;
+
+            store = new ScoreStore(Paths.get(SCORE_STORE_PATH), SCORE_PATH);
+
+            prevHighScore = store.getHighScore();
+            isHighScore   = prevHighScore == null ||
+                            prevHighScore.getScore() < score.getScore();
+
+            store.append(score);
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed to update the score store: " + e.getMessage());
+            return;
+        }
+        finally
+        {
+            // The text log stays the readable history, the store only speeds up lookups
+            Score.appendScoreToFile(score, SCORE_PATH);
+        }
 
-        if (Score.isHighScore(score, history))
+        if (isHighScore)
         {
             System.out.printf(
                 "CONGRATULATIONS! You have a new high score with an average of %.2f points per game; ",
                 score.calculateAverage()
             );
 
-            final Score prevHighScore;
-            prevHighScore = Score.getHighScore(history);
-
             if (prevHighScore == null)
             {
                 return;
@@ -241,7 +280,7 @@ public class WordGame
 
     /**
      * main method for quickly testing the WordGame
-     * @param args from command line
+     * @param args from command line, optionally a seed to replay
      */
     public static void main(final String[] args)
     {
@@ -249,7 +288,7 @@ public class WordGame
 
         try
         {
-            test = new WordGame();
+            test = new WordGame(SeededRandom.fromSeedText(args.length > 0 ? args[0] : null));
         }
         catch (final IOException e)
         {
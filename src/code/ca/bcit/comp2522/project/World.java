@@ -1,128 +1,384 @@
 package ca.bcit.comp2522.project;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-
-import java.util.Random;
 import java.util.stream.Stream;
 
 /**
  * World class reads countries and their facts
- * from a file and stores the Country in a Map.
+ * from a file and stores them in an array.
+ * Facts files are memory mapped and parsed in
+ * parallel, one task per file, then compiled
+ * into a WorldSnapshot so later runs can skip
+ * parsing and decode countries as they are used.
  * Also provides useful functions to get a random
- * Country from the Map.
+ * Country, backed by an array of the countries
+ * built once at load so a pick is O(1).
  * @author Braeden Sowinski
  * @version 1.0.0
  */
 public class World
 {
-    private static final String BASE_PATH       = "./data/facts";
-    private static final int    COUNTRY_PARAM   = 0;
-    private static final int    CAPITAL_PARAM   = 1;
-    private static final int    NUMBER_OF_FACTS = 3;
+    private static final String BASE_PATH          = "./data/facts";
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+    private static final char   SEPARATOR          = ':';
+    private static final int    NOT_FOUND          = -1;
+    private static final int    NUMBER_OF_FACTS    = 3;
+    private static final int    INITIAL_CAPACITY   = 16;
+    private static final float  LOAD_FACTOR        = 0.75f;
 
-    private final Map<String, Country> countries;
+    private final SeededRandom  random;
+    private final WorldSnapshot snapshot;
+    private final Country[]     countryArray;
+    private final int[]         deck;
 
     /*
-     * readCuntryData from a given line
+     * readCountryData from a given header line, the country
+     * and capital are split on the first colon only
      * @param line to parse
-     * @param reader to read line
+     * @param lines to read the facts from
      * @return Country with name and facts
-     * @throws IOException
      */
     private static Country readCountryData(
-        final String         line,
-        final BufferedReader reader
-    )
-        throws IOException
-    {
+        final String           line,
+        final Iterator<String> lines
+    ) {
+        final int      separator;
+        final int      capitalEnd;
         final String   countryName;
         final String   countryCapital;
         final String[] facts;
 
-        countryName    = line.split(":")[COUNTRY_PARAM];
-        countryCapital = line.split(":")[CAPITAL_PARAM];
+        separator  = line.indexOf(SEPARATOR);
+        capitalEnd = line.indexOf(SEPARATOR, separator + 1);
+
+        countryName    = line.substring(0, separator);
+        countryCapital = line.substring(separator + 1, capitalEnd == NOT_FOUND ? line.length() : capitalEnd);
 
         facts = new String[NUMBER_OF_FACTS];
 
-        for (int i = 0; i < NUMBER_OF_FACTS; i++)
+        for (int i = 0; i < NUMBER_OF_FACTS && lines.hasNext(); i++)
         {
-            facts[i] = reader.readLine();
+            facts[i] = lines.next();
         }
 
         return new Country(countryName, countryCapital, facts);
     }
 
-    /**
-     * World constructor creates a hashmap
-     * where the key is a Country name, and
-     * the value is the Country object.
-     * @throws IOException if failed to read Countries
+    /*
+     * readFactsFile maps a whole facts file into memory
+     * and parses every country in it, the channel is
+     * closed before returning
+     * @param file to read
+     * @return countries in the order they appear in the file
+     * @throws UncheckedIOException if the file cannot be read
      */
-    public World()
+    private static List<Country> readFactsFile(final Path file)
+    {
+        final String text;
+
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            final MappedByteBuffer buffer;
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            text   = StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+        catch (final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        final List<Country>    parsed;
+        final Iterator<String> lines;
+
+        parsed = new ArrayList<>();
+        lines  = text.lines().iterator();
+
+        while (lines.hasNext())
+        {
+            final String line;
+
+            line = lines.next();
+
+            if (line.isBlank())
+            {
+                continue;
+            }
+
+            parsed.add(readCountryData(line, lines));
+        }
+
+        return parsed;
+    }
+
+    /*
+     * readCountries parses every facts file below a folder,
+     * files are parsed in parallel but the results are
+     * merged in path order so loading is deterministic.
+     * A later country with the same name replaces an earlier one.
+     * @param factsDirectory to walk
+     * @return distinct countries of every file
+     * @throws IOException if the folder or a file cannot be read
+     */
+    private static Country[] readCountries(final Path factsDirectory)
         throws IOException
     {
-        this.countries = new HashMap<>();
+        final List<Path>           filesInFolder;
+        final List<Country>        parsed;
+        final Map<String, Country> countries;
 
-        try (final Stream<Path> walk = Files.walk(Paths.get(BASE_PATH)))
+        try (final Stream<Path> walk = Files.walk(factsDirectory))
         {
-            final List<Path> filesInFolder;
             filesInFolder = walk
                             .filter(Files::isRegularFile)
+                            .sorted()
                             .toList();
+        }
 
-            for (final Path file : filesInFolder)
-            {
-                final BufferedReader reader;
+        try
+        {
+            parsed = filesInFolder
+                     .parallelStream()
+                     .map(World::readFactsFile)
+                     .flatMap(List::stream)
+                     .toList();
+        }
+        catch (final UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+
+        countries = new HashMap<>(Math.max(INITIAL_CAPACITY, (int) (parsed.size() / LOAD_FACTOR) + 1));
 
-                reader = new BufferedReader(new FileReader(file.toString()));
+        for (final Country country : parsed)
+        {
+            countries.put(country.getName(), country);
+        }
+
+        return countries.values().toArray(new Country[0]);
+    }
 
-                String line;
-                while ((line = reader.readLine()) != null)
-                {
-                    if (line.isBlank())
-                    {
-                        continue;
-                    }
+    /*
+     * snapshotPath of a facts folder, the snapshot sits
+     * beside the folder, so ./data/facts is compiled
+     * into ./data/facts.snapshot
+     * @param factsDirectory folder holding the facts files
+     * @return path of the snapshot file
+     */
+    private static Path snapshotPath(final Path factsDirectory)
+    {
+        final Path folder;
 
-                    final Country country;
+        folder = factsDirectory.toAbsolutePath().normalize();
 
-                    country = readCountryData(line, reader);
+        return folder.resolveSibling(folder.getFileName() + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * World constructor loads every Country
+     * from the default facts folder.
+     * @throws IOException if failed to read Countries
+     */
+    public World()
+        throws IOException
+    {
+        this(new SeededRandom());
+    }
+
+    /**
+     * World constructor loads every Country
+     * from the default facts folder, picking
+     * random countries from the given service.
+     * @param random service to pick random countries with
+     * @throws IOException if failed to read Countries
+     */
+    public World(final SeededRandom random)
+        throws IOException
+    {
+        this(Paths.get(BASE_PATH), random);
+    }
 
-                    this.countries.put(country.getName(), country);
-                }
+    /**
+     * World constructor reading the facts files from
+     * a given folder instead of the default one.
+     * Loads from the compiled snapshot beside the folder
+     * when it matches the facts files, decoding countries
+     * as they are picked. Otherwise the files are memory
+     * mapped and parsed in parallel, and the snapshot is
+     * rebuilt for the next run.
+     * @param factsDirectory folder holding the facts files
+     * @param random service to pick random countries with
+     * @throws IOException if failed to read Countries
+     */
+    public World(
+        final Path         factsDirectory,
+        final SeededRandom random
+    )
+        throws IOException
+    {
+        WorldSnapshot loadedSnapshot;
+        Country[]     loaded;
+
+        loadedSnapshot = null;
+        loaded         = new Country[0];
+
+        try
+        {
+            final long fingerprint;
+            final Path snapshotFile;
+
+            fingerprint    = WorldSnapshot.fingerprint(factsDirectory);
+            snapshotFile   = snapshotPath(factsDirectory);
+            loadedSnapshot = WorldSnapshot.open(snapshotFile, fingerprint);
+
+            if (loadedSnapshot != null)
+            {
+                loaded = new Country[loadedSnapshot.getCountryCount()];
+            }
+            else
+            {
+                loaded = readCountries(factsDirectory);
+                writeSnapshot(snapshotFile, fingerprint, loaded);
             }
         }
         catch (final IOException e)
         {
             System.err.println("Error accessing the folder: " + e.getMessage());
         }
+
+        this.random       = random;
+        this.snapshot     = loadedSnapshot;
+        this.countryArray = loaded;
+        this.deck         = new int[this.countryArray.length];
+
+        for (int i = 0; i < this.deck.length; i++)
+        {
+            this.deck[i] = i;
+        }
+    }
+
+    /*
+     * writeSnapshot compiles the parsed countries for the
+     * next run, failing to write only costs startup time
+     * @param snapshotFile to write
+     * @param fingerprint of the facts files
+     * @param loaded countries to compile
+     */
+    private static void writeSnapshot(
+        final Path      snapshotFile,
+        final long      fingerprint,
+        final Country[] loaded
+    ) {
+        try
+        {
+            WorldSnapshot.write(snapshotFile, fingerprint, loaded);
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Error writing the facts snapshot: " + e.getMessage());
+        }
+    }
+
+    /*
+     * getCountry at a position, decoding it from the
+     * snapshot the first time it is asked for. Racing
+     * threads may both decode a country, which is harmless
+     * as Country is immutable.
+     * @param index of the country
+     * @return Country at the position
+     */
+    private Country getCountry(final int index)
+    {
+        Country country;
+
+        country = this.countryArray[index];
+
+        if (country == null)
+        {
+            country                  = this.snapshot.getCountry(index);
+            this.countryArray[index] = country;
+        }
+
+        return country;
+    }
+
+    /**
+     * getCountryCount returns the number of countries
+     * @return number of countries in this World
+     */
+    public int getCountryCount()
+    {
+        return this.countryArray.length;
     }
 
     /**
      * getRandomCountry returns a random
-     * Country from this countries Map.
+     * Country from this World.
+     * Safe to call from multiple threads.
      * @return random Country
      */
     public Country getRandomCountry()
     {
-        final Random       rand;
-        final String       key;
-        final List<String> keys;
+        final int index;
+
+        synchronized (this.random)
+        {
+            index = this.random.nextInt(this.countryArray.length);
+        }
+
+        return getCountry(index);
+    }
+
+    /**
+     * sampleCountries returns a number of distinct random
+     * countries, so a round never asks about a country twice.
+     * Partially shuffles a deck of country positions that is
+     * kept between calls, costing O(count) per call.
+     * Safe to call from multiple threads.
+     * @param count of countries to pick
+     * @return array of distinct random countries
+     */
+    public Country[] sampleCountries(final int count)
+    {
+        if (count < 0 || count > this.countryArray.length)
+        {
+            throw new IllegalArgumentException("Cannot sample " + count + " countries");
+        }
+
+        final Country[] sample;
 
-        rand = new Random();
+        sample = new Country[count];
 
-        keys = new ArrayList<>(this.countries.keySet());
-        key  = keys.get(rand.nextInt(keys.size()));
+        synchronized (this.random)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                final int swap;
+                final int picked;
+
+                swap   = i + this.random.nextInt(this.deck.length - i);
+                picked = this.deck[swap];
+
+                this.deck[swap] = this.deck[i];
+                this.deck[i]    = picked;
+
+                sample[i] = getCountry(picked);
+            }
+        }
 
-        return this.countries.get(key);
+        return sample;
     }
 }
@@ -0,0 +1,482 @@
+package ca.bcit.comp2522.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * WorldSnapshot is a compiled binary copy of the facts
+ * corpus, loaded with a single memory map so the World
+ * starts in the same time no matter how many countries
+ * there are. Countries are decoded one at a time when
+ * they are first asked for.
+ *
+ * The file holds a header, an index of where each
+ * country's strings start, the offset of every string,
+ * a flag per string marking a missing fact, then the
+ * UTF-8 bytes of all strings. Each country is stored as
+ * its name, capital, then every slot of its facts array,
+ * so a country decodes with the same facts, missing ones
+ * null, as it had when parsed from the text files.
+ *
+ * Opening a snapshot checks its index and offsets are in
+ * range and in order, so a damaged file is treated as
+ * missing rather than failing once a country is decoded.
+ *
+ * The header records a fingerprint of the facts files
+ * the snapshot was built from, so a snapshot of an
+ * edited corpus is treated as stale.
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class WorldSnapshot
+{
+    private static final int    MAGIC          = 0x57524C44;
+    private static final int    VERSION        = 2;
+    private static final int    HEADER_BYTES   = 28;
+    private static final int    INT_BYTES      = Integer.BYTES;
+    private static final int    NAME_STRING    = 0;
+    private static final int    CAPITAL_STRING = 1;
+    private static final int    FIRST_FACT     = 2;
+    private static final long   HASH_SEED      = 0xcbf29ce484222325L;
+    private static final long   HASH_PRIME     = 0x100000001b3L;
+    private static final String TEMP_SUFFIX    = ".tmp";
+    private static final byte   PRESENT        = 0;
+    private static final byte   MISSING        = 1;
+
+    private final ByteBuffer buffer;
+    private final int        countryCount;
+    private final int        countryIndexStart;
+    private final int        stringOffsetsStart;
+    private final int        missingFlagsStart;
+    private final int        dataStart;
+
+    /*
+     * WorldSnapshot constructor over a validated mapped file
+     * @param buffer mapped snapshot file
+     * @param countryCount number of countries in the snapshot
+     * @param stringCount number of strings in the snapshot
+     */
+    private WorldSnapshot(
+        final ByteBuffer buffer,
+        final int        countryCount,
+        final int        stringCount
+    ) {
+        this.buffer             = buffer;
+        this.countryCount       = countryCount;
+        this.countryIndexStart  = HEADER_BYTES;
+        this.stringOffsetsStart = this.countryIndexStart + (countryCount + 1) * INT_BYTES;
+        this.missingFlagsStart  = this.stringOffsetsStart + (stringCount + 1) * INT_BYTES;
+        this.dataStart          = this.missingFlagsStart + stringCount;
+    }
+
+    /**
+     * fingerprint hashes the name, size, and modified time
+     * of every facts file below a folder, any edit to the
+     * corpus changes the fingerprint
+     * @param factsDirectory folder holding the facts files
+     * @return fingerprint of the corpus
+     * @throws IOException if the folder cannot be read
+     */
+    public static long fingerprint(final Path factsDirectory)
+        throws IOException
+    {
+        final List<Path> filesInFolder;
+
+        try (final Stream<Path> walk = Files.walk(factsDirectory))
+        {
+            filesInFolder = walk
+                            .filter(Files::isRegularFile)
+                            .sorted()
+                            .toList();
+        }
+
+        long hash;
+
+        hash = HASH_SEED;
+
+        for (final Path file : filesInFolder)
+        {
+            final BasicFileAttributes attributes;
+
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+            hash = mix(hash, factsDirectory.relativize(file).toString().hashCode());
+            hash = mix(hash, attributes.size());
+            hash = mix(hash, attributes.lastModifiedTime().toMillis());
+        }
+
+        return hash;
+    }
+
+    /*
+     * mix folds a value into a running FNV-1a style hash
+     * @param hash so far
+     * @param value to fold in
+     * @return new hash
+     */
+    private static long mix(
+        final long hash,
+        final long value
+    ) {
+        return (hash ^ value) * HASH_PRIME;
+    }
+
+    /**
+     * open maps a snapshot file if it exists and was
+     * built from a corpus with the given fingerprint
+     * @param snapshotFile to open
+     * @param fingerprint of the current corpus
+     * @return snapshot, or null if missing, stale, or damaged
+     */
+    public static WorldSnapshot open(
+        final Path snapshotFile,
+        final long fingerprint
+    ) {
+        if (!Files.isRegularFile(snapshotFile))
+        {
+            return null;
+        }
+
+        final MappedByteBuffer buffer;
+
+        try (final FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ))
+        {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE)
+            {
+                return null;
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        catch (final IOException e)
+        {
+            return null;
+        }
+
+        final int  magic;
+        final int  version;
+        final long builtFrom;
+        final int  countryCount;
+        final int  stringCount;
+        final int  dataLength;
+
+        magic        = buffer.getInt();
+        version      = buffer.getInt();
+        builtFrom    = buffer.getLong();
+        countryCount = buffer.getInt();
+        stringCount  = buffer.getInt();
+        dataLength   = buffer.getInt();
+
+        if (magic != MAGIC || version != VERSION || builtFrom != fingerprint ||
+            countryCount < 0 || stringCount < 0 || dataLength < 0)
+        {
+            return null;
+        }
+
+        final long expectedSize;
+
+        expectedSize = HEADER_BYTES +
+                       (long) (countryCount + 1) * INT_BYTES +
+                       (long) (stringCount + 1) * INT_BYTES +
+                       stringCount +
+                       dataLength;
+
+        if (expectedSize != buffer.capacity())
+        {
+            return null;
+        }
+
+        final WorldSnapshot snapshot;
+
+        snapshot = new WorldSnapshot(buffer, countryCount, stringCount);
+
+        return snapshot.isConsistent(stringCount, dataLength) ? snapshot : null;
+    }
+
+    /*
+     * isConsistent checks every country starts at a string in
+     * range with a name and capital, in order, and that every
+     * string lies inside the data in order, so decoding any
+     * country cannot read outside the file
+     * @param stringCount number of strings in the snapshot
+     * @param dataLength number of bytes of string data
+     * @return true if the snapshot can be decoded
+     */
+    private boolean isConsistent(
+        final int stringCount,
+        final int dataLength
+    ) {
+        int previous;
+
+        previous = 0;
+
+        for (int i = 0; i <= this.countryCount; i++)
+        {
+            final int first;
+
+            first = this.buffer.getInt(this.countryIndexStart + i * INT_BYTES);
+
+            if ((i == 0 && first != 0) || (i > 0 && first < previous + FIRST_FACT) || first > stringCount)
+            {
+                return false;
+            }
+
+            if (i < this.countryCount &&
+                (this.isMissing(first + NAME_STRING) || this.isMissing(first + CAPITAL_STRING)))
+            {
+                return false;
+            }
+
+            previous = first;
+        }
+
+        if (previous != stringCount)
+        {
+            return false;
+        }
+
+        previous = 0;
+
+        for (int i = 0; i <= stringCount; i++)
+        {
+            final int offset;
+
+            offset = this.buffer.getInt(this.stringOffsetsStart + i * INT_BYTES);
+
+            if ((i == 0 && offset != 0) || offset < previous || offset > dataLength)
+            {
+                return false;
+            }
+
+            if (i < stringCount && this.buffer.get(this.missingFlagsStart + i) > MISSING)
+            {
+                return false;
+            }
+
+            previous = offset;
+        }
+
+        return previous == dataLength;
+    }
+
+    /**
+     * write compiles countries into a snapshot file. The
+     * file is written beside the target and moved into
+     * place, so a reader never sees a half written snapshot.
+     * @param snapshotFile to write
+     * @param fingerprint of the corpus the countries came from
+     * @param countries to store, in the order to store them
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static void write(
+        final Path      snapshotFile,
+        final long      fingerprint,
+        final Country[] countries
+    )
+        throws IOException
+    {
+        final int[]    countryIndex;
+        final byte[][] strings;
+        int            stringCount;
+        long           dataLength;
+
+        countryIndex = new int[countries.length + 1];
+        stringCount  = 0;
+
+        for (int i = 0; i < countries.length; i++)
+        {
+            countryIndex[i] = stringCount;
+            stringCount    += FIRST_FACT + countries[i].getFacts().length;
+        }
+
+        countryIndex[countries.length] = stringCount;
+
+        strings    = new byte[stringCount][];
+        dataLength = 0;
+
+        for (int i = 0; i < countries.length; i++)
+        {
+            final String[] facts;
+            int            next;
+
+            facts = countries[i].getFacts();
+            next  = countryIndex[i];
+
+            strings[next++] = countries[i].getName().getBytes(StandardCharsets.UTF_8);
+            strings[next++] = countries[i].getCapital().getBytes(StandardCharsets.UTF_8);
+
+            for (final String fact : facts)
+            {
+                strings[next++] = fact == null ? null : fact.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        for (final byte[] string : strings)
+        {
+            dataLength += string == null ? 0 : string.length;
+        }
+
+        final long fileSize;
+
+        fileSize = HEADER_BYTES +
+                   (long) countryIndex.length * INT_BYTES +
+                   (long) (stringCount + 1) * INT_BYTES +
+                   stringCount +
+                   dataLength;
+
+        if (fileSize > Integer.MAX_VALUE)
+        {
+            throw new IOException("Facts corpus too large for a snapshot");
+        }
+
+        final ByteBuffer out;
+
+        out = ByteBuffer.allocate((int) fileSize);
+
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putLong(fingerprint);
+        out.putInt(countries.length);
+        out.putInt(stringCount);
+        out.putInt((int) dataLength);
+
+        for (final int start : countryIndex)
+        {
+            out.putInt(start);
+        }
+
+        int offset;
+
+        offset = 0;
+
+        for (final byte[] string : strings)
+        {
+            out.putInt(offset);
+            offset += string == null ? 0 : string.length;
+        }
+
+        out.putInt(offset);
+
+        for (final byte[] string : strings)
+        {
+            out.put(string == null ? MISSING : PRESENT);
+        }
+
+        for (final byte[] string : strings)
+        {
+            if (string != null)
+            {
+                out.put(string);
+            }
+        }
+
+        out.flip();
+
+        final Path temp;
+
+        temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + TEMP_SUFFIX);
+
+        try (final FileChannel channel = FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            while (out.hasRemaining())
+            {
+                channel.write(out);
+            }
+        }
+
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * getCountryCount returns the number of countries
+     * @return number of countries in the snapshot
+     */
+    public int getCountryCount()
+    {
+        return this.countryCount;
+    }
+
+    /**
+     * getCountry decodes one country from the snapshot.
+     * Only reads by absolute position, so it is safe to
+     * call from multiple threads.
+     * @param index of the country
+     * @return decoded Country
+     */
+    public Country getCountry(final int index)
+    {
+        if (index < 0 || index >= this.countryCount)
+        {
+            throw new IndexOutOfBoundsException("No country at " + index);
+        }
+
+        final int      first;
+        final int      end;
+        final String[] facts;
+
+        first = this.buffer.getInt(this.countryIndexStart + index * INT_BYTES);
+        end   = this.buffer.getInt(this.countryIndexStart + (index + 1) * INT_BYTES);
+        facts = new String[end - first - FIRST_FACT];
+
+        for (int i = 0; i < facts.length; i++)
+        {
+            facts[i] = readString(first + FIRST_FACT + i);
+        }
+
+        return new Country(
+            readString(first + NAME_STRING),
+            readString(first + CAPITAL_STRING),
+            facts
+        );
+    }
+
+    /*
+     * readString decodes one string from the string table
+     * @param index of the string
+     * @return decoded string, null for a missing fact
+     */
+    private String readString(final int index)
+    {
+        if (this.isMissing(index))
+        {
+            return null;
+        }
+
+        final int    start;
+        final int    end;
+        final byte[] bytes;
+
+        start = this.buffer.getInt(this.stringOffsetsStart + index * INT_BYTES);
+        end   = this.buffer.getInt(this.stringOffsetsStart + (index + 1) * INT_BYTES);
+        bytes = new byte[end - start];
+
+        this.buffer.get(this.dataStart + start, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * isMissing checks if a string stands for a missing fact
+     * @param index of the string
+     * @return true if the string is missing
+     */
+    private boolean isMissing(final int index)
+    {
+        return this.buffer.get(this.missingFlagsStart + index) == MISSING;
+    }
+}
@@ -0,0 +1,201 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AscendingPlacement test to test the checks on FilledSlots
+ * agree with scanning every slot of the positions
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class AscendingPlacementTest
+{
+    /*
+     * isValidPlacement by scanning every filled slot
+     */
+    private static boolean scanValid(final int[] positions, final int index, final int value)
+    {
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] != 0 && ((i < index && positions[i] > value) || (i > index && positions[i] < value)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * every empty slot whose nearest filled neighbors bracket the value
+     */
+    private static int[] scanSlots(final int[] positions, final int value)
+    {
+        final int[] slots;
+        int         count;
+        int         left;
+
+        slots = new int[positions.length];
+        count = 0;
+        left  = Integer.MIN_VALUE;
+
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] != 0)
+            {
+                left = positions[i];
+                continue;
+            }
+
+            int right;
+            right = Integer.MAX_VALUE;
+
+            for (int j = i + 1; j < positions.length; j++)
+            {
+                if (positions[j] != 0)
+                {
+                    right = positions[j];
+                    break;
+                }
+            }
+
+            if (left < value && value < right)
+            {
+                slots[count++] = i;
+            }
+        }
+
+        return Arrays.copyOf(slots, count);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 20, 100, 5000})
+    public void testMatchesScanOverRandomGames(final int slotCount)
+    {
+        final Random             random;
+        final FilledSlots        slots;
+        final int[]              positions;
+        final AscendingPlacement rule;
+
+        random    = new Random(2522L + slotCount);
+        slots     = new FilledSlots(slotCount);
+        positions = slots.positions();
+        rule      = new AscendingPlacement();
+
+        for (int game = 0; game < 200; game++)
+        {
+            slots.clear();
+
+            for (int placed = 0; placed < slotCount; placed++)
+            {
+                final int   value;
+                final int[] validSlots;
+
+                value      = 1 + random.nextInt(Math.max(10, slotCount * 4));
+                validSlots = scanSlots(positions, value);
+
+                assertEquals(validSlots.length > 0, rule.canPlaceNext(slots, value));
+                assertEquals(validSlots.length > 0, rule.canPlaceNext(positions, value));
+
+                if (validSlots.length == 0)
+                {
+                    break;
+                }
+
+                int slot;
+                slot = validSlots[random.nextInt(validSlots.length)];
+
+                if (random.nextInt(20) == 0)
+                {
+                    // Sometimes any empty slot, so invalid placements are checked too
+                    do
+                    {
+                        slot = random.nextInt(slotCount);
+                    }
+                    while (positions[slot] != 0);
+                }
+
+                slots.fill(slot, value);
+
+                final boolean valid;
+                valid = scanValid(positions, slot, value);
+
+                assertEquals(valid, rule.isValidPlacement(slots, slot, value));
+                assertEquals(valid, rule.isValidPlacement(positions, slot, value));
+
+                if (!valid)
+                {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testArrayChecksFollowChangesInPlace()
+    {
+        final int[]              positions;
+        final AscendingPlacement rule;
+
+        positions = new int[] {0, 10, 0, 0, 40, 0};
+        rule      = new AscendingPlacement();
+
+        assertTrue(rule.canPlaceNext(positions, 20));
+        assertTrue(rule.isValidPlacement(positions, 2, 30));
+
+        // The rule keeps nothing between calls, so the same array changed in place is checked as it is now
+        positions[2] = 20;
+        positions[3] = 30;
+
+        assertFalse(rule.canPlaceNext(positions, 25));
+        assertFalse(rule.isValidPlacement(positions, 5, 25));
+        assertTrue(rule.canPlaceNext(positions, 50));
+    }
+
+    @Test
+    public void testClearForgetsLastGame()
+    {
+        final FilledSlots        slots;
+        final AscendingPlacement rule;
+
+        slots = new FilledSlots(3);
+        rule  = new AscendingPlacement();
+
+        slots.fill(0, 10);
+        slots.fill(2, 20);
+
+        assertFalse(rule.canPlaceNext(slots, 30));
+        assertThrows(IllegalArgumentException.class, () -> slots.fill(2, 30));
+
+        slots.clear();
+
+        assertTrue(rule.canPlaceNext(slots, 30));
+        assertEquals(0, slots.get(0));
+        assertEquals(FilledSlots.NONE_BEFORE, slots.previousFilled(2));
+    }
+
+    @Test
+    public void testNoGapBetweenNeighbors()
+    {
+        final FilledSlots        slots;
+        final AscendingPlacement rule;
+
+        slots = new FilledSlots(3);
+        rule  = new AscendingPlacement();
+
+        slots.fill(0, 10);
+        slots.fill(1, 20);
+
+        assertFalse(rule.canPlaceNext(slots, 15));
+        assertTrue(rule.canPlaceNext(slots, 25));
+        assertFalse(rule.canPlaceNext(slots.positions(), 15));
+    }
+}
@@ -0,0 +1,92 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DateTimes test to test parsing and formatting
+ * agree with java.time for the score log dates
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class DateTimesTest
+{
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long              FIRST     = LocalDateTime.of(1, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long              LAST      = LocalDateTime.of(9999, 12, 31, 23, 59, 59).toEpochSecond(ZoneOffset.UTC);
+
+    @Test
+    public void testMatchesJavaTime()
+    {
+        final Random random;
+        random = new Random(2522);
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            final LocalDateTime dateTime;
+            dateTime = LocalDateTime.ofEpochSecond(FIRST + Math.floorMod(random.nextLong(), LAST - FIRST + 1), 0, ZoneOffset.UTC);
+
+            final String text;
+            text = dateTime.format(FORMATTER);
+
+            assertEquals(dateTime.toEpochSecond(ZoneOffset.UTC), DateTimes.parseEpochSecond(text), text);
+            assertEquals(text, DateTimes.format(dateTime.toEpochSecond(ZoneOffset.UTC)));
+        }
+    }
+
+    @Test
+    public void testLeapDays()
+    {
+        assertEquals(
+            LocalDateTime.of(2024, 2, 29, 23, 59, 59).toEpochSecond(ZoneOffset.UTC),
+            DateTimes.parseEpochSecond("2024-02-29 23:59:59")
+        );
+        assertEquals(
+            LocalDateTime.of(2000, 3, 1, 0, 0).toEpochSecond(ZoneOffset.UTC),
+            DateTimes.parseEpochSecond("2000-03-01 00:00:00")
+        );
+        assertEquals("1969-12-31 23:59:59", DateTimes.format(-1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "not a date",
+        "2025-13-01 00:00:00",
+        "2025-02-29 00:00:00",
+        "2025-04-31 00:00:00",
+        "2025-01-01 24:00:00",
+        "2025-01-01 00:60:00",
+        "2025-01-01T00:00:00",
+        "2025-01-01 00:00:00 ",
+        "2025-0a-01 00:00:00",
+        "0000-01-01 00:00:00"
+    })
+    public void testRejectsInvalidDates(final String text)
+    {
+        assertThrows(DateTimeException.class, () -> DateTimes.parseEpochSecond(text));
+    }
+
+    @Test
+    public void testScoreKeepsDateToTheSecond()
+    {
+        final LocalDateTime dateTime;
+        dateTime = LocalDateTime.of(2025, 11, 14, 17, 17, 48, 123_456_789);
+
+        final Score score;
+        score = new Score(dateTime, 1, 2, 3, 4);
+
+        assertEquals(dateTime.withNano(0), score.getDateTime());
+        assertEquals("2025-11-14 17:17:48", score.getDateTimePlayed());
+    }
+}
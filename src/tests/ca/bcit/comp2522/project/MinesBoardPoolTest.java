@@ -0,0 +1,91 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MinesBoardPool test to test only boards a solver clears
+ * without guessing are dealt, from their first cell
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesBoardPoolTest
+{
+    @Test
+    public void testOpeningClearsBoard()
+    {
+        final Mines game;
+        game = new Mines(3, 3, 1, false, 0L);
+        game.loadField(new int[] {
+            -1, 0, 0,
+             0, 0, 0,
+             0, 0, 0
+        });
+
+        assertTrue(MinesBoardPool.isNoGuess(game, 8, new MinesSolver()));
+        assertTrue(game.hasWon());
+    }
+
+    @Test
+    public void testFiftyFiftyNeedsGuess()
+    {
+        final Mines game;
+        game = new Mines(2, 3, 1, false, 0L);
+        game.loadField(new int[] {
+            -1, 0,
+             0, 0,
+             0, 0
+        });
+
+        // The opening leaves the two top cells with one mine between them
+        assertFalse(MinesBoardPool.isNoGuess(game, 4, new MinesSolver()));
+        assertFalse(game.hasWon());
+    }
+
+    @Test
+    public void testDealsNoGuessBoards()
+    {
+        try (final MinesBoardPool pool = new MinesBoardPool(16, 16, 40, 2, 2, new SeededRandom(5)))
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                final MinesBoardPool.Board board;
+                board = assertTimeoutPreemptively(Duration.ofSeconds(60), pool::take);
+
+                assertEquals(0, board.game().getRevealedCount());
+                assertFalse(board.game().isMine(board.startCell()));
+                assertEquals(0, board.game().getFieldValue(board.startCell()));
+                assertFalse(board.game().isRandomMode());
+
+                // The board dealt is the one checked, replayed from its seed
+                assertTrue(MinesBoardPool.isNoGuess(board.game(), board.startCell(), new MinesSolver()));
+            }
+        }
+    }
+
+    @Test
+    public void testTimedPollWaitsForBoard() throws InterruptedException
+    {
+        try (final MinesBoardPool pool = new MinesBoardPool(8, 8, 10, 1, 1, new SeededRandom(3)))
+        {
+            final MinesBoardPool.Board board;
+            board = pool.poll(60, TimeUnit.SECONDS);
+
+            assertNotNull(board);
+            assertTrue(MinesBoardPool.isNoGuess(board.game(), board.startCell(), new MinesSolver()));
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidPools()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new MinesBoardPool(8, 8, 10, 0, 1, new SeededRandom(1)));
+        assertThrows(IllegalArgumentException.class, () -> new MinesBoardPool(8, 8, 10, 1, 0, new SeededRandom(1)));
+        assertThrows(IllegalArgumentException.class, () -> new MinesBoardPool(8, 8, 65, 1, 1, new SeededRandom(1)));
+    }
+}
@@ -0,0 +1,187 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MinesLeaderboard test to test the sidecar index
+ * agrees with a full scan of the score log
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesLeaderboardTest
+{
+    private static final String[] DIFFICULTIES = {
+        MinesScore.DIFFICULTY_EASY,
+        MinesScore.DIFFICULTY_MEDIUM,
+        MinesScore.DIFFICULTY_HARD
+    };
+
+    @Test
+    public void testMatchesFullScan(@TempDir Path tempDir)
+    {
+        final String file;
+        file = tempDir.resolve("scores.txt").toString();
+
+        final MinesLeaderboard leaderboard;
+        leaderboard = new MinesLeaderboard(file, 3);
+
+        final LocalDateTime start;
+        start = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+        for (int i = 0; i < 60; i++)
+        {
+            final MinesScore score;
+            score = new MinesScore(start.plusMinutes(i), 100 - (i * 37) % 50, DIFFICULTIES[i % 3], i % 2 == 0);
+
+            assertEquals(
+                MinesScore.isHighScore(score, MinesScore.readScoresFromFile(file)),
+                leaderboard.isHighScore(score)
+            );
+
+            leaderboard.append(score);
+        }
+
+        final List<MinesScore> scores;
+        scores = MinesScore.readScoresFromFile(file);
+
+        for (final String difficulty : DIFFICULTIES)
+        {
+            for (final boolean randomMode : new boolean[] {true, false})
+            {
+                final MinesScore expected;
+                expected = MinesScore.getHighScore(scores, difficulty, randomMode);
+
+                assertEquals(expected.toString(), leaderboard.getHighScore(difficulty, randomMode).toString());
+                assertEquals(3, leaderboard.getTopScores(difficulty, randomMode).size());
+            }
+        }
+    }
+
+    @Test
+    public void testReloadsFromSidecar(@TempDir Path tempDir)
+    {
+        final String file;
+        file = tempDir.resolve("scores.txt").toString();
+
+        final MinesLeaderboard first;
+        first = new MinesLeaderboard(file);
+        first.append(new MinesScore(LocalDateTime.now(), 30, MinesScore.DIFFICULTY_EASY, false));
+        first.append(new MinesScore(LocalDateTime.now(), 20, MinesScore.DIFFICULTY_EASY, false));
+
+        assertTrue(Files.exists(Path.of(file + ".leaderboard")));
+
+        final MinesLeaderboard second;
+        second = new MinesLeaderboard(file);
+
+        assertEquals(20, second.getHighScore("EASY", false).getSeconds());
+        assertNull(second.getHighScore(MinesScore.DIFFICULTY_EASY, true));
+        assertEquals(2, second.getTopScores(MinesScore.DIFFICULTY_EASY, false).size());
+    }
+
+    @Test
+    public void testRebuildsWhenLogChangedElsewhere(@TempDir Path tempDir)
+    {
+        final String file;
+        file = tempDir.resolve("scores.txt").toString();
+
+        final MinesLeaderboard leaderboard;
+        leaderboard = new MinesLeaderboard(file);
+        leaderboard.append(new MinesScore(LocalDateTime.now(), 30, MinesScore.DIFFICULTY_HARD, true));
+
+        // Written straight to the log, the sidecar does not know about it
+        MinesScore.appendScoreToFile(new MinesScore(LocalDateTime.now(), 5, MinesScore.DIFFICULTY_HARD, true), file);
+
+        assertEquals(5, new MinesLeaderboard(file).getHighScore(MinesScore.DIFFICULTY_HARD, true).getSeconds());
+
+        leaderboard.append(new MinesScore(LocalDateTime.now(), 10, MinesScore.DIFFICULTY_HARD, true));
+        assertEquals(5, leaderboard.getHighScore(MinesScore.DIFFICULTY_HARD, true).getSeconds());
+    }
+
+    @Test
+    public void testConcurrentAppendsFromSeparateLeaderboards(@TempDir Path tempDir)
+        throws InterruptedException
+    {
+        final String file;
+        file = tempDir.resolve("scores.txt").toString();
+
+        final Thread[] threads;
+        threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++)
+        {
+            final int thread;
+            thread = t;
+
+            threads[t] = new Thread(() -> {
+                // One leaderboard per thread, as separate game processes would have
+                final MinesLeaderboard leaderboard;
+                leaderboard = new MinesLeaderboard(file, 100);
+
+                for (int i = 0; i < 25; i++)
+                {
+                    leaderboard.append(new MinesScore(LocalDateTime.now(), 1 + thread * 25 + i, MinesScore.DIFFICULTY_EASY, false));
+                }
+            });
+            threads[t].start();
+        }
+
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEquals(100, MinesScore.readScoresFromFile(file).size());
+
+        final MinesLeaderboard leaderboard;
+        leaderboard = new MinesLeaderboard(file, 100);
+
+        assertEquals(100, leaderboard.getTopScores(MinesScore.DIFFICULTY_EASY, false).size());
+        assertEquals(1, leaderboard.getHighScore(MinesScore.DIFFICULTY_EASY, false).getSeconds());
+    }
+
+    @Test
+    public void testConcurrentRebuildsLeaveOneWholeSidecar(@TempDir Path tempDir)
+        throws InterruptedException, IOException
+    {
+        final String file;
+        file = tempDir.resolve("scores.txt").toString();
+
+        for (int i = 0; i < 200; i++)
+        {
+            MinesScore.appendScoreToFile(new MinesScore(LocalDateTime.now(), 10 + i, MinesScore.DIFFICULTY_MEDIUM, false), file);
+        }
+
+        final Thread[] threads;
+        threads = new Thread[8];
+
+        for (int t = 0; t < threads.length; t++)
+        {
+            // Every leaderboard finds no sidecar and rebuilds it at once, without the lock
+            threads[t] = new Thread(() -> new MinesLeaderboard(file, 50));
+            threads[t].start();
+        }
+
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        try (Stream<Path> files = Files.list(tempDir))
+        {
+            assertEquals(0, files.filter(path -> path.toString().endsWith(".tmp")).count());
+        }
+
+        assertEquals(50, new MinesLeaderboard(file, 50).getTopScores(MinesScore.DIFFICULTY_MEDIUM, false).size());
+    }
+}
@@ -6,9 +6,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -87,4 +92,55 @@ public class MinesScoreTest
 
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    public void testStreamAggregatesMatchList(@TempDir Path tempDir)
+    {
+        final String file;
+        file = tempDir.resolve("scores.txt").toString();
+
+        final LocalDateTime day;
+        day = LocalDateTime.of(2025, 11, 14, 10, 0);
+
+        MinesScore.appendScoreToFile(new MinesScore(day, 40, MinesScore.DIFFICULTY_EASY, false), file);
+        MinesScore.appendScoreToFile(new MinesScore(day.plusHours(1), 20, MinesScore.DIFFICULTY_EASY, false), file);
+        MinesScore.appendScoreToFile(new MinesScore(day.plusDays(1), 5, MinesScore.DIFFICULTY_EASY, true), file);
+
+        try (Stream<MinesScore> scores = MinesScore.streamScoresFromFile(file))
+        {
+            assertEquals(20, MinesScore.getHighScore(scores, MinesScore.DIFFICULTY_EASY, false).getSeconds());
+        }
+
+        try (Stream<MinesScore> scores = MinesScore.streamScoresFromFile(file))
+        {
+            assertEquals(30.0, MinesScore.calculateAverageSeconds(scores, MinesScore.DIFFICULTY_EASY, false));
+        }
+
+        try (Stream<MinesScore> scores = MinesScore.streamScoresFromFile(file))
+        {
+            final Map<LocalDate, Long> perDay;
+            perDay = MinesScore.countByDay(scores);
+
+            assertEquals(2L, perDay.get(day.toLocalDate()));
+            assertEquals(1L, perDay.get(day.toLocalDate().plusDays(1)));
+        }
+    }
+
+    @Test
+    public void testStreamSkipsDamagedRecords(@TempDir Path tempDir) throws IOException
+    {
+        final Path file;
+        file = tempDir.resolve("scores.txt");
+
+        Files.writeString(file,
+            "Date and Time: 2025-11-14 10:00:00\nSeconds: 12\nDifficulty: nightmare\nRandom Mode: false\n\n" +
+            "Date and Time: 2025-11-14 10:05:00\nSeconds: 30\nDifficulty: hard\nRandom Mode: true\n\n" +
+            "Date and Time: 2025-11-14 10:09:00\nSeconds: 3");
+
+        final List<MinesScore> scores;
+        scores = MinesScore.readScoresFromFile(file.toString());
+
+        assertEquals(1, scores.size());
+        assertEquals(30, scores.get(0).getSeconds());
+    }
 }
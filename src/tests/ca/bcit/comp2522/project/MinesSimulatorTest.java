@@ -0,0 +1,80 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MinesSimulator test to test headless runs are
+ * repeatable and count games and reveals correctly
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesSimulatorTest
+{
+    @Test
+    public void testSameSeedPlaysSameGames()
+    {
+        final MinesSimulator simulator;
+        simulator = new MinesSimulator(8, 8, 10, true);
+
+        final MinesSimulator.Report first;
+        final MinesSimulator.Report second;
+        first  = simulator.run(500, new RandomMinesPlayer(new SeededRandom(7)), 42);
+        second = simulator.run(500, new RandomMinesPlayer(new SeededRandom(7)), 42);
+
+        assertEquals(500, first.games());
+        assertEquals(first.wins(), second.wins());
+        assertEquals(first.reveals(), second.reveals());
+        assertTrue(first.reveals() >= first.games());
+        assertTrue(first.gamesPerSecond() > 0);
+        assertTrue(first.revealsPerSecond() >= first.gamesPerSecond());
+    }
+
+    @Test
+    public void testEveryGameEndsInWinOrLoss()
+    {
+        final MinesSimulator simulator;
+        simulator = MinesSimulator.withDensity(5, 5, 0.04, false);
+
+        final MinesSimulator.Report report;
+        report = simulator.run(200, new RandomMinesPlayer(new SeededRandom(1)), 3);
+
+        // One mine in 25 cells, a random player wins some games but not all
+        assertTrue(report.wins() > 0);
+        assertTrue(report.wins() < report.games());
+        assertTrue(report.reveals() <= 200L * 24);
+    }
+
+    @Test
+    public void testBoardsWithNoSafeCellsAreWon()
+    {
+        final MinesSimulator.Report report;
+        report = new MinesSimulator(3, 3, 9, false).run(10, game -> {
+            throw new AssertionError("No move should be asked for");
+        }, 0);
+
+        assertEquals(10, report.wins());
+        assertEquals(0, report.reveals());
+    }
+
+    @Test
+    public void testAllocationMeasuredOrMarked()
+    {
+        final MinesSimulator.Report report;
+        report = new MinesSimulator(16, 16, 40, false).run(50, new RandomMinesPlayer(new SeededRandom(2)), 2);
+
+        assertTrue(report.allocatedBytes() == -1 || report.allocatedBytes() > 0);
+        assertFalse(report.toString().isEmpty());
+    }
+
+    @Test
+    public void testRejectsInvalidSettings()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new MinesSimulator(0, 8, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> MinesSimulator.withDensity(8, 8, 1.5, false));
+        assertThrows(IllegalArgumentException.class,
+            () -> new MinesSimulator(8, 8, 10, false).run(0, new RandomMinesPlayer(new SeededRandom(0)), 0));
+    }
+}
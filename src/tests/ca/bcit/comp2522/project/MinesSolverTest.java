@@ -0,0 +1,292 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MinesSolver test to test deductions are never wrong and
+ * mine chances match counting every placement of the mines
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class MinesSolverTest
+{
+    private static final double DELTA = 1e-9;
+
+    /*
+     * plays a game with the solver, checking every solve
+     * against the real board before each move
+     */
+    private static boolean playChecked(final Mines game, final MinesSolver solver) throws InvalidMoveException
+    {
+        final int cells;
+        cells = game.getWidth() * game.getHeight();
+
+        while (!game.hasWon())
+        {
+            solver.solve(game);
+
+            double expectedMines;
+            expectedMines = 0;
+
+            for (int cell = 0; cell < cells; cell++)
+            {
+                if (solver.isSafe(cell))
+                {
+                    assertFalse(game.isMine(cell), "cell " + cell + " deduced safe");
+                }
+
+                if (solver.isKnownMine(cell))
+                {
+                    assertTrue(game.isMine(cell), "cell " + cell + " deduced mine");
+                }
+
+                expectedMines += solver.getMineProbability(cell);
+            }
+
+            if (solver.isExact())
+            {
+                assertEquals(game.getTotalMines(), expectedMines, DELTA);
+            }
+
+            if (game.reveal(solver.chooseCell(game)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Test
+    public void testDeductionsHoldOnRandomGames() throws InvalidMoveException
+    {
+        final MinesSolver solver;
+        solver = new MinesSolver();
+
+        for (long seed = 0; seed < 40; seed++)
+        {
+            playChecked(new Mines(16, 16, 40, false, seed), solver);
+            playChecked(new Mines(36, 16, 99, false, seed), solver);
+            playChecked(new Mines(8, 8, 10, false, seed), solver);
+        }
+    }
+
+    @Test
+    public void testOneTwoOnePattern() throws InvalidMoveException
+    {
+        final Mines game;
+        game = new Mines(3, 2, 2, false, 0L);
+        game.loadField(new int[] {
+            -1, 0, -1,
+             0, 0,  0
+        });
+
+        game.reveal(3);
+        game.reveal(4);
+        game.reveal(5);
+
+        final MinesSolver solver;
+        solver = new MinesSolver();
+        solver.solve(game);
+
+        assertTrue(solver.isKnownMine(0));
+        assertTrue(solver.isSafe(1));
+        assertTrue(solver.isKnownMine(2));
+        assertEquals(1, solver.getSafeCount());
+        assertEquals(1, solver.getSafeCell(0));
+        assertEquals(-1, solver.getBestGuess());
+    }
+
+    @Test
+    public void testMineCountSettlesCellsOffTheFrontier() throws InvalidMoveException
+    {
+        final Mines game;
+        game = new Mines(4, 1, 1, false, 0L);
+        game.loadField(new int[] {-1, 0, 0, 0});
+
+        // The 1 holds the only mine next to it, so the far cell is safe by the total alone
+        game.reveal(1);
+
+        final MinesSolver solver;
+        solver = new MinesSolver();
+        solver.solve(game);
+
+        assertEquals(0.5, solver.getMineProbability(0), DELTA);
+        assertEquals(0.5, solver.getMineProbability(2), DELTA);
+        assertTrue(solver.isSafe(3));
+        assertEquals(3, solver.getSafeCell(0));
+    }
+
+    @Test
+    public void testChancesMatchCountingEveryPlacement() throws InvalidMoveException
+    {
+        final MinesSolver solver;
+        solver = new MinesSolver();
+
+        for (long seed = 0; seed < 30; seed++)
+        {
+            final Mines game;
+            game = new Mines(5, 4, 5, false, seed);
+
+            // A few moves in, so the board has a frontier and cells off it
+            for (int move = 0; move < 2 && !game.hasWon(); move++)
+            {
+                final int cell;
+                cell = solver.chooseCell(game);
+
+                if (game.isMine(cell))
+                {
+                    break;
+                }
+
+                game.reveal(cell);
+            }
+
+            solver.solve(game);
+
+            final double[] expected;
+            expected = countPlacements(game);
+
+            for (int cell = 0; cell < expected.length; cell++)
+            {
+                if (!game.isRevealed(cell))
+                {
+                    assertEquals(expected[cell], solver.getMineProbability(cell), DELTA, "seed " + seed + " cell " + cell);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBeatsRandomPlayer()
+    {
+        final MinesSimulator simulator;
+        simulator = new MinesSimulator(16, 16, 40, false);
+
+        final MinesSimulator.Report solved;
+        final MinesSimulator.Report random;
+        solved = simulator.run(200, new MinesSolver(), 9);
+        random = simulator.run(200, new RandomMinesPlayer(new SeededRandom(9)), 9);
+
+        assertTrue(solved.wins() > 100, "won " + solved.wins());
+        assertTrue(solved.wins() > random.wins() * 10);
+    }
+
+    /*
+     * chance each cell is a mine, counted over every placement
+     * of the mines that shows the revealed numbers
+     */
+    private static double[] countPlacements(final Mines game)
+    {
+        final int cells;
+        cells = game.getWidth() * game.getHeight();
+
+        final double[] mined;
+        final int[]    hidden;
+        int            hiddenCount;
+
+        mined       = new double[cells];
+        hidden      = new int[cells];
+        hiddenCount = 0;
+
+        for (int cell = 0; cell < cells; cell++)
+        {
+            if (!game.isRevealed(cell))
+            {
+                hidden[hiddenCount++] = cell;
+            }
+        }
+
+        final boolean[] mine;
+        final double    placements;
+        mine       = new boolean[cells];
+        placements = place(game, hidden, hiddenCount, 0, game.getTotalMines(), mine, mined);
+
+        for (int cell = 0; cell < cells; cell++)
+        {
+            mined[cell] /= placements;
+        }
+
+        return mined;
+    }
+
+    private static double place(
+        final Mines     game,
+        final int[]     hidden,
+        final int       hiddenCount,
+        final int       from,
+        final int       left,
+        final boolean[] mine,
+        final double[]  mined
+    ) {
+        if (left == 0)
+        {
+            if (!shows(game, mine))
+            {
+                return 0;
+            }
+
+            for (int cell = 0; cell < mine.length; cell++)
+            {
+                if (mine[cell])
+                {
+                    mined[cell]++;
+                }
+            }
+
+            return 1;
+        }
+
+        double total;
+        total = 0;
+
+        for (int i = from; i <= hiddenCount - left; i++)
+        {
+            mine[hidden[i]] = true;
+            total += place(game, hidden, hiddenCount, i + 1, left - 1, mine, mined);
+            mine[hidden[i]] = false;
+        }
+
+        return total;
+    }
+
+    private static boolean shows(final Mines game, final boolean[] mine)
+    {
+        final int width;
+        final int height;
+        width  = game.getWidth();
+        height = game.getHeight();
+
+        for (int cell = 0; cell < mine.length; cell++)
+        {
+            if (!game.isRevealed(cell))
+            {
+                continue;
+            }
+
+            int count;
+            count = 0;
+
+            for (int r = cell / width - 1; r <= cell / width + 1; r++)
+            {
+                for (int c = cell % width - 1; c <= cell % width + 1; c++)
+                {
+                    if (r >= 0 && r < height && c >= 0 && c < width && mine[r * width + c])
+                    {
+                        count++;
+                    }
+                }
+            }
+
+            if (count != game.getFieldValue(cell))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -3,7 +3,8 @@ package ca.bcit.comp2522.project;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,32 +38,22 @@ public class MinesTest
         mines = new Mines(width, height, totalMines, randomMode);
     }
 
-    // --- Reflection helpers -------------------------------------------------
+    // --- Board helpers -----------------------------------------------------
 
-    private int[] getFieldArray(final Mines game) throws Exception
+    private int[] getFieldArray(final Mines game)
     {
-        final Field fieldField;
-        fieldField = Mines.class.getDeclaredField("field");
-        fieldField.setAccessible(true);
-
-        final Object value;
-        value = fieldField.get(game);
-
-        return (int[]) value;
+        return game.toFieldArray();
     }
 
-    private void setFieldArray(final Mines game, final int[] newField) throws Exception
+    private void setFieldArray(final Mines game, final int[] newField)
     {
-        final Field fieldField;
-        fieldField = Mines.class.getDeclaredField("field");
-        fieldField.setAccessible(true);
-        fieldField.set(game, newField);
+        game.loadField(newField);
     }
 
     // --- Basic tests ---------------------------------------------------------
 
     @Test
-    public void testFieldArraySizeMatchesWidthTimesHeight() throws Exception
+    public void testFieldArraySizeMatchesWidthTimesHeight()
     {
         final int[] fieldArray;
         fieldArray = getFieldArray(mines);
@@ -144,7 +135,7 @@ public class MinesTest
         assertTrue(mines.hasWon());
     }
 
-    // --- Advanced tests (using reflection to control the board) -------------
+    // --- Advanced tests (loading a known board) ------------------------------
 
     @Test
     public void testPopVoidExpansionRevealsConnectedRegion() throws Exception
@@ -310,4 +301,394 @@ public class MinesTest
 
         assertTrue(hitMine);
     }
+
+    @Test
+    public void testPopVoidOnLargeEmptyBoardRevealsEveryCell() throws Exception
+    {
+        final int width;
+        final int height;
+        final int totalMines;
+        final boolean randomMode;
+
+        width = 1000;
+        height = 1000;
+        totalMines = 0;
+        randomMode = false;
+
+        final Mines board;
+        board = new Mines(width, height, totalMines, randomMode);
+
+        board.reveal(0);
+
+        assertEquals(width * height, board.getLastRevealedCount());
+        assertTrue(board.isRevealed(width * height - 1));
+        assertTrue(board.hasWon());
+    }
+
+    @Test
+    public void testLastRevealedListsOnlyNewlyRevealedCells() throws Exception
+    {
+        final int width;
+        final int height;
+        final int totalMines;
+        final boolean randomMode;
+
+        width = 4;
+        height = 4;
+        totalMines = 0;
+        randomMode = false;
+
+        final Mines board;
+        board = new Mines(width, height, totalMines, randomMode);
+
+        final int[] field;
+        field = new int[]{
+                0, 1, -1, 1,
+                0, 1,  1, 1,
+                0, 0,  0, 0,
+                0, 0,  0, 0
+        };
+
+        setFieldArray(board, field);
+
+        board.reveal(3);
+
+        assertEquals(1, board.getLastRevealedCount());
+        assertEquals(3, board.getLastRevealed(0));
+
+        board.reveal(0);
+
+        assertEquals(14, board.getLastRevealedCount());
+
+        for (int i = 0; i < board.getLastRevealedCount(); i++)
+        {
+            assertNotEquals(2, board.getLastRevealed(i));
+            assertNotEquals(3, board.getLastRevealed(i));
+        }
+    }
+
+    @Test
+    public void testPopVoidSkipsFlaggedCells() throws Exception
+    {
+        final int width;
+        final int height;
+        final int totalMines;
+        final boolean randomMode;
+
+        width = 3;
+        height = 3;
+        totalMines = 0;
+        randomMode = false;
+
+        final Mines board;
+        board = new Mines(width, height, totalMines, randomMode);
+
+        final int flaggedIndex;
+        flaggedIndex = 8;
+
+        board.toggleFlag(flaggedIndex);
+        board.reveal(0);
+
+        assertFalse(board.isRevealed(flaggedIndex));
+        assertEquals(8, board.getLastRevealedCount());
+    }
+
+    @Test
+    public void testCountersTrackRevealsAndFlags() throws Exception
+    {
+        final int width;
+        final int height;
+        final int totalMines;
+        final boolean randomMode;
+
+        width = 3;
+        height = 3;
+        totalMines = 1;
+        randomMode = false;
+
+        final Mines board;
+        board = new Mines(width, height, totalMines, randomMode);
+
+        final int[] field;
+        field = new int[]{
+                -1, 1, 0,
+                1, 1, 0,
+                0, 0, 0
+        };
+
+        setFieldArray(board, field);
+
+        board.toggleFlag(0);
+        assertEquals(1, board.getFlagCount());
+
+        board.toggleFlag(0);
+        assertEquals(0, board.getFlagCount());
+        assertTrue(board.isQuestionMarked(0));
+
+        board.reveal(8);
+
+        assertEquals(8, board.getRevealedCount());
+        assertTrue(board.hasWon());
+    }
+
+    @Test
+    public void testLoadedFieldRecalculatesCounts()
+    {
+        final int width;
+        final int height;
+        final int totalMines;
+        final boolean randomMode;
+
+        width = 3;
+        height = 3;
+        totalMines = 2;
+        randomMode = false;
+
+        final Mines board;
+        board = new Mines(width, height, totalMines, randomMode);
+
+        setFieldArray(board, new int[]{
+                -1, 0, 0,
+                0, 0, 0,
+                0, 0, -1
+        });
+
+        assertArrayEquals(new int[]{
+                -1, 1, 0,
+                1, 2, 1,
+                0, 1, -1
+        }, getFieldArray(board));
+    }
+
+    @Test
+    public void testRandomizeRemainingKeepsCountsConsistent() throws Exception
+    {
+        final int width;
+        final int height;
+        final int totalMines;
+        final boolean randomMode;
+
+        width = 16;
+        height = 16;
+        totalMines = 40;
+        randomMode = true;
+
+        final Mines board;
+        board = new Mines(width, height, totalMines, randomMode);
+
+        for (int move = 0; move < 50; move++)
+        {
+            board.randomizeRemaining();
+
+            final int[] before;
+            before = getFieldArray(board);
+
+            int mineCount;
+            mineCount = 0;
+
+            for (final int value : before)
+            {
+                if (value == -1)
+                {
+                    mineCount++;
+                }
+            }
+
+            assertEquals(totalMines, mineCount);
+
+            setFieldArray(board, before);
+            assertArrayEquals(before, getFieldArray(board));
+        }
+    }
+
+    @Test
+    public void testRandomizeRemainingNeverMovesMinesIntoRevealedCells() throws Exception
+    {
+        final int width;
+        final int height;
+        final int totalMines;
+        final boolean randomMode;
+
+        width = 4;
+        height = 4;
+        totalMines = 2;
+        randomMode = true;
+
+        final Mines board;
+        board = new Mines(width, height, totalMines, randomMode);
+
+        setFieldArray(board, new int[]{
+                0, 0, 0, 0,
+                0, 0, 0, 0,
+                0, 0, 0, 0,
+                0, 0, -1, -1
+        });
+
+        board.reveal(0);
+
+        for (int move = 0; move < 50; move++)
+        {
+            board.randomizeRemaining();
+
+            for (int i = 0; i < width * height; i++)
+            {
+                if (board.isRevealed(i))
+                {
+                    assertFalse(board.isMine(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testChangeListenerReceivesRevealedAndReflaggedCells() throws Exception
+    {
+        final int width;
+        final int height;
+        final int totalMines;
+        final boolean randomMode;
+
+        width = 3;
+        height = 3;
+        totalMines = 1;
+        randomMode = false;
+
+        final Mines board;
+        board = new Mines(width, height, totalMines, randomMode);
+
+        setFieldArray(board, new int[]{
+                -1, 0, 0,
+                0, 0, 0,
+                0, 0, 0
+        });
+
+        final int[] revealed;
+        final int[] reflagged;
+
+        revealed = new int[]{ 0 };
+        reflagged = new int[]{ 0 };
+
+        board.addChangeListener(changes -> {
+            revealed[0] += changes.getRevealedCount();
+            reflagged[0] += changes.getReflaggedCount();
+        });
+
+        board.toggleFlag(0);
+        board.reveal(8);
+
+        assertEquals(8, revealed[0]);
+        assertEquals(1, reflagged[0]);
+    }
+
+    @Test
+    public void testChangeListenerReceivesRecountedCellsOnce() throws Exception
+    {
+        final int width;
+        final int height;
+        final int totalMines;
+        final boolean randomMode;
+
+        width = 8;
+        height = 8;
+        totalMines = 10;
+        randomMode = true;
+
+        final Mines board;
+        board = new Mines(width, height, totalMines, randomMode);
+
+        final Set<Integer> seen;
+        seen = new HashSet<>();
+
+        board.addChangeListener(changes -> {
+            seen.clear();
+
+            for (int i = 0; i < changes.getRecountedCount(); i++)
+            {
+                assertTrue(seen.add(changes.getRecounted(i)));
+            }
+        });
+
+        for (int move = 0; move < 20; move++)
+        {
+            board.randomizeRemaining();
+        }
+    }
+
+    @Test
+    public void testSameSeedGeneratesSameField()
+    {
+        final long seed;
+        seed = 2522L;
+
+        final Mines first;
+        final Mines second;
+
+        first = new Mines(30, 20, 150, false, seed);
+        second = new Mines(30, 20, 150, false, seed);
+
+        assertEquals(seed, first.getSeed());
+        assertArrayEquals(getFieldArray(first), getFieldArray(second));
+    }
+
+    @Test
+    public void testGenerateFieldPlacesExactMineCountAtAnyDensity()
+    {
+        final int width;
+        final int height;
+
+        width = 10;
+        height = 10;
+
+        for (final int totalMines : new int[]{ 0, 1, 50, 99, 100 })
+        {
+            final Mines board;
+            board = new Mines(width, height, totalMines, false);
+
+            int mineCount;
+            mineCount = 0;
+
+            for (int i = 0; i < width * height; i++)
+            {
+                if (board.isMine(i))
+                {
+                    mineCount++;
+                }
+            }
+
+            assertEquals(totalMines, mineCount);
+        }
+    }
+
+    @Test
+    public void testConstructorRejectsTooManyMines()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new Mines(3, 3, 10, false));
+    }
+
+    @Test
+    public void testBoardsFromSameRandomServiceSeedAreReplayed()
+    {
+        final SeededRandom first;
+        final SeededRandom second;
+
+        first = new SeededRandom(42L);
+        second = new SeededRandom(42L);
+
+        for (int game = 0; game < 3; game++)
+        {
+            final Mines firstBoard;
+            final Mines secondBoard;
+
+            firstBoard = new Mines(16, 16, 40, true, first);
+            secondBoard = new Mines(16, 16, 40, true, second);
+
+            assertEquals(firstBoard.getSeed(), secondBoard.getSeed());
+            assertArrayEquals(getFieldArray(firstBoard), getFieldArray(secondBoard));
+
+            firstBoard.randomizeRemaining();
+            secondBoard.randomizeRemaining();
+
+            assertArrayEquals(getFieldArray(firstBoard), getFieldArray(secondBoard));
+        }
+    }
 }
@@ -0,0 +1,120 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NumberGameEngine test to test the 20 Number Challenge
+ * rules play the same as NumberGame without JavaFX
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class NumberGameEngineTest
+{
+    /*
+     * scripted generator handing out the given numbers in order
+     */
+    private static Generator numbers(final int... values)
+    {
+        final PrimitiveIterator.OfInt iterator;
+        iterator = IntStream.of(values).iterator();
+
+        return iterator::nextInt;
+    }
+
+    @Test
+    public void testWinsWhenEverySlotIsFilledInOrder()
+    {
+        final NumberGameEngine engine;
+        engine = new NumberGameEngine(numbers(10, 20, 30), new AscendingPlacement(), 3);
+
+        assertEquals(10, engine.getCurrentNumber());
+        assertEquals(NumberGameEngine.Status.PLAYING, engine.place(0));
+        assertEquals(20, engine.getCurrentNumber());
+        assertEquals(NumberGameEngine.Status.PLAYING, engine.place(1));
+        assertEquals(NumberGameEngine.Status.WON, engine.place(2));
+        assertEquals(3, engine.getNumbersPlaced());
+        assertThrows(IllegalStateException.class, () -> engine.place(0));
+    }
+
+    @Test
+    public void testLosesOnInvalidPlacement()
+    {
+        final NumberGameEngine engine;
+        engine = new NumberGameEngine(numbers(10, 50), new AscendingPlacement(), 3);
+
+        engine.place(1);
+
+        assertEquals(NumberGameEngine.Status.INVALID_PLACEMENT, engine.place(0));
+        assertEquals(50, engine.getCurrentNumber());
+        assertEquals(2, engine.getNumbersPlaced());
+    }
+
+    @Test
+    public void testLosesWhenNextNumberHasNoSlot()
+    {
+        final NumberGameEngine engine;
+        engine = new NumberGameEngine(numbers(50, 60, 40), new AscendingPlacement(), 3);
+
+        engine.place(0);
+
+        assertEquals(NumberGameEngine.Status.NO_VALID_SLOT, engine.place(1));
+        assertEquals(40, engine.getCurrentNumber());
+    }
+
+    @Test
+    public void testRejectsFilledSlotAndEmptyNumbers()
+    {
+        final NumberGameEngine engine;
+        engine = new NumberGameEngine(numbers(5, 6), new AscendingPlacement(), 3);
+
+        engine.place(1);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.place(1));
+        assertThrows(IllegalStateException.class,
+            () -> new NumberGameEngine(numbers(0), new AscendingPlacement(), 3));
+    }
+
+    @Test
+    public void testResetStartsNewGame()
+    {
+        final NumberGameEngine engine;
+        engine = new NumberGameEngine(numbers(10, 20, 7), new AscendingPlacement(), 2);
+
+        engine.place(0);
+        engine.place(1);
+        engine.reset();
+
+        assertEquals(NumberGameEngine.Status.PLAYING, engine.getStatus());
+        assertEquals(0, engine.getNumbersPlaced());
+        assertEquals(0, engine.getNumberAt(0));
+        assertEquals(7, engine.getCurrentNumber());
+    }
+
+    @Test
+    public void testProportionalStrategyPlacesBetweenNeighbors()
+    {
+        final ProportionalPlacementStrategy strategy;
+        strategy = new ProportionalPlacementStrategy(1, 1000);
+
+        assertEquals(0, strategy.chooseSlot(new int[20], 1));
+        assertEquals(19, strategy.chooseSlot(new int[20], 1000));
+        assertEquals(10, strategy.chooseSlot(new int[20], 501));
+
+        final int[] positions;
+        positions = new int[20];
+        positions[4]  = 100;
+        positions[15] = 900;
+
+        final int slot;
+        slot = strategy.chooseSlot(positions, 500);
+
+        assertTrue(slot > 4 && slot < 15);
+        assertTrue(new AscendingPlacement().isValidPlacement(positions, slot, 500));
+    }
+}
@@ -0,0 +1,77 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NumberGameEvaluator test to test Monte Carlo
+ * evaluations are repeatable and rank strategies
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class NumberGameEvaluatorTest
+{
+    private static final PlacementStrategy FIRST_EMPTY = (positions, value) -> {
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] == 0)
+            {
+                return i;
+            }
+        }
+        return -1;
+    };
+
+    @Test
+    public void testSameSeedGivesSameReport()
+    {
+        final NumberGameEvaluator evaluator;
+        evaluator = new NumberGameEvaluator();
+
+        final NumberGameEvaluator.Report first;
+        final NumberGameEvaluator.Report second;
+        first  = evaluator.evaluate(new ProportionalPlacementStrategy(1, 1000), 25_000, 11);
+        second = evaluator.evaluate(new ProportionalPlacementStrategy(1, 1000), 25_000, 11);
+
+        assertEquals(25_000, first.games());
+        assertEquals(first.wins(), second.wins());
+        assertEquals(first.numbersPlaced(), second.numbersPlaced());
+        assertTrue(first.gamesPerSecond() > 0);
+    }
+
+    @Test
+    public void testProportionalBeatsFirstEmptySlot()
+    {
+        final NumberGameEvaluator evaluator;
+        evaluator = new NumberGameEvaluator();
+
+        final NumberGameEvaluator.Report proportional;
+        final NumberGameEvaluator.Report firstEmpty;
+        proportional = evaluator.evaluate(new ProportionalPlacementStrategy(1, 1000), 20_000, 5);
+        firstEmpty   = evaluator.evaluate(FIRST_EMPTY, 20_000, 5);
+
+        assertTrue(proportional.averagePlaced() > firstEmpty.averagePlaced());
+        assertTrue(firstEmpty.averagePlaced() >= 1);
+    }
+
+    @Test
+    public void testEasyGameIsAlwaysWon()
+    {
+        // One slot, any number placed in it wins
+        final NumberGameEvaluator.Report report;
+        report = new NumberGameEvaluator(1, 1000, 1, AscendingPlacement::new)
+                 .evaluate(FIRST_EMPTY, 1_000, 3);
+
+        assertEquals(1.0, report.winRate());
+        assertEquals(1.0, report.averagePlaced());
+    }
+
+    @Test
+    public void testRejectsInvalidSettings()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new NumberGameEvaluator(0, 10, 20, AscendingPlacement::new));
+        assertThrows(IllegalArgumentException.class, () -> new NumberGameEvaluator().evaluate(FIRST_EMPTY, 0, 1));
+    }
+}
@@ -0,0 +1,180 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NumberGameSolver test to test the gap table gives the
+ * same chances as an expectimax over whole boards
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class NumberGameSolverTest
+{
+    private static final int    MIN   = 1;
+    private static final int    MAX   = 9;
+    private static final int    SLOTS = 4;
+    private static final double DELTA = 1e-12;
+
+    /*
+     * expectimax over whole boards, trying every valid slot for every draw
+     */
+    private static double bruteChance(final int[] positions)
+    {
+        double total;
+        total = 0;
+
+        for (int value = MIN; value < MAX; value++)
+        {
+            total += bruteChance(positions, value);
+        }
+
+        return total / (MAX - MIN);
+    }
+
+    /*
+     * expectimax of a board with a number drawn
+     */
+    private static double bruteChance(final int[] positions, final int value)
+    {
+        double  best;
+        boolean full;
+
+        best = 0;
+        full = true;
+
+        for (int slot = 0; slot < positions.length; slot++)
+        {
+            if (positions[slot] != 0)
+            {
+                continue;
+            }
+
+            full = false;
+
+            if (fits(positions, slot, value))
+            {
+                positions[slot] = value;
+                best = Math.max(best, isFull(positions) ? 1 : bruteChance(positions));
+                positions[slot] = 0;
+            }
+        }
+
+        return full ? 1 : best;
+    }
+
+    private static boolean fits(final int[] positions, final int slot, final int value)
+    {
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] != 0 && ((i < slot && positions[i] >= value) || (i > slot && positions[i] <= value)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isFull(final int[] positions)
+    {
+        for (final int position : positions)
+        {
+            if (position == 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Test
+    public void testMatchesExpectimaxOverBoards()
+    {
+        final NumberGameSolver solver;
+        solver = new NumberGameSolver(MIN, MAX, SLOTS);
+
+        final int[][] boards = {
+            {0, 0, 0, 0},
+            {0, 3, 0, 0},
+            {2, 0, 0, 7},
+            {0, 0, 5, 0},
+            {1, 2, 0, 0},
+            {0, 0, 0, 8}
+        };
+
+        for (final int[] board : boards)
+        {
+            assertEquals(bruteChance(board), solver.winChance(board), DELTA);
+
+            for (int value = MIN; value < MAX; value++)
+            {
+                final int slot;
+                slot = solver.bestSlot(board, value);
+
+                if (slot == -1)
+                {
+                    assertEquals(0, bruteChance(board, value), DELTA);
+                    continue;
+                }
+
+                // The slot chosen is as good as the best slot found by trying them all
+                assertTrue(fits(board, slot, value));
+                assertEquals(bruteChance(board, value), solver.winChance(board, value), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testSmallerBoardsFitTable()
+    {
+        final NumberGameSolver solver;
+        solver = new NumberGameSolver(MIN, MAX, SLOTS);
+
+        assertEquals(bruteChance(new int[2]), solver.winChance(new int[2]), DELTA);
+        assertEquals(0, solver.winChance(new int[] {4, 3, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> solver.winChance(new int[SLOTS + 1]));
+    }
+
+    @Test
+    public void testEvaluatedWinRateMatchesChance()
+    {
+        final NumberGameSolver          solver;
+        final NumberGameEvaluator.Report report;
+
+        solver = new NumberGameSolver(MIN, 31, 6);
+        report = new NumberGameEvaluator(MIN, 31, 6, AscendingPlacement::new).evaluate(solver, 200_000, 2522L);
+
+        // Within about four standard deviations of a 200000 game sample
+        assertEquals(solver.winChance(new int[6]), report.winRate(), 0.004);
+    }
+
+    @Test
+    public void testBeatsProportionalPlacement()
+    {
+        final NumberGameEvaluator evaluator;
+        evaluator = new NumberGameEvaluator(MIN, 101, 8, AscendingPlacement::new);
+
+        assertTrue(
+            evaluator.evaluate(new NumberGameSolver(MIN, 101, 8), 100_000, 7L).winRate() >
+            evaluator.evaluate(new ProportionalPlacementStrategy(MIN, 100), 100_000, 7L).winRate()
+        );
+    }
+
+    @Test
+    public void testDefaultGame()
+    {
+        final NumberGameSolver solver;
+        solver = new NumberGameSolver();
+
+        assertEquals(-1, solver.bestSlot(new int[] {500, 501, 0}, 20));
+        assertEquals(0, solver.winChance(new int[] {500, 501, 0}, 20));
+        assertEquals(1.0, solver.winChance(new int[] {1}), DELTA);
+        assertTrue(solver.winChance(new int[NumberGameEngine.DEFAULT_SLOTS]) > 0);
+        assertEquals(0, solver.bestSlot(new int[NumberGameEngine.DEFAULT_SLOTS], 1));
+        assertEquals(NumberGameEngine.DEFAULT_SLOTS - 1, solver.bestSlot(new int[NumberGameEngine.DEFAULT_SLOTS], 1000));
+    }
+}
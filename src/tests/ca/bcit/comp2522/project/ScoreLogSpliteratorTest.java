@@ -0,0 +1,206 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ScoreLogSpliterator test to test parallel reads
+ * of a score log agree with a sequential read
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class ScoreLogSpliteratorTest
+{
+    private static final int RECORDS = 20_000;
+
+    /*
+     * writeLog writes a large log with a damaged record every
+     * so often, and a record cut short at the very end
+     */
+    private static Path writeLog(final Path tempDir) throws IOException
+    {
+        final Path file;
+        file = tempDir.resolve("scores.txt");
+
+        final LocalDateTime start;
+        start = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file))
+        {
+            for (int i = 0; i < RECORDS; i++)
+            {
+                if (i % 1000 == 999)
+                {
+                    writer.write("Date and Time: not a date\nGames Played: 1\n\n");
+                }
+
+                writer.write(new Score(start.plusSeconds(i), 1 + i % 4, i % 10, i % 3, i % 5).toString());
+                writer.newLine();
+            }
+
+            writer.write("Date and Time: 2025-01-02 00:00:00\r\nGames Played: 2\r\nCorrect");
+        }
+
+        return file;
+    }
+
+    @Test
+    public void testParallelMatchesSequential(@TempDir Path tempDir) throws IOException
+    {
+        final String file;
+        file = writeLog(tempDir).toString();
+
+        final List<String> sequential;
+        final List<String> parallel;
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(file))
+        {
+            sequential = scores.map(Score::toString).collect(Collectors.toList());
+        }
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(file).parallel())
+        {
+            parallel = scores.map(Score::toString).collect(Collectors.toList());
+        }
+
+        assertEquals(RECORDS, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testParallelHighScoreKeepsEncounterOrder(@TempDir Path tempDir) throws IOException
+    {
+        final String file;
+        file = writeLog(tempDir).toString();
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(file).parallel())
+        {
+            assertEquals(
+                Score.getHighScore(Score.readScoresFromFile(file)).toString(),
+                Score.getHighScore(scores).toString()
+            );
+        }
+    }
+
+    @Test
+    public void testParallelAverageMatchesSequential(@TempDir Path tempDir) throws IOException
+    {
+        final String file;
+        file = writeLog(tempDir).toString();
+
+        long points;
+        long games;
+        points = 0;
+        games  = 0;
+
+        for (final Score score : Score.readScoresFromFile(file))
+        {
+            points += score.getScore();
+            games  += score.getNumGamesPlayed();
+        }
+
+        // Repeated, as lost updates between threads only show some of the time
+        for (int run = 0; run < 20; run++)
+        {
+            try (Stream<Score> scores = Score.streamScoresFromFile(file).parallel())
+            {
+                assertEquals((float) points / games, Score.calculateAverage(scores));
+            }
+        }
+    }
+
+    @Test
+    public void testSplitsOnRecordBoundaries(@TempDir Path tempDir) throws IOException
+    {
+        final String file;
+        file = writeLog(tempDir).toString();
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(file))
+        {
+            final Spliterator<Score> whole;
+            whole = scores.spliterator();
+
+            final Spliterator<Score> firstHalf;
+            firstHalf = whole.trySplit();
+
+            assertNotNull(firstHalf, "A large log should split");
+
+            final long[] counts = new long[2];
+            firstHalf.forEachRemaining(s -> counts[0]++);
+            whole.forEachRemaining(s -> counts[1]++);
+
+            assertTrue(counts[0] > 0 && counts[1] > 0);
+            assertEquals(RECORDS, counts[0] + counts[1]);
+        }
+    }
+
+    @Test
+    public void testParallelMinesLeaderboardStatistics(@TempDir Path tempDir)
+    {
+        final String file;
+        file = tempDir.resolve("mines.txt").toString();
+
+        for (int i = 0; i < 3000; i++)
+        {
+            MinesScore.appendScoreToFile(
+                new MinesScore(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i), 10 + (i * 31) % 200,
+                    MinesScore.DIFFICULTY_MEDIUM, i % 2 == 0),
+                file
+            );
+        }
+
+        try (Stream<MinesScore> scores = MinesScore.streamScoresFromFile(file).parallel())
+        {
+            assertEquals(
+                MinesScore.getHighScore(MinesScore.readScoresFromFile(file), MinesScore.DIFFICULTY_MEDIUM, true).toString(),
+                MinesScore.getHighScore(scores, MinesScore.DIFFICULTY_MEDIUM, true).toString()
+            );
+        }
+
+        try (Stream<MinesScore> scores = MinesScore.streamScoresFromFile(file).parallel())
+        {
+            assertEquals(3000, scores.count());
+        }
+    }
+
+    @Test
+    public void testSkipsRecordStillBeingWritten(@TempDir Path tempDir) throws IOException
+    {
+        final Path file;
+        file = tempDir.resolve("scores.txt");
+
+        final String record;
+        record = new Score(LocalDateTime.of(2025, 1, 1, 0, 0), 1, 1, 0, 0).toString();
+
+        final int cut;
+        cut = record.indexOf("\nScore: ");
+
+        // The second record has every field but its last line ending is not written yet
+        Files.writeString(file, record + record.substring(0, cut));
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(file.toString()))
+        {
+            assertEquals(1, scores.count());
+        }
+
+        Files.writeString(file, record + record);
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(file.toString()))
+        {
+            assertEquals(2, scores.count());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path storeFile;
+
+    @BeforeEach
+    void setUp() {
+        storeFile = tempDir.resolve("score.bin");
+    }
+
+    @Test
+    void testEmptyStore() throws IOException {
+        ScoreStore store = new ScoreStore(storeFile);
+        assertEquals(0, store.size());
+        assertNull(store.getHighScore());
+        assertTrue(store.isHighScore(new Score(LocalDateTime.now(), 1, 0, 0, 10)));
+    }
+
+    @Test
+    void testAppendAndGetRoundTrip() throws IOException {
+        ScoreStore store = new ScoreStore(storeFile);
+        LocalDateTime dateTime = LocalDateTime.of(2025, 11, 14, 17, 17, 48);
+        Score score = new Score(dateTime, 3, 6, 2, 1);
+
+        store.append(score);
+
+        assertEquals(1, store.size());
+        assertEquals(score.toString(), store.get(0).toString());
+        assertEquals(52, Files.size(storeFile), "Header and one record should be 52 bytes");
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(1));
+    }
+
+    @Test
+    void testHighScoreMatchesScoreGetHighScore() throws IOException {
+        ScoreStore store = new ScoreStore(storeFile);
+        List<Score> scores = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            Score score = new Score(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i), 1, (i * 7) % 11, i % 3, 1);
+            scores.add(score);
+            store.append(score);
+
+            assertEquals(Score.getHighScore(scores).toString(), store.getHighScore().toString());
+        }
+
+        Score candidate = new Score(LocalDateTime.now(), 1, 0, 0, 10);
+        assertEquals(Score.isHighScore(candidate, scores), store.isHighScore(candidate));
+    }
+
+    @Test
+    void testImportsTextLogOnce() throws IOException {
+        Path textLog = tempDir.resolve("score.txt");
+        for (int i = 0; i < 5; i++) {
+            Score.appendScoreToFile(new Score(LocalDateTime.now(), 1, i, 1, 1), textLog.toString());
+        }
+
+        assertEquals(5, new ScoreStore(storeFile, textLog.toString()).size());
+
+        Score.appendScoreToFile(new Score(LocalDateTime.now(), 1, 1, 1, 1), textLog.toString());
+        assertEquals(5, new ScoreStore(storeFile, textLog.toString()).size(), "Text log should only be imported once");
+    }
+
+    @Test
+    void testImportsIntoStoreCreatedByAnotherSession() throws IOException {
+        Path textLog = tempDir.resolve("score.txt");
+        for (int i = 0; i < 5; i++) {
+            Score.appendScoreToFile(new Score(LocalDateTime.now(), 1, i, 1, 1), textLog.toString());
+        }
+
+        // Another session has created the file but not imported the log yet
+        Files.createFile(storeFile);
+
+        assertEquals(5, new ScoreStore(storeFile, textLog.toString()).size());
+    }
+
+    @Test
+    void testAppendWithoutImportDoesNotSkipImport() throws IOException {
+        Path textLog = tempDir.resolve("score.txt");
+        Score.appendScoreToFile(new Score(LocalDateTime.now(), 1, 3, 1, 1), textLog.toString());
+
+        new ScoreStore(storeFile).append(new Score(LocalDateTime.now(), 1, 2, 0, 0));
+
+        assertEquals(2, new ScoreStore(storeFile, textLog.toString()).size());
+        assertEquals(2, new ScoreStore(storeFile, textLog.toString()).size(), "Text log should only be imported once");
+    }
+
+    @Test
+    void testLargeHistoryQueriesAreConstantTime() throws IOException {
+        ScoreStore store = new ScoreStore(storeFile);
+        List<Score> batch = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            batch.add(new Score(LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(i), 1, 5 + i % 5, 0, 0));
+        }
+        store.appendAll(batch);
+        store.append(new Score(LocalDateTime.now(), 1, 2, 0, 0));
+
+        assertEquals(100_001, store.size());
+        assertEquals(4, store.getHighScore().getScore());
+        assertFalse(store.isHighScore(new Score(LocalDateTime.now(), 1, 1, 0, 0)));
+    }
+
+    @Test
+    void testRejectsForeignFile() throws IOException {
+        Files.writeString(storeFile, "Date and Time: 2025-11-14 17:17:48\nGames Played: 1\n");
+        assertThrows(IOException.class, () -> new ScoreStore(storeFile).getHighScore());
+    }
+
+    @Test
+    void testConcurrentAppendsKeepHeaderConsistent() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        for (int t = 0; t < 8; t++) {
+            final int thread = t;
+            threads.add(new Thread(() -> {
+                // Each thread opens its own store, as separate game sessions would
+                ScoreStore store = new ScoreStore(storeFile);
+                try {
+                    for (int i = 0; i < 50; i++) {
+                        store.append(new Score(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i), 1, (thread + i) % 9, 0, 1));
+                    }
+                } catch (IOException e) {
+                    failures.add(e);
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        ScoreStore store = new ScoreStore(storeFile);
+        assertTrue(failures.isEmpty());
+        assertEquals(400, store.size());
+        assertEquals(28 + 400 * 24, Files.size(storeFile));
+        assertEquals(0, store.getHighScore().getNumCorrectFirstAttempt());
+    }
+}
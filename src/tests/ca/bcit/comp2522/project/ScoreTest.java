@@ -7,9 +7,12 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -135,6 +138,60 @@ class ScoreTest {
         assertTrue(scores.isEmpty(), "Reading from an empty file should return an empty list.");
     }
 
+    @Test
+    void testStreamStopsEarly() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            Score.appendScoreToFile(new Score(LocalDateTime.now(), 1, i, 0, 0), SCORE_FILE);
+        }
+
+        // Only the records up to the first match are parsed
+        try (Stream<Score> scores = Score.streamScoresFromFile(SCORE_FILE)) {
+            assertEquals(6, scores.filter(s -> s.getScore() >= 6).findFirst().orElseThrow().getScore());
+        }
+    }
+
+    @Test
+    void testStreamSkipsTruncatedLastRecord() throws IOException {
+        Score.appendScoreToFile(new Score(LocalDateTime.now(), 1, 4, 1, 0), SCORE_FILE);
+        try (FileWriter writer = new FileWriter(SCORE_FILE, true)) {
+            writer.write("Date and Time: 2025-11-14 17:17:48\nGames Played: 1\nCorrect First");
+        }
+
+        List<Score> scores = Score.readScoresFromFile(SCORE_FILE);
+        assertEquals(1, scores.size(), "A record cut short should be skipped");
+        assertEquals(9, scores.get(0).getScore());
+    }
+
+    @Test
+    void testStreamAggregates() throws IOException {
+        LocalDateTime day = LocalDateTime.of(2025, 11, 14, 10, 0);
+        Score.appendScoreToFile(new Score(day, 2, 6, 2, 1), SCORE_FILE);           // 14 points
+        Score.appendScoreToFile(new Score(day.plusHours(1), 1, 9, 1, 0), SCORE_FILE); // 19 points
+        Score.appendScoreToFile(new Score(day.plusDays(1), 1, 1, 0, 9), SCORE_FILE);  // 2 points
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(SCORE_FILE)) {
+            assertEquals(Score.getHighScore(Score.readScoresFromFile(SCORE_FILE)).toString(),
+                    Score.getHighScore(scores).toString());
+        }
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(SCORE_FILE)) {
+            assertEquals(35f / 4f, Score.calculateAverage(scores), 0.0001f);
+        }
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(SCORE_FILE)) {
+            Map<LocalDate, Long> perDay = Score.countByDay(scores);
+            assertEquals(2L, perDay.get(day.toLocalDate()));
+            assertEquals(1L, perDay.get(day.toLocalDate().plusDays(1)));
+        }
+    }
+
+    @Test
+    void testStreamMissingFileIsEmpty() {
+        try (Stream<Score> scores = Score.streamScoresFromFile("missing_score.txt")) {
+            assertEquals(0, scores.count());
+        }
+    }
+
     @AfterEach
     void tearDown() {
         // Clean up by deleting the test score file after each test
@@ -0,0 +1,156 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ScoreWriter test to test batched appends from many
+ * threads land whole and in the log
+ *
+ * @author Braeden Sowinski
+ * @version 1.0.0
+ */
+public class ScoreWriterTest
+{
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 250;
+
+    @Test
+    public void testConcurrentProducersKeepRecordsWhole(@TempDir Path tempDir) throws Exception
+    {
+        final Path file;
+        file = tempDir.resolve("scores.txt");
+
+        final ScoreWriter writer;
+        writer = new ScoreWriter(file, Duration.ofMillis(2), ScoreWriter.Durability.WRITE);
+
+        final ExecutorService pool;
+        pool = Executors.newFixedThreadPool(THREADS);
+
+        final List<Future<?>> producers;
+        producers = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++)
+        {
+            final int thread = t;
+            producers.add(pool.submit(() -> {
+                for (int i = 0; i < PER_THREAD; i++)
+                {
+                    final MinesScore score;
+                    score = new MinesScore(LocalDateTime.now(), thread * PER_THREAD + i, MinesScore.DIFFICULTY_HARD, false);
+                    writer.append(score + System.lineSeparator()).join();
+                }
+            }));
+        }
+
+        for (final Future<?> producer : producers)
+        {
+            producer.get();
+        }
+
+        pool.shutdown();
+        writer.close();
+
+        final List<MinesScore> scores;
+        scores = MinesScore.readScoresFromFile(file.toString());
+
+        assertEquals(THREADS * PER_THREAD, scores.size());
+        assertEquals(
+            (long) THREADS * PER_THREAD * (THREADS * PER_THREAD - 1) / 2,
+            scores.stream().mapToLong(MinesScore::getSeconds).sum(),
+            "Every record should be read back exactly once"
+        );
+    }
+
+    @Test
+    public void testCloseCommitsQueuedRecords(@TempDir Path tempDir) throws IOException
+    {
+        final Path file;
+        file = tempDir.resolve("scores.txt");
+
+        final ScoreWriter writer;
+        writer = new ScoreWriter(file, Duration.ofMillis(50), ScoreWriter.Durability.FSYNC);
+
+        final List<CompletableFuture<Void>> pending;
+        pending = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++)
+        {
+            pending.add(writer.append("line " + i + "\n"));
+        }
+
+        writer.close();
+
+        for (final CompletableFuture<Void> committed : pending)
+        {
+            assertTrue(committed.isDone() && !committed.isCompletedExceptionally());
+        }
+
+        assertEquals(100, Files.readAllLines(file).size());
+        assertThrows(CompletionException.class, () -> writer.append("late\n").join());
+    }
+
+    @Test
+    public void testFailedWriteIsReported(@TempDir Path tempDir)
+    {
+        final ScoreWriter writer;
+        writer = new ScoreWriter(tempDir.resolve("missing").resolve("scores.txt"), Duration.ZERO, ScoreWriter.Durability.WRITE);
+
+        final CompletionException failure;
+        failure = assertThrows(CompletionException.class, () -> writer.append("record\n").join());
+
+        assertInstanceOf(IOException.class, failure.getCause());
+        writer.close();
+    }
+
+    @Test
+    public void testAppendScoreToFileSurvivesLogReplacement(@TempDir Path tempDir) throws IOException
+    {
+        final String file;
+        file = tempDir.resolve("scores.txt").toString();
+
+        MinesScore.appendScoreToFile(new MinesScore(LocalDateTime.now(), 10, MinesScore.DIFFICULTY_EASY, true), file);
+        Files.delete(Path.of(file));
+        MinesScore.appendScoreToFile(new MinesScore(LocalDateTime.now(), 20, MinesScore.DIFFICULTY_EASY, true), file);
+
+        final List<MinesScore> scores;
+        scores = MinesScore.readScoresFromFile(file);
+
+        assertEquals(1, scores.size());
+        assertEquals(20, scores.get(0).getSeconds());
+    }
+
+    @Test
+    public void testKeptChannelFollowsMovedLog(@TempDir Path tempDir) throws IOException
+    {
+        final Path file;
+        file = tempDir.resolve("scores.txt");
+
+        final ScoreWriter writer;
+        writer = new ScoreWriter(file, Duration.ZERO, ScoreWriter.Durability.WRITE);
+
+        writer.append("first\n").join();
+        Files.move(file, tempDir.resolve("old.txt"));
+        writer.append("second\n").join();
+        writer.append("third\n").join();
+        writer.close();
+
+        assertEquals(List.of("first"), Files.readAllLines(tempDir.resolve("old.txt")));
+        assertEquals(List.of("second", "third"), Files.readAllLines(file));
+    }
+}
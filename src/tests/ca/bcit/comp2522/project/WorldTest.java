@@ -0,0 +1,134 @@
+package ca.bcit.comp2522.project;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path factsDir;
+    private Path snapshotFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        factsDir = tempDir.resolve("facts");
+        snapshotFile = tempDir.resolve("facts.snapshot");
+        Files.createDirectories(factsDir);
+
+        Files.writeString(factsDir.resolve("a.txt"),
+                "\nAlbania:Tirana\nFact a1\nFact a2\nFact a3\n\nAndorra:Andorra la Vella\nFact b1\nFact b2\nFact b3\n");
+        Files.writeString(factsDir.resolve("b.txt"),
+                "Bhutan:Thimphu\r\nFact c1 with caf\u00e9\r\nFact c2\r\nFact c3\r\n");
+    }
+
+    @Test
+    void testLoadsAllFilesAndClosesThem() throws IOException {
+        World world = new World(factsDir, new SeededRandom(1));
+        assertEquals(3, world.getCountryCount());
+
+        // Every handle is closed, so the folder can be deleted straight away
+        Files.delete(factsDir.resolve("a.txt"));
+    }
+
+    @Test
+    void testHeaderSplitsOnFirstColonOnly() throws IOException {
+        World world = new World(factsDir, new SeededRandom(1));
+        for (Country country : world.sampleCountries(3)) {
+            if (country.getName().equals("Andorra")) {
+                assertEquals("Andorra la Vella", country.getCapital());
+            }
+        }
+    }
+
+    @Test
+    void testFirstRunWritesSnapshot() throws IOException {
+        new World(factsDir, new SeededRandom(1));
+        assertTrue(Files.isRegularFile(snapshotFile), "First load should compile a snapshot");
+        assertNotNull(WorldSnapshot.open(snapshotFile, WorldSnapshot.fingerprint(factsDir)));
+    }
+
+    @Test
+    void testSnapshotMatchesTextLoad() throws IOException {
+        World parsed = new World(factsDir, new SeededRandom(42));
+        World mapped = new World(factsDir, new SeededRandom(42));
+
+        Country[] fromText = parsed.sampleCountries(3);
+        Country[] fromSnapshot = mapped.sampleCountries(3);
+
+        for (int i = 0; i < fromText.length; i++) {
+            assertEquals(fromText[i].getName(), fromSnapshot[i].getName());
+            assertEquals(fromText[i].getCapital(), fromSnapshot[i].getCapital());
+            assertEquals(String.join("|", fromText[i].getFacts()), String.join("|", fromSnapshot[i].getFacts()));
+        }
+    }
+
+    @Test
+    void testEditedCorpusMakesSnapshotStale() throws IOException {
+        new World(factsDir, new SeededRandom(1));
+        long before = WorldSnapshot.fingerprint(factsDir);
+
+        Path added = factsDir.resolve("c.txt");
+        Files.writeString(added, "Canada:Ottawa\nFact 1\nFact 2\nFact 3\n");
+        Files.setLastModifiedTime(added, FileTime.fromMillis(0));
+
+        assertNull(WorldSnapshot.open(snapshotFile, WorldSnapshot.fingerprint(factsDir)));
+        assertNotNull(WorldSnapshot.open(snapshotFile, before));
+
+        World world = new World(factsDir, new SeededRandom(1));
+        assertEquals(4, world.getCountryCount(), "Stale snapshot should fall back to the text files");
+        assertNotNull(WorldSnapshot.open(snapshotFile, WorldSnapshot.fingerprint(factsDir)));
+    }
+
+    @Test
+    void testDamagedSnapshotIsIgnored() throws IOException {
+        new World(factsDir, new SeededRandom(1));
+        Files.write(snapshotFile, new byte[] {1, 2, 3});
+
+        assertNull(WorldSnapshot.open(snapshotFile, WorldSnapshot.fingerprint(factsDir)));
+        assertEquals(3, new World(factsDir, new SeededRandom(1)).getCountryCount());
+    }
+
+    @Test
+    void testSnapshotKeepsMissingFacts() throws IOException {
+        Files.writeString(factsDir.resolve("c.txt"), "Chad:N'Djamena\nFact d1\n");
+
+        World parsed = new World(factsDir, new SeededRandom(7));
+        World mapped = new World(factsDir, new SeededRandom(7));
+
+        Country[] fromText = parsed.sampleCountries(4);
+        Country[] fromSnapshot = mapped.sampleCountries(4);
+
+        for (int i = 0; i < fromText.length; i++) {
+            assertEquals(fromText[i].getFacts().length, fromSnapshot[i].getFacts().length);
+            assertEquals(String.join("|", fromText[i].getFacts()), String.join("|", fromSnapshot[i].getFacts()));
+            assertEquals(fromText[i].getRandomFact(new SeededRandom(i)), fromSnapshot[i].getRandomFact(new SeededRandom(i)));
+        }
+    }
+
+    @Test
+    void testSnapshotWithBadIndexIsIgnored() throws IOException {
+        new World(factsDir, new SeededRandom(1));
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+
+        // The second country now starts past the last string, the size is unchanged
+        ByteBuffer.wrap(bytes).putInt(32, Integer.MAX_VALUE);
+        Files.write(snapshotFile, bytes);
+
+        assertNull(WorldSnapshot.open(snapshotFile, WorldSnapshot.fingerprint(factsDir)));
+        assertEquals(3, new World(factsDir, new SeededRandom(1)).getCountryCount());
+    }
+}